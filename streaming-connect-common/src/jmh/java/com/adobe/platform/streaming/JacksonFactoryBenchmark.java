@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming;
+
+import com.adobe.platform.streaming.auth.TokenResponse;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a bare {@code new ObjectMapper()} with the tuned engine of {@link JacksonFactory} on an XDM experience
+ * event, going through what the sink does with every message: validating it before it is spliced into a batch,
+ * reading it into a tree and writing the tree back, as transforms do, and binding the token response of the auth
+ * providers. Run with {@code -prof gc} to compare allocation rates, and with {@code -t} above 1 to see the recycler
+ * pools under contention.
+ *
+ * @author Adobe Inc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonFactoryBenchmark {
+
+  private static final byte[] TOKEN_RESPONSE = ("{\"token_type\":\"bearer\",\"expires_in\":86399994," +
+    "\"refresh_token\":\"eyJ4NXUiOiJpbXNfbmExLWtleS0xLmNlciIsImFsZyI6IlJTMjU2In0.refresh\"," +
+    "\"access_token\":\"eyJ4NXUiOiJpbXNfbmExLWtleS0xLmNlciIsImFsZyI6IlJTMjU2In0.access\"}")
+    .getBytes(StandardCharsets.UTF_8);
+
+  @Param({"thread-local", "shared"})
+  private String recyclerPool;
+
+  @Param({"none", "afterburner", "blackbird"})
+  private String module;
+
+  private byte[] event;
+  private JsonNode eventTree;
+
+  private ObjectMapper baseline;
+  private JsonFactory engineFactory;
+  private ObjectReader engineTreeReader;
+  private ObjectWriter engineTreeWriter;
+  private ObjectReader engineTokenReader;
+
+  @Setup
+  public void setup() throws IOException {
+    try (InputStream in = JacksonFactoryBenchmark.class.getResourceAsStream("/xdm-experience-event.json")) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[4096];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      event = out.toByteArray();
+    }
+
+    baseline = new ObjectMapper();
+    eventTree = baseline.readTree(event);
+
+    final Properties properties = new Properties();
+    properties.setProperty(JacksonFactory.RECYCLER_POOL, recyclerPool);
+    properties.setProperty(JacksonFactory.MODULE, module);
+    final ObjectMapper engine = JacksonFactory.newObjectMapper(properties);
+    engineFactory = engine.getFactory();
+    engineTreeReader = engine.readerFor(JsonNode.class);
+    engineTreeWriter = engine.writerFor(JsonNode.class);
+    engineTokenReader = engine.readerFor(TokenResponse.class);
+  }
+
+  @Benchmark
+  public boolean validateBaseline() throws IOException {
+    return validate(baseline.getFactory());
+  }
+
+  @Benchmark
+  public boolean validateEngine() throws IOException {
+    return validate(engineFactory);
+  }
+
+  @Benchmark
+  public JsonNode readTreeBaseline() throws IOException {
+    return baseline.readTree(event);
+  }
+
+  @Benchmark
+  public JsonNode readTreeEngine() throws IOException {
+    return engineTreeReader.readTree(event);
+  }
+
+  @Benchmark
+  public byte[] writeTreeBaseline() throws IOException {
+    return baseline.writeValueAsBytes(eventTree);
+  }
+
+  @Benchmark
+  public byte[] writeTreeEngine() throws IOException {
+    return engineTreeWriter.writeValueAsBytes(eventTree);
+  }
+
+  @Benchmark
+  public TokenResponse bindTokenBaseline() throws IOException {
+    return baseline.readValue(TOKEN_RESPONSE, TokenResponse.class);
+  }
+
+  @Benchmark
+  public TokenResponse bindTokenEngine() throws IOException {
+    return engineTokenReader.readValue(TOKEN_RESPONSE);
+  }
+
+  private boolean validate(JsonFactory factory) throws IOException {
+    // the same tokenizing pass as the well-formedness check of the sink payloads
+    try (JsonParser parser = factory.createParser(event)) {
+      parser.nextToken();
+      parser.skipChildren();
+      return parser.nextToken() == null;
+    }
+  }
+
+}
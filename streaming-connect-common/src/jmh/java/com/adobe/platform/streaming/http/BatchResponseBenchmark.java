@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import com.adobe.platform.streaming.JacksonFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a batch response into a tree, as {@link ContentHandler#jsonHandler()} does, with streaming it
+ * through {@link ContentHandler#batchResponseHandler()}. Run with {@code -prof gc} to compare allocation rates.
+ *
+ * @author Adobe Inc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchResponseBenchmark {
+
+  @Param({"2000"})
+  private int messages;
+
+  @Param({"0", "20"})
+  private int failures;
+
+  private byte[] content;
+
+  @Setup
+  public void setup() {
+    final StringBuilder response = new StringBuilder("{\"inletId\":\"9b0cb233972f3b0092992284c7353f5e\"," +
+      "\"batchId\":\"1565638336649:1750:244\",\"receivedTimeMs\":1565638336705,\"responses\":[");
+    for (int i = 0; i < messages; i++) {
+      if (i > 0) {
+        response.append(',');
+      }
+      response.append("{\"xactionId\":\"9341f8eb-494a-4c89-9879-4d06a58d2dc7-").append(i).append('"');
+      if (failures > 0 && i % (messages / failures) == 0) {
+        response.append(",\"status\":400,\"message\":\"The 'header' field is mandatory.\"");
+      }
+      response.append('}');
+    }
+    content = response.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public void readTree(Blackhole blackhole) throws IOException {
+    final JsonNode response = JacksonFactory.OBJECT_MAPPER.readTree(new ByteArrayInputStream(content));
+    for (JsonNode messageResponse : response.get("responses")) {
+      if (messageResponse.hasNonNull("status")) {
+        final String xactionId = messageResponse.get("xactionId").asText();
+        blackhole.consume(Integer.parseInt(xactionId.substring(xactionId.lastIndexOf('-') + 1)));
+        blackhole.consume(messageResponse.get("status").asInt());
+      }
+    }
+  }
+
+  @Benchmark
+  public void stream(Blackhole blackhole) throws IOException {
+    final BatchResponse response = BatchResponseHandler.parse(new ByteArrayInputStream(content));
+    for (BatchResponse.Failure failure : response.getFailures()) {
+      blackhole.consume(failure.getIndex());
+      blackhole.consume(failure.getStatus());
+    }
+  }
+
+}
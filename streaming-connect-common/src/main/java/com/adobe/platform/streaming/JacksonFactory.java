@@ -12,16 +12,205 @@
 
 package com.adobe.platform.streaming;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.core.util.RecyclerPool;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * The JSON engine shared by every connector of the worker. Being shared by the whole JVM, it is configured through
+ * system properties rather than connector configs: the buffer recycler pool of the parsers and generators, the parser
+ * limits rejecting oversized or deeply nested events before they are materialized, and an optional Blackbird or
+ * Afterburner module generating bytecode for data binding. Readers and writers are immutable and built once, so hot
+ * paths use them instead of going through the mapper for every value.
+ *
  * @author Adobe Inc.
  */
 public final class JacksonFactory {
 
-  public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final Logger LOG = LoggerFactory.getLogger(JacksonFactory.class);
+
+  static final String RECYCLER_POOL = "aep.jackson.recycler.pool";
+  static final String MODULE = "aep.jackson.module";
+  static final String MAX_DOCUMENT_LENGTH = "aep.jackson.max.document.length";
+  static final String MAX_STRING_LENGTH = "aep.jackson.max.string.length";
+  static final String MAX_NESTING_DEPTH = "aep.jackson.max.nesting.depth";
+
+  // a single event never gets close to this, while a runaway one is rejected before it is buffered whole
+  private static final long DEFAULT_MAX_DOCUMENT_LENGTH = 16L * 1024 * 1024;
+  private static final int DEFAULT_MAX_STRING_LENGTH = 20000000;
+  private static final int DEFAULT_MAX_NESTING_DEPTH = 1000;
+  private static final int JAVA_VERSION = getJavaVersion(System.getProperty("java.specification.version"));
+
+  public static final ObjectMapper OBJECT_MAPPER = newObjectMapper(System.getProperties());
+  public static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+  public static final ObjectReader JSON_NODE_READER = OBJECT_MAPPER.readerFor(JsonNode.class);
+  public static final ObjectWriter JSON_NODE_WRITER = OBJECT_MAPPER.writerFor(JsonNode.class);
+
+  private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
 
   private JacksonFactory() {
   }
 
+  /**
+   * @return the reader binding JSON to the type, built on first use
+   */
+  public static ObjectReader readerFor(Class<?> type) {
+    return READERS.computeIfAbsent(type, OBJECT_MAPPER::readerFor);
+  }
+
+  static ObjectMapper newObjectMapper(Properties properties) {
+    final RecyclerPoolType recyclerPool = RecyclerPoolType.getRecyclerPoolType(properties.getProperty(RECYCLER_POOL,
+      RecyclerPoolType.THREAD_LOCAL.getName()));
+    final JsonFactory jsonFactory = JsonFactory.builder()
+      .recyclerPool(recyclerPool.newPool())
+      .streamReadConstraints(StreamReadConstraints.builder()
+        .maxDocumentLength(Long.parseLong(properties.getProperty(MAX_DOCUMENT_LENGTH,
+          String.valueOf(DEFAULT_MAX_DOCUMENT_LENGTH))))
+        .maxStringLength(Integer.parseInt(properties.getProperty(MAX_STRING_LENGTH,
+          String.valueOf(DEFAULT_MAX_STRING_LENGTH))))
+        .maxNestingDepth(Integer.parseInt(properties.getProperty(MAX_NESTING_DEPTH,
+          String.valueOf(DEFAULT_MAX_NESTING_DEPTH))))
+        .build())
+      .build();
+
+    final ObjectMapper objectMapper = new JsonMapper(jsonFactory);
+    final BytecodeModule module = BytecodeModule.getBytecodeModule(properties.getProperty(MODULE,
+      BytecodeModule.NONE.getName())).register(objectMapper, JAVA_VERSION);
+    LOG.info("JSON engine using the {} recycler pool and the {} module", recyclerPool.getName(), module.getName());
+    return objectMapper;
+  }
+
+  /**
+   * @return the feature release of a specification version, 8 for "1.8" and 11 for "11"
+   */
+  static int getJavaVersion(String specificationVersion) {
+    final String version = specificationVersion.startsWith("1.") ? specificationVersion.substring(2) :
+      specificationVersion;
+    try {
+      return Integer.parseInt(version);
+    } catch (NumberFormatException e) {
+      return 8;
+    }
+  }
+
+  /**
+   * @author Adobe Inc.
+   */
+  public enum RecyclerPoolType {
+
+    // one set of buffers per thread, the Jackson default
+    THREAD_LOCAL("thread-local"),
+    // buffers handed between threads, for callbacks running on short lived threads
+    SHARED("shared"),
+    NONE("none");
+
+    private final String name;
+
+    RecyclerPoolType(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    RecyclerPool<BufferRecycler> newPool() {
+      switch (this) {
+        case SHARED:
+          return JsonRecyclerPools.sharedConcurrentDequePool();
+        case NONE:
+          return JsonRecyclerPools.nonRecyclingPool();
+        default:
+          return JsonRecyclerPools.threadLocalPool();
+      }
+    }
+
+    public static RecyclerPoolType getRecyclerPoolType(String name) {
+      for (RecyclerPoolType recyclerPoolType : values()) {
+        if (recyclerPoolType.name.equalsIgnoreCase(name)) {
+          return recyclerPoolType;
+        }
+      }
+
+      throw new IllegalArgumentException("No recycler pool found: " + name);
+    }
+  }
+
+  /**
+   * Modules replacing the reflection of data binding with generated bytecode. They are looked up on the classpath,
+   * so a missing module, or one the Java runtime is too old for, leaves data binding as it is instead of failing.
+   *
+   * @author Adobe Inc.
+   */
+  public enum BytecodeModule {
+
+    NONE("none", null, 8),
+    // lambda based, it needs the private lookups of Java 11 and later
+    BLACKBIRD("blackbird", "com.fasterxml.jackson.module.blackbird.BlackbirdModule", 11),
+    AFTERBURNER("afterburner", "com.fasterxml.jackson.module.afterburner.AfterburnerModule", 8);
+
+    private final String name;
+    private final String className;
+    private final int minJavaVersion;
+
+    BytecodeModule(String name, String className, int minJavaVersion) {
+      this.name = name;
+      this.className = className;
+      this.minJavaVersion = minJavaVersion;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return the module data binding goes through, {@link #NONE} when this one could not be registered
+     */
+    BytecodeModule register(ObjectMapper objectMapper, int javaVersion) {
+      if (className == null) {
+        return this;
+      }
+
+      // checked up front, as the module may fail only once a value is bound through it rather than when loaded
+      if (javaVersion < minJavaVersion) {
+        LOG.warn("JSON module {} requires Java {} or later and the worker runs Java {}, data binding goes through " +
+          "reflection", name, minJavaVersion, javaVersion);
+        return NONE;
+      }
+
+      try {
+        objectMapper.registerModule((Module) Class.forName(className).getDeclaredConstructor().newInstance());
+        return this;
+      } catch (ReflectiveOperationException | LinkageError e) {
+        LOG.warn("JSON module {} is not available, data binding goes through reflection", name, e);
+        return NONE;
+      }
+    }
+
+    public static BytecodeModule getBytecodeModule(String name) {
+      for (BytecodeModule module : values()) {
+        if (module.name.equalsIgnoreCase(name)) {
+          return module;
+        }
+      }
+
+      throw new IllegalArgumentException("No JSON module found: " + name);
+    }
+  }
+
 }
@@ -16,49 +16,77 @@ import com.adobe.platform.streaming.JacksonFactory;
 import com.adobe.platform.streaming.http.ContentHandler;
 import com.adobe.platform.streaming.http.HttpConnection;
 import com.adobe.platform.streaming.http.HttpException;
+import com.adobe.platform.streaming.http.RetryPolicy;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.http.entity.ContentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Caches the access token and renews it in the background, well ahead of its expiry and at a jittered time, so that
+ * requests are not held up by the token endpoint. A failed renewal is retried in the background while the cached
+ * token remains valid. Only a caller finding no valid token, at the first request or once renewals have failed
+ * until the token expired, fetches one itself.
+ *
  * @author Adobe Inc.
  */
 public abstract class AbstractAuthProvider implements AuthProvider {
 
+  private static final Logger LOG = LoggerFactory.getLogger(AbstractAuthProvider.class);
+
   private static final long TOKEN_EXPIRATION_THRESHOLD = 30000;
   private static final long DEFAULT_TOKEN_UPDATE_THRESHOLD = 60000;
+  private static final int TOKEN_UPDATE_LEAD_DIVISOR = 5;
+  private static final long MIN_REFRESH_DELAY = 1000;
+  private static final RetryPolicy REFRESH_RETRY_POLICY = new RetryPolicy(Integer.MAX_VALUE, MIN_REFRESH_DELAY,
+    60000);
 
-  private final transient Lock tokenUpdateLock = new ReentrantLock();
-  private transient String accessToken;
+  // shared by all providers of the JVM, a refresh is a single request every few hours per provider
+  private static final ScheduledExecutorService TOKEN_REFRESHER = Executors.newSingleThreadScheduledExecutor(
+    new ThreadFactoryBuilder().setNameFormat("aep-token-refresher").setDaemon(true).build());
+
+  private transient volatile String accessToken;
   private transient volatile long expireTime;
+  private transient volatile boolean closed;
+  private transient volatile ScheduledFuture<?> scheduledRefresh;
+  private transient int failedRefreshes;
 
   @Override
   public String getToken() throws AuthException, HttpException {
     if (isExpired()) {
-      refreshTokenIfNecessary();
-    } else if (requiresUpdate()) {
-      if (tokenUpdateLock.tryLock()) {
-        try {
-          refreshTokenIfNecessary();
-        } finally {
-          tokenUpdateLock.unlock();
-        }
-      }
+      refreshTokenIfExpired();
     }
 
     return accessToken;
   }
 
+  /**
+   * Stops renewing the token in the background, without waiting for a renewal in progress.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    final ScheduledFuture<?> refresh = scheduledRefresh;
+    if (refresh != null) {
+      refresh.cancel(false);
+    }
+  }
+
   protected ContentHandler<TokenResponse> getContentHandler() {
     return new ContentHandler<TokenResponse>() {
       @Override
       public TokenResponse getContent(HttpConnection conn) throws HttpException {
         try (InputStream in = conn.getInputStream()) {
-          return JacksonFactory.OBJECT_MAPPER.readValue(in, TokenResponse.class);
+          return JacksonFactory.readerFor(TokenResponse.class).readValue(in);
         } catch (IOException e) {
           throw new HttpException("Error parsing response", e);
         }
@@ -75,20 +103,65 @@ public abstract class AbstractAuthProvider implements AuthProvider {
     return System.currentTimeMillis() > expireTime;
   }
 
-  private boolean requiresUpdate() {
-    return System.currentTimeMillis() > (expireTime - DEFAULT_TOKEN_UPDATE_THRESHOLD);
+  private synchronized void refreshTokenIfExpired() throws AuthException, HttpException {
+    // another caller, or the background refresh, may have renewed the token while this one was waiting
+    if (isExpired()) {
+      refreshToken();
+    }
   }
 
-  private synchronized void refreshTokenIfNecessary() throws AuthException, HttpException {
-    if (requiresUpdate()) {
-      try {
-        TokenResponse tokenResponse = getTokenResponse();
-        expireTime = System.currentTimeMillis() + tokenResponse.getExpiresIn() - TOKEN_EXPIRATION_THRESHOLD;
-        accessToken = tokenResponse.getAccessToken();
-      } catch (IOException e) {
-        throw new HttpException("Error parsing JWT Token", e);
-      }
+  private synchronized void refreshToken() throws AuthException, HttpException {
+    final TokenResponse tokenResponse;
+    try {
+      tokenResponse = getTokenResponse();
+    } catch (IOException e) {
+      throw new HttpException("Error parsing JWT Token", e);
+    }
+
+    final long lifetime = tokenResponse.getExpiresIn() - TOKEN_EXPIRATION_THRESHOLD;
+    expireTime = System.currentTimeMillis() + lifetime;
+    accessToken = tokenResponse.getAccessToken();
+    failedRefreshes = 0;
+    scheduleRefresh(getRefreshDelay(lifetime));
+  }
+
+  private synchronized void refreshInBackground() {
+    if (closed) {
+      return;
     }
+
+    try {
+      refreshToken();
+    } catch (AuthException | HttpException | RuntimeException e) {
+      final long delay = Math.max(MIN_REFRESH_DELAY, REFRESH_RETRY_POLICY.getBackoffMillis(++failedRefreshes, null));
+      LOG.warn("Failed to refresh the access token, retrying in {} ms while the current token remains valid",
+        delay, e);
+      scheduleRefresh(delay);
+    }
+  }
+
+  private synchronized void scheduleRefresh(long delay) {
+    if (closed) {
+      return;
+    }
+
+    if (scheduledRefresh != null) {
+      scheduledRefresh.cancel(false);
+    }
+    scheduledRefresh = TOKEN_REFRESHER.schedule(this::refreshInBackground, delay, TimeUnit.MILLISECONDS);
+    if (closed) {
+      scheduledRefresh.cancel(false);
+    }
+  }
+
+  /**
+   * @return the delay after which a token valid for the given lifetime is renewed, somewhere between 70 and 80
+   *   percent of its lifetime, and at least a minute before it expires
+   */
+  private static long getRefreshDelay(long lifetime) {
+    final long lead = Math.max(DEFAULT_TOKEN_UPDATE_THRESHOLD, lifetime / TOKEN_UPDATE_LEAD_DIVISOR);
+    final long jitter = ThreadLocalRandom.current().nextLong(lead / 2 + 1);
+    return Math.max(MIN_REFRESH_DELAY, lifetime - lead - jitter);
   }
 
   protected abstract TokenResponse getTokenResponse() throws AuthException, IOException;
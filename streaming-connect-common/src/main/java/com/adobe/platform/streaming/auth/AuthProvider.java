@@ -21,4 +21,9 @@ public interface AuthProvider {
 
   String getToken() throws AuthException, HttpException;
 
+  /**
+   * Releases what the provider holds to keep its token fresh. The provider is not used afterwards.
+   */
+  default void close() {}
+
 }
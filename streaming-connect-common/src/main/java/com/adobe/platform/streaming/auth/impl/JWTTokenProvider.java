@@ -162,7 +162,7 @@ public class JWTTokenProvider extends AbstractAuthProvider {
     String[] parts = jwtToken.split("\\.");
     Base64.Decoder base64Decoder = Base64.getDecoder();
     byte[] tokenBodyBytes = base64Decoder.decode(parts[1].getBytes(StandardCharsets.UTF_8));
-    final JsonNode tokenBodyJson = JacksonFactory.OBJECT_MAPPER.readTree(tokenBodyBytes);
+    final JsonNode tokenBodyJson = JacksonFactory.JSON_NODE_READER.readTree(tokenBodyBytes);
     long expiresIn = tokenBodyJson.get(JWT_EXPIRY_KEY).asLong();
     return System.currentTimeMillis() > (expiresIn - DEFAULT_JWT_TOKEN_UPDATE_THRESHOLD);
   }
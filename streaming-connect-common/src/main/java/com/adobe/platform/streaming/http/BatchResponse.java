@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batch request as reported by AEP. Only the messages that failed are kept, the accepted ones are
+ * just counted.
+ *
+ * @author Adobe Inc.
+ */
+public final class BatchResponse {
+
+  static final BatchResponse INVALID = new BatchResponse(false, 0, Collections.emptyList());
+
+  private final boolean valid;
+  private final int responseCount;
+  private final List<Failure> failures;
+
+  BatchResponse(boolean valid, int responseCount, List<Failure> failures) {
+    this.valid = valid;
+    this.responseCount = responseCount;
+    this.failures = failures;
+  }
+
+  /**
+   * @return false when the response holds no per message responses to look at
+   */
+  public boolean isValid() {
+    return valid;
+  }
+
+  public int getResponseCount() {
+    return responseCount;
+  }
+
+  public List<Failure> getFailures() {
+    return failures;
+  }
+
+  /**
+   * A message the batch response reported with an error status.
+   *
+   * @author Adobe Inc.
+   */
+  public static final class Failure {
+
+    private final int index;
+    private final int status;
+    private final JsonNode response;
+
+    Failure(int index, int status, JsonNode response) {
+      this.index = index;
+      this.status = status;
+      this.response = response;
+    }
+
+    /**
+     * @return position of the message in the request, as encoded in the suffix of its xactionId, or -1 when the
+     *   xactionId is missing or carries no position
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    public int getStatus() {
+      return status;
+    }
+
+    public JsonNode getResponse() {
+      return response;
+    }
+
+    @Override
+    public String toString() {
+      return response.toString();
+    }
+  }
+
+}
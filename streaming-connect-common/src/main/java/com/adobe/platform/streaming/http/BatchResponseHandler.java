@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import com.adobe.platform.streaming.JacksonFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.apache.http.entity.ContentType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a batch response token by token instead of building a tree of it. Accepted messages only cost a copy of
+ * their xactionId into a reused buffer, the response of a failed one is kept whole so that every field of it reaches
+ * the error reporter.
+ *
+ * @author Adobe Inc.
+ */
+class BatchResponseHandler extends ContentHandler<BatchResponse> {
+
+  private static final String RESPONSES_KEY = "responses";
+  private static final String XACTIONID_KEY = "xactionId";
+  private static final String STATUS_KEY = "status";
+  private static final char DASH = '-';
+
+  @Override
+  public BatchResponse getContent(HttpConnection conn) throws HttpException {
+    try (InputStream in = conn.getInputStream()) {
+      return parse(in);
+    } catch (IOException e) {
+      throw new HttpException("Error parsing content", e, 405);
+    }
+  }
+
+  @Override
+  public String getContentType() {
+    return ContentType.APPLICATION_JSON.getMimeType();
+  }
+
+  static BatchResponse parse(InputStream in) throws IOException {
+    try (JsonParser parser = JacksonFactory.JSON_FACTORY.createParser(in)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return BatchResponse.INVALID;
+      }
+
+      BatchResponse response = BatchResponse.INVALID;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        if (parser.nextToken() == JsonToken.START_ARRAY && RESPONSES_KEY.equals(field)) {
+          response = parseResponses(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+
+      return response;
+    }
+  }
+
+  private static BatchResponse parseResponses(JsonParser parser) throws IOException {
+    final StringBuilder xactionId = new StringBuilder();
+    final List<BatchResponse.Failure> failures = new ArrayList<>();
+    int responseCount = 0;
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      if (token != JsonToken.START_OBJECT) {
+        parser.skipChildren();
+        continue;
+      }
+
+      responseCount++;
+      xactionId.setLength(0);
+      boolean hasXactionId = false;
+      boolean failed = false;
+      int status = 0;
+      ObjectNode response = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        final JsonToken value = parser.nextToken();
+        if (XACTIONID_KEY.equals(field) && value == JsonToken.VALUE_STRING) {
+          xactionId.append(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+          hasXactionId = true;
+          if (response != null) {
+            response.put(XACTIONID_KEY, xactionId.toString());
+          }
+          continue;
+        }
+
+        // any other field may belong to a failed message, whose status can come after it
+        if (response == null) {
+          response = JacksonFactory.OBJECT_MAPPER.createObjectNode();
+          if (hasXactionId) {
+            response.put(XACTIONID_KEY, xactionId.toString());
+          }
+        }
+        if (STATUS_KEY.equals(field) && value != JsonToken.VALUE_NULL) {
+          failed = true;
+          status = parser.getValueAsInt();
+        }
+        response.set(field, parser.readValueAsTree());
+      }
+
+      if (failed) {
+        failures.add(new BatchResponse.Failure(hasXactionId ? getIndex(xactionId) : -1, status, response));
+      }
+    }
+
+    return new BatchResponse(true, responseCount, failures);
+  }
+
+  private static int getIndex(CharSequence xactionId) {
+    int start = xactionId.length();
+    while (start > 0 && xactionId.charAt(start - 1) != DASH) {
+      start--;
+    }
+
+    if (start == xactionId.length()) {
+      return -1;
+    }
+
+    try {
+      return Integer.parseInt(xactionId.subSequence(start, xactionId.length()).toString());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops sending requests to an endpoint that is down. While closed, the outcome of the last attempts is kept in a
+ * sliding window, and the breaker opens once enough of them failed with a 429, a 5xx or an I/O error, or took
+ * longer than the slow call duration. An open breaker refuses every attempt, so callers fail fast instead of going
+ * through their retries and timeouts. Once the open duration is over, the breaker turns half-open and lets a few
+ * probes through: it closes again when they all succeed and opens again as soon as one of them fails.
+ *
+ * @author Adobe Inc.
+ */
+public class CircuitBreaker implements CircuitBreakerMBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+  // delay given to attempts refused while half-open, the probes in flight settle the state within a round trip
+  private static final long HALF_OPEN_RETRY_DELAY_MILLIS = 500;
+  private static final byte FAILED = 1;
+  private static final byte SLOW = 2;
+
+  private double failureRateThreshold = 0.5;
+  private double slowCallRateThreshold = 1;
+  private long slowCallDurationMillis = 60000;
+  private int minimumCalls = 20;
+  private long openDurationMillis = 30000;
+  private int halfOpenProbes = 3;
+
+  private byte[] window;
+  private int windowPosition;
+  private int calls;
+  private int failedCalls;
+  private int slowCalls;
+
+  private volatile State state = State.CLOSED;
+  private long openedAtMillis;
+  private int probesInFlight;
+  private int successfulProbes;
+  private volatile long openedCount;
+  private volatile long halfOpenedCount;
+  private volatile long closedCount;
+  private volatile long rejectedCalls;
+
+  private CircuitBreaker() {
+  }
+
+  /**
+   * @return whether an attempt may be sent now, in which case its outcome must be recorded
+   */
+  public boolean tryAcquirePermission() {
+    return tryAcquirePermission(System.currentTimeMillis());
+  }
+
+  synchronized boolean tryAcquirePermission(long nowMillis) {
+    if (state == State.OPEN && nowMillis - openedAtMillis >= openDurationMillis) {
+      transitionTo(State.HALF_OPEN, nowMillis);
+    }
+
+    if (state == State.CLOSED) {
+      return true;
+    } else if (state == State.HALF_OPEN && probesInFlight < halfOpenProbes) {
+      probesInFlight++;
+      return true;
+    }
+
+    rejectedCalls++;
+    return false;
+  }
+
+  public void onSuccess(long durationMillis) {
+    onResult(false, durationMillis, System.currentTimeMillis());
+  }
+
+  public void onFailure(long durationMillis) {
+    onResult(true, durationMillis, System.currentTimeMillis());
+  }
+
+  synchronized void onResult(boolean failed, long durationMillis, long nowMillis) {
+    final boolean slow = durationMillis >= slowCallDurationMillis;
+    if (state == State.HALF_OPEN) {
+      probesInFlight = Math.max(0, probesInFlight - 1);
+      if (failed || slow) {
+        transitionTo(State.OPEN, nowMillis);
+      } else if (++successfulProbes >= halfOpenProbes) {
+        transitionTo(State.CLOSED, nowMillis);
+      }
+    } else if (state == State.CLOSED) {
+      record((byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0)));
+      if (calls >= minimumCalls &&
+          (getFailureRate() >= failureRateThreshold || getSlowCallRate() >= slowCallRateThreshold)) {
+        LOG.warn("opening circuit with a failure rate of {} and a slow call rate of {} over the last {} calls",
+          getFailureRate(), getSlowCallRate(), calls);
+        transitionTo(State.OPEN, nowMillis);
+      }
+    }
+    // outcomes of attempts sent before the breaker opened are ignored
+  }
+
+  /**
+   * @return millis to wait before an attempt may be let through, 0 when the breaker is closed
+   */
+  public long getRetryDelayMillis() {
+    return getRetryDelayMillis(System.currentTimeMillis());
+  }
+
+  synchronized long getRetryDelayMillis(long nowMillis) {
+    switch (state) {
+      case OPEN:
+        return Math.max(0, openedAtMillis + openDurationMillis - nowMillis);
+      case HALF_OPEN:
+        return probesInFlight < halfOpenProbes ? 0 : HALF_OPEN_RETRY_DELAY_MILLIS;
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * @return whether attempts are refused for now, false once the open duration is over and probes may be sent
+   */
+  public boolean isOpen() {
+    return getRetryDelayMillis() > 0;
+  }
+
+  private void record(byte outcome) {
+    if (calls == window.length) {
+      final byte evicted = window[windowPosition];
+      failedCalls -= evicted & FAILED;
+      slowCalls -= (evicted & SLOW) >> 1;
+    } else {
+      calls++;
+    }
+
+    window[windowPosition] = outcome;
+    windowPosition = (windowPosition + 1) % window.length;
+    failedCalls += outcome & FAILED;
+    slowCalls += (outcome & SLOW) >> 1;
+  }
+
+  private void transitionTo(State newState, long nowMillis) {
+    LOG.info("circuit breaker transition from {} to {}", state.getName(), newState.getName());
+    state = newState;
+    probesInFlight = 0;
+    successfulProbes = 0;
+    calls = 0;
+    failedCalls = 0;
+    slowCalls = 0;
+    windowPosition = 0;
+    switch (newState) {
+      case OPEN:
+        openedAtMillis = nowMillis;
+        openedCount++;
+        break;
+      case HALF_OPEN:
+        halfOpenedCount++;
+        break;
+      default:
+        closedCount++;
+        break;
+    }
+  }
+
+  State getCurrentState() {
+    return state;
+  }
+
+  @Override
+  public String getState() {
+    return state.getName();
+  }
+
+  @Override
+  public synchronized double getFailureRate() {
+    return calls == 0 ? 0 : (double) failedCalls / calls;
+  }
+
+  @Override
+  public synchronized double getSlowCallRate() {
+    return calls == 0 ? 0 : (double) slowCalls / calls;
+  }
+
+  @Override
+  public long getOpenedCount() {
+    return openedCount;
+  }
+
+  @Override
+  public long getHalfOpenedCount() {
+    return halfOpenedCount;
+  }
+
+  @Override
+  public long getClosedCount() {
+    return closedCount;
+  }
+
+  @Override
+  public long getRejectedCalls() {
+    return rejectedCalls;
+  }
+
+  public static CircuitBreakerBuilder newBuilder() {
+    return new CircuitBreakerBuilder(new CircuitBreaker());
+  }
+
+  /**
+   * @author Adobe Inc.
+   */
+  public enum State {
+
+    CLOSED("closed"),
+    OPEN("open"),
+    HALF_OPEN("half-open");
+
+    private final String name;
+
+    State(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  /**
+   * @author Adobe Inc.
+   */
+  public static class CircuitBreakerBuilder {
+    private final CircuitBreaker instance;
+    private int windowSize = 100;
+
+    CircuitBreakerBuilder(CircuitBreaker instance) {
+      this.instance = instance;
+    }
+
+    /**
+     * @param failureRateThreshold share of failed calls in the window, between 0 and 1, that opens the breaker
+     */
+    public CircuitBreakerBuilder withFailureRateThreshold(double failureRateThreshold) {
+      instance.failureRateThreshold = checkRate(failureRateThreshold);
+      return this;
+    }
+
+    /**
+     * @param slowCallRateThreshold share of slow calls in the window, between 0 and 1, that opens the breaker
+     */
+    public CircuitBreakerBuilder withSlowCallRateThreshold(double slowCallRateThreshold) {
+      instance.slowCallRateThreshold = checkRate(slowCallRateThreshold);
+      return this;
+    }
+
+    public CircuitBreakerBuilder withSlowCallDurationMillis(long slowCallDurationMillis) {
+      instance.slowCallDurationMillis = slowCallDurationMillis;
+      return this;
+    }
+
+    /**
+     * @param windowSize number of the most recent calls the rates are computed over
+     */
+    public CircuitBreakerBuilder withWindowSize(int windowSize) {
+      this.windowSize = Math.max(1, windowSize);
+      return this;
+    }
+
+    /**
+     * @param minimumCalls calls the window must hold before the rates can open the breaker
+     */
+    public CircuitBreakerBuilder withMinimumCalls(int minimumCalls) {
+      instance.minimumCalls = Math.max(1, minimumCalls);
+      return this;
+    }
+
+    public CircuitBreakerBuilder withOpenDurationMillis(long openDurationMillis) {
+      instance.openDurationMillis = openDurationMillis;
+      return this;
+    }
+
+    /**
+     * @param halfOpenProbes attempts let through while half-open, all of which must succeed to close the breaker
+     */
+    public CircuitBreakerBuilder withHalfOpenProbes(int halfOpenProbes) {
+      instance.halfOpenProbes = Math.max(1, halfOpenProbes);
+      return this;
+    }
+
+    public CircuitBreaker build() {
+      instance.window = new byte[windowSize];
+      instance.minimumCalls = Math.min(instance.minimumCalls, windowSize);
+      return instance;
+    }
+
+    private static double checkRate(double rate) {
+      if (rate <= 0 || rate > 1) {
+        throw new IllegalArgumentException("Rate threshold must be greater than 0 and at most 1: " + rate);
+      }
+      return rate;
+    }
+  }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+/**
+ * A request refused without being sent because the {@link CircuitBreaker} of the producer is open.
+ *
+ * @author Adobe Inc.
+ */
+public class CircuitBreakerOpenException extends HttpException {
+
+  private final transient long retryDelayMillis;
+
+  CircuitBreakerOpenException(String message, long retryDelayMillis) {
+    super(message, 503);
+    this.retryDelayMillis = retryDelayMillis;
+  }
+
+  /**
+   * @return millis after which the breaker lets a probe through
+   */
+  public long getRetryDelayMillis() {
+    return retryDelayMillis;
+  }
+
+}
@@ -43,7 +43,7 @@ public abstract class ContentHandler<T> {
     @Override
     public JsonNode getContent(HttpConnection conn) throws HttpException {
       try (InputStream in = conn.getInputStream()) {
-        return JacksonFactory.OBJECT_MAPPER.readTree(in);
+        return JacksonFactory.JSON_NODE_READER.readTree(in);
       } catch (IOException e) {
         throw new HttpException("Error parsing content", e, 405);
       }
@@ -55,6 +55,8 @@ public abstract class ContentHandler<T> {
     }
   };
 
+  private static final ContentHandler<BatchResponse> BATCH_RESPONSE_HANDLER = new BatchResponseHandler();
+
   public static ContentHandler<Void> nullHandler() {
     return NULL_HANDLER;
   }
@@ -63,6 +65,10 @@ public abstract class ContentHandler<T> {
     return JSON_HANDLER;
   }
 
+  public static ContentHandler<BatchResponse> batchResponseHandler() {
+    return BATCH_RESPONSE_HANDLER;
+  }
+
   public abstract T getContent(HttpConnection conn) throws HttpException;
 
   public abstract String getContentType();
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * Keeps idle {@link Deflater} instances per compression level, so that compressing a request does not allocate the
+ * native zlib state of a new deflater every time. Deflaters beyond the idle limit of a level are ended right away.
+ *
+ * @author Adobe Inc.
+ */
+final class DeflaterPool {
+
+  private static final int MAX_IDLE_PER_LEVEL = 16;
+  private static final Map<Integer, BlockingQueue<Deflater>> IDLE_DEFLATERS = new ConcurrentHashMap<>();
+
+  private DeflaterPool() {}
+
+  /**
+   * @return a deflater producing raw deflate data, without the zlib header and trailer
+   */
+  static Deflater acquire(int level) {
+    final Deflater deflater = idleDeflaters(level).poll();
+    return deflater == null ? new Deflater(level, true) : deflater;
+  }
+
+  static void release(int level, Deflater deflater) {
+    deflater.reset();
+    if (!idleDeflaters(level).offer(deflater)) {
+      deflater.end();
+    }
+  }
+
+  private static BlockingQueue<Deflater> idleDeflaters(int level) {
+    return IDLE_DEFLATERS.computeIfAbsent(level, key -> new ArrayBlockingQueue<>(MAX_IDLE_PER_LEVEL));
+  }
+
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads the attempts of a producer over equivalent endpoints. Every attempt goes to the healthy endpoint with the
+ * fewest requests outstanding, or with the lowest latency average weighted by its outstanding requests. Endpoints
+ * are health checked passively from the outcome of the attempts: one failing with a 429, a 5xx or an I/O error for
+ * too many attempts in a row, or answering slower than the ejection latency on average, is ejected and gets no
+ * attempt until the ejection duration is over. The last healthy endpoint is never ejected, a single endpoint is
+ * always used.
+ *
+ * @author Adobe Inc.
+ */
+public class EndpointBalancer implements EndpointBalancerMBean, Serializable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EndpointBalancer.class);
+  // weight of the latest attempt in the latency average of an endpoint
+  private static final double LATENCY_SMOOTHING_FACTOR = 0.2;
+  // attempts an endpoint must have answered before its latency average can eject it
+  private static final int MIN_LATENCY_SAMPLES = 5;
+
+  private final List<Endpoint> endpoints;
+  private final AtomicInteger nextIndex = new AtomicInteger();
+  private Strategy strategy = Strategy.LEAST_OUTSTANDING;
+  private int ejectionFailures = 5;
+  private long ejectionLatencyMillis;
+  private long ejectionDurationMillis = 30000;
+  private volatile long ejections;
+
+  private EndpointBalancer(List<Endpoint> endpoints) {
+    this.endpoints = endpoints;
+  }
+
+  /**
+   * @param previous endpoint of the previous attempt of the request, which is avoided while another one is healthy
+   * @return the endpoint the next attempt is sent to, its outcome must be recorded with {@link #onComplete}
+   */
+  Endpoint select(Endpoint previous) {
+    return select(previous, System.currentTimeMillis());
+  }
+
+  Endpoint select(Endpoint previous, long nowMillis) {
+    final Endpoint endpoint = endpoints.size() == 1 ? endpoints.get(0) : choose(previous, nowMillis);
+    endpoint.outstanding.incrementAndGet();
+    return endpoint;
+  }
+
+  void onComplete(Endpoint endpoint, boolean failed, long durationMillis) {
+    onComplete(endpoint, failed, durationMillis, System.currentTimeMillis());
+  }
+
+  synchronized void onComplete(Endpoint endpoint, boolean failed, long durationMillis, long nowMillis) {
+    endpoint.outstanding.decrementAndGet();
+    if (endpoint.isEjected(nowMillis)) {
+      // outcomes of attempts sent before the endpoint was ejected are ignored
+      return;
+    }
+
+    endpoint.latencyAverage = endpoint.samples == 0 ? durationMillis :
+      endpoint.latencyAverage + LATENCY_SMOOTHING_FACTOR * (durationMillis - endpoint.latencyAverage);
+    endpoint.samples++;
+    endpoint.consecutiveFailures = failed ? endpoint.consecutiveFailures + 1 : 0;
+
+    if (endpoint.consecutiveFailures >= ejectionFailures) {
+      eject(endpoint, endpoint.consecutiveFailures + " consecutive failed attempts", nowMillis);
+    } else if (ejectionLatencyMillis > 0 && endpoint.samples >= MIN_LATENCY_SAMPLES &&
+        endpoint.latencyAverage >= ejectionLatencyMillis) {
+      eject(endpoint, "an average latency of " + Math.round(endpoint.latencyAverage) + " ms", nowMillis);
+    }
+  }
+
+  private Endpoint choose(Endpoint previous, long nowMillis) {
+    final int size = endpoints.size();
+    final int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+    Endpoint best = null;
+    double bestCost = Double.MAX_VALUE;
+    Endpoint soonestBack = null;
+    for (int i = 0; i < size; i++) {
+      // the rotating start breaks ties between endpoints of equal cost
+      final Endpoint endpoint = endpoints.get((start + i) % size);
+      if (endpoint.isEjected(nowMillis)) {
+        if (soonestBack == null || endpoint.ejectedUntilMillis < soonestBack.ejectedUntilMillis) {
+          soonestBack = endpoint;
+        }
+        continue;
+      }
+
+      reinstateIfDue(endpoint);
+      final double cost = endpoint == previous ? Double.MAX_VALUE : strategy.getCost(endpoint);
+      if (best == null || cost < bestCost) {
+        best = endpoint;
+        bestCost = cost;
+      }
+    }
+
+    // every endpoint got ejected while attempts were in flight, the one coming back first is used
+    return best != null ? best : soonestBack;
+  }
+
+  private void reinstateIfDue(Endpoint endpoint) {
+    if (endpoint.ejectedUntilMillis != 0) {
+      synchronized (this) {
+        if (endpoint.ejectedUntilMillis != 0) {
+          LOG.info("reinstating endpoint {} after its ejection", endpoint.url);
+          endpoint.ejectedUntilMillis = 0;
+          endpoint.consecutiveFailures = 0;
+          endpoint.latencyAverage = 0;
+          endpoint.samples = 0;
+        }
+      }
+    }
+  }
+
+  private void eject(Endpoint endpoint, String reason, long nowMillis) {
+    for (Endpoint other : endpoints) {
+      if (other != endpoint && !other.isEjected(nowMillis)) {
+        LOG.warn("ejecting endpoint {} for {} ms after {}", endpoint.url, ejectionDurationMillis, reason);
+        endpoint.ejectedUntilMillis = nowMillis + ejectionDurationMillis;
+        ejections++;
+        return;
+      }
+    }
+
+    LOG.debug("not ejecting endpoint {} after {}, no other endpoint is healthy", endpoint.url, reason);
+  }
+
+  /**
+   * @return number of endpoints the attempts are spread over
+   */
+  public int size() {
+    return endpoints.size();
+  }
+
+  @Override
+  public String getStrategy() {
+    return strategy.getName();
+  }
+
+  @Override
+  public String[] getHealthyEndpoints() {
+    final long nowMillis = System.currentTimeMillis();
+    return endpoints.stream().filter(endpoint -> !endpoint.isEjected(nowMillis)).map(Endpoint::getUrl)
+      .toArray(String[]::new);
+  }
+
+  @Override
+  public String[] getEjectedEndpoints() {
+    final long nowMillis = System.currentTimeMillis();
+    return endpoints.stream().filter(endpoint -> endpoint.isEjected(nowMillis)).map(Endpoint::getUrl)
+      .toArray(String[]::new);
+  }
+
+  @Override
+  public int getOutstandingRequests() {
+    return endpoints.stream().mapToInt(endpoint -> endpoint.outstanding.get()).sum();
+  }
+
+  @Override
+  public long getEjections() {
+    return ejections;
+  }
+
+  public static EndpointBalancerBuilder newBuilder(List<String> urls) {
+    if (urls.isEmpty()) {
+      throw new IllegalArgumentException("At least one endpoint is required");
+    }
+
+    final List<Endpoint> endpoints = new ArrayList<>(urls.size());
+    urls.forEach(url -> endpoints.add(new Endpoint(url)));
+    return new EndpointBalancerBuilder(new EndpointBalancer(Collections.unmodifiableList(endpoints)));
+  }
+
+  /**
+   * An endpoint together with the outstanding attempts and the passive health check state it is balanced on.
+   *
+   * @author Adobe Inc.
+   */
+  public static class Endpoint implements Serializable {
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile double latencyAverage;
+    private int samples;
+    private int consecutiveFailures;
+    private volatile long ejectedUntilMillis;
+
+    Endpoint(String url) {
+      this.url = url;
+    }
+
+    public String getUrl() {
+      return url;
+    }
+
+    int getOutstanding() {
+      return outstanding.get();
+    }
+
+    boolean isEjected(long nowMillis) {
+      return ejectedUntilMillis > nowMillis;
+    }
+  }
+
+  /**
+   * @author Adobe Inc.
+   */
+  public enum Strategy {
+
+    LEAST_OUTSTANDING("least-outstanding") {
+      @Override
+      double getCost(Endpoint endpoint) {
+        return endpoint.outstanding.get();
+      }
+    },
+    EWMA("ewma") {
+      @Override
+      double getCost(Endpoint endpoint) {
+        // endpoints without a latency yet are tried first
+        return (endpoint.latencyAverage + 1) * (endpoint.outstanding.get() + 1);
+      }
+    };
+
+    private final String name;
+
+    Strategy(String name) {
+      this.name = name;
+    }
+
+    abstract double getCost(Endpoint endpoint);
+
+    public String getName() {
+      return name;
+    }
+
+    public static Strategy getStrategy(String name) {
+      for (Strategy strategy : values()) {
+        if (strategy.name.equalsIgnoreCase(name)) {
+          return strategy;
+        }
+      }
+
+      throw new IllegalArgumentException("No load balancing strategy found: " + name);
+    }
+  }
+
+  /**
+   * @author Adobe Inc.
+   */
+  public static class EndpointBalancerBuilder {
+    private final EndpointBalancer instance;
+
+    EndpointBalancerBuilder(EndpointBalancer instance) {
+      this.instance = instance;
+    }
+
+    public EndpointBalancerBuilder withStrategy(Strategy strategy) {
+      instance.strategy = strategy;
+      return this;
+    }
+
+    /**
+     * @param ejectionFailures failed attempts in a row that eject an endpoint
+     */
+    public EndpointBalancerBuilder withEjectionFailures(int ejectionFailures) {
+      instance.ejectionFailures = Math.max(1, ejectionFailures);
+      return this;
+    }
+
+    /**
+     * @param ejectionLatencyMillis latency average that ejects an endpoint, 0 never ejects slow endpoints
+     */
+    public EndpointBalancerBuilder withEjectionLatencyMillis(long ejectionLatencyMillis) {
+      instance.ejectionLatencyMillis = Math.max(0, ejectionLatencyMillis);
+      return this;
+    }
+
+    public EndpointBalancerBuilder withEjectionDurationMillis(long ejectionDurationMillis) {
+      instance.ejectionDurationMillis = ejectionDurationMillis;
+      return this;
+    }
+
+    public EndpointBalancer build() {
+      return instance;
+    }
+  }
+
+}
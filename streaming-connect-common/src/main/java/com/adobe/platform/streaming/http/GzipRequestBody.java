@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compresses another body in the gzip format while it is written, so the compressed bytes go straight into the
+ * connection without holding a compressed copy of the request in memory. The deflater comes from a shared pool.
+ *
+ * @author Adobe Inc.
+ */
+public class GzipRequestBody implements HttpRequestBody {
+
+  private final HttpRequestBody body;
+  private final int level;
+
+  public GzipRequestBody(HttpRequestBody body, int level) {
+    this.body = body;
+    this.level = level;
+  }
+
+  /**
+   * @return -1, the compressed length is only known once the body has been written
+   */
+  @Override
+  public long getContentLength() {
+    return -1;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    final Deflater deflater = DeflaterPool.acquire(level);
+    try {
+      final GzipOutputStream gzipStream = new GzipOutputStream(out, deflater);
+      body.writeTo(gzipStream);
+      gzipStream.finish();
+    } finally {
+      DeflaterPool.release(level, deflater);
+    }
+  }
+
+  /**
+   * Same framing as {@link java.util.zip.GZIPOutputStream}, which cannot be given a deflater of its own. Finishing
+   * the stream writes the trailer but leaves the underlying stream open.
+   */
+  private static class GzipOutputStream extends DeflaterOutputStream {
+
+    private static final byte[] HEADER = {
+      (byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+    private static final int TRAILER_LENGTH = 8;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CRC32 crc = new CRC32();
+
+    GzipOutputStream(OutputStream out, Deflater deflater) throws IOException {
+      super(out, deflater, BUFFER_SIZE);
+      out.write(HEADER);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      super.write(b, off, len);
+      crc.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      super.finish();
+      final byte[] trailer = new byte[TRAILER_LENGTH];
+      writeInt((int) crc.getValue(), trailer, 0);
+      writeInt(def.getTotalIn(), trailer, 4);
+      out.write(trailer);
+    }
+
+    private static void writeInt(int value, byte[] buffer, int offset) {
+      buffer[offset] = (byte) value;
+      buffer[offset + 1] = (byte) (value >> 8);
+      buffer[offset + 2] = (byte) (value >> 16);
+      buffer[offset + 3] = (byte) (value >> 24);
+    }
+  }
+
+}
@@ -15,25 +15,18 @@ package com.adobe.platform.streaming.http;
 import com.adobe.platform.streaming.auth.AuthException;
 import com.adobe.platform.streaming.auth.AuthProvider;
 
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.Authenticator;
-import java.net.HttpURLConnection;
-import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
-import java.net.PasswordAuthentication;
-import java.net.Proxy;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Adobe Inc.
@@ -43,143 +36,111 @@ public class HttpConnection {
   private static final Logger LOG = LoggerFactory.getLogger(HttpConnection.class);
 
   private static final String CONTENT_ENCODING = "Content-Encoding";
-  private static final String CONTENT_LENGTH = "Content-Length";
   private static final String GZIP = "gzip";
+  private static final String RETRY_AFTER = "Retry-After";
 
   private String endpoint;
   private String url;
 
-  private String proxyHost;
-  private int proxyPort;
-  private String proxyUser;
-  private String proxyPassword;
-
   private Map<String, String> headers;
-  private byte[] postData;
-  private int maxRetries;
-  private int retryBackoff;
-  private int connectTimeout;
-  private int readTimeout;
+  private HttpRequestBody body;
   private AuthProvider auth;
   private String requestMethod = "GET";
   private boolean enableGzip;
-  private boolean isPostDataCompressed;
+  private int gzipLevel = Deflater.DEFAULT_COMPRESSION;
+  private int gzipMinBytes;
+  private HttpResponseListener responseListener;
+  private HttpTransport transport;
 
-  private transient int retries;
-  private transient HttpURLConnection conn;
+  private transient int attempts;
+  private transient HttpTransportResponse response;
 
   private HttpConnection() {
     this.headers = new HashMap<>();
-    retries = 0;
   }
 
-  @SuppressWarnings("squid:S3776")
-  HttpURLConnection connect() throws HttpException {
-    Throwable cause = null;
+  /**
+   * Points the next attempts of the request at another endpoint.
+   */
+  void setEndpoint(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  /**
+   * Makes a single attempt of the request, retries are left to {@link RetryingRequest}.
+   *
+   * @throws RetryableHttpException when the attempt failed with a 429, a 5xx or an I/O error
+   */
+  HttpTransportResponse connect() throws HttpException {
+    attempts++;
+    final long attemptStartNanos = System.nanoTime();
     int responseCode = 500;
-    String errorMsg = "";
-
-    while (retries++ < maxRetries) {
-      try {
-        final URL request = new URL(new URL(endpoint), url);
-        LOG.debug("opening connection for: {}", request);
-
-        if (isBasicProxyConfigured()) {
-          if (isProxyWithAuthenticationConfigured()) {
-            LOG.debug("proxyUser: {}, proxyPassword: {}", proxyUser, proxyPassword);
-            Authenticator.setDefault(
-              new Authenticator() {
-                @Override
-                protected PasswordAuthentication getPasswordAuthentication() {
-                  return new PasswordAuthentication(proxyUser, proxyPassword.toCharArray());
-                }
-              }
-            );
-          }
-
-          LOG.debug("proxyHost: {}, proxyPort: {}", proxyHost, proxyPort);
-          final Proxy proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(proxyHost, proxyPort));
-          conn = (HttpURLConnection) request.openConnection(proxy);
-        } else {
-          conn = (HttpURLConnection) request.openConnection();
-        }
-
-        conn.setDoInput(true);
-        conn.setUseCaches(false);
-        conn.setConnectTimeout(connectTimeout);
-        conn.setReadTimeout(readTimeout);
-        conn.setInstanceFollowRedirects(false);
-        conn.setRequestMethod(requestMethod);
-
-        for (Map.Entry<String, String> header : headers.entrySet()) {
-          conn.setRequestProperty(header.getKey(), header.getValue());
-        }
-
-        if (auth != null) {
-          conn.setRequestProperty("Authorization", "Bearer " + auth.getToken());
-        }
-
-        if (postData != null) {
-          if (enableGzip) {
-            if (!isPostDataCompressed) {
-              ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(postData.length);
-              try (GZIPOutputStream gzipOS = new GZIPOutputStream(byteArrayOutputStream)) {
-                gzipOS.write(postData, 0, postData.length);
-                gzipOS.finish();
-              }
-              postData = byteArrayOutputStream.toByteArray();
-              isPostDataCompressed = true;
-            }
-            conn.setRequestProperty(CONTENT_ENCODING, GZIP);
-          }
-          conn.setRequestProperty(CONTENT_LENGTH, Integer.toString(postData.length));
-          conn.setDoOutput(true);
-          try (OutputStream postStream = conn.getOutputStream()) {
-            postStream.write(postData);
-          }
-        }
-
-        responseCode = conn.getResponseCode();
-        if (HttpUtil.is2xx(responseCode)) {
-          break;
-        }
-
-        errorMsg = errorStreamToString();
-        if (HttpUtil.is5xx(responseCode)) {
-          LOG.warn("attempt {} of {} failed with {} response - {}", retries, maxRetries, responseCode, errorMsg);
-          close();
-          HttpUtil.sleepUninterrupted(retryBackoff);
-        } else if (HttpUtil.isUnauthorized(responseCode)) {
-          throw new AuthException(String.format("requested failed. unauthorized to access the endpoint. " +
-            "response code %s", responseCode));
-        } else {
-          throw new HttpException("request failed (" + responseCode + "): " + errorMsg, responseCode);
-        }
-      } catch (MalformedURLException e) {
-        throw new HttpException(("bad withUrl: " + url), e);
-      } catch (IOException e) {
-        LOG.warn("attempt {} of {} failed with exception - {}", retries, maxRetries, e.getMessage());
-        close();
-        cause = e;
-        HttpUtil.sleepUninterrupted(retryBackoff);
-      } catch (AuthException authException) {
-        throw new HttpException("exception while fetching the auth token", authException, responseCode);
+    try {
+      final URL request = new URL(new URL(endpoint), url);
+      LOG.debug("opening connection for: {}", request);
+
+      final Map<String, String> requestHeaders = new HashMap<>(headers);
+      if (auth != null) {
+        requestHeaders.put("Authorization", "Bearer " + auth.getToken());
       }
-    }
 
-    if (HttpUtil.is5xx(responseCode)) {
-      throw new HttpException("request failed (" + responseCode + "): " + errorMsg, responseCode);
-    }
+      HttpRequestBody requestBody = body;
+      if (requestBody != null && enableGzip && isCompressible(requestBody)) {
+        requestBody = new GzipRequestBody(requestBody, gzipLevel);
+        requestHeaders.put(CONTENT_ENCODING, GZIP);
+      }
 
-    if (conn == null) {
-      throw new HttpException("unable to connect", cause);
+      response = transport.execute(new HttpTransportRequest(requestMethod, request, requestHeaders, requestBody));
+      responseCode = response.getStatusCode();
+      if (responseListener != null) {
+        responseListener.onResponse(responseCode, elapsedMillis(attemptStartNanos));
+      }
+      if (HttpUtil.is2xx(responseCode)) {
+        return response;
+      }
+
+      final String errorMsg = errorStreamToString();
+      if (HttpUtil.is5xx(responseCode) || HttpUtil.isTooManyRequests(responseCode)) {
+        LOG.warn("attempt {} failed with {} response - {}", attempts, responseCode, errorMsg);
+        final String retryAfter = response.getHeader(RETRY_AFTER);
+        close();
+        throw new RetryableHttpException("request failed (" + responseCode + "): " + errorMsg, responseCode,
+          retryAfter);
+      } else if (HttpUtil.isUnauthorized(responseCode)) {
+        throw new AuthException(String.format("requested failed. unauthorized to access the endpoint. " +
+          "response code %s", responseCode));
+      } else {
+        throw new HttpException("request failed (" + responseCode + "): " + errorMsg, responseCode);
+      }
+    } catch (MalformedURLException e) {
+      throw new HttpException(("bad withUrl: " + url), e);
+    } catch (IOException e) {
+      LOG.warn("attempt {} failed with exception - {}", attempts, e.getMessage());
+      if (responseListener != null) {
+        responseListener.onFailure(e, elapsedMillis(attemptStartNanos));
+      }
+      close();
+      throw new RetryableHttpException("unable to connect", e);
+    } catch (AuthException authException) {
+      throw new HttpException("exception while fetching the auth token", authException, responseCode);
     }
+  }
 
-    return conn;
+  private boolean isCompressible(HttpRequestBody requestBody) {
+    // streamed bodies only know their length once written and are expected to be large batches
+    return requestBody.getContentLength() < 0 || requestBody.getContentLength() >= gzipMinBytes;
+  }
+
+  private static long elapsedMillis(long startNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
   }
 
   private String errorStreamToString() throws IOException, HttpException {
-    InputStream errStream = conn.getErrorStream();
+    InputStream errStream = response.getBody();
+    if (errStream == null) {
+      return "";
+    }
+
     if (isGzip()) {
       return HttpUtil.streamToString(new StreamingGZipInputStream(errStream));
     }
@@ -188,41 +149,22 @@ public class HttpConnection {
   }
 
   private boolean isGzip() {
-    return "gzip".equals(conn.getHeaderField(CONTENT_ENCODING));
+    return GZIP.equals(response.getHeader(CONTENT_ENCODING));
   }
 
   void close() {
-    if (conn != null) {
-      LOG.debug("closing connection for: {}", conn.getURL());
-
-      try {
-        InputStream is = conn.getInputStream();
-        if (is != null) {
-          is.close();
-        }
-      } catch (IOException ioe) {
-        LOG.error("close(): failed to close input stream: {}", ioe.getMessage());
-      }
-
-      conn = null;
+    if (response != null) {
+      response.close();
+      response = null;
     }
   }
 
-  public boolean isBasicProxyConfigured() {
-    return StringUtils.isNotEmpty(proxyHost);
-  }
-
-  public boolean isProxyWithAuthenticationConfigured() {
-    return StringUtils.isNotEmpty(proxyUser) &&
-           StringUtils.isNotEmpty(proxyPassword);
-  }
-
   public InputStream getInputStream() throws HttpException {
     try {
       if (isGzip()) {
-        return new GZIPInputStream(conn.getInputStream());
+        return new GZIPInputStream(response.getBody());
       } else {
-        return conn.getInputStream();
+        return response.getBody();
       }
     } catch (IOException e) {
       throw new HttpException("problem getting input stream", e);
@@ -246,33 +188,17 @@ public class HttpConnection {
       return this;
     }
 
-    HttpConnectionBuilder withProxyHost(String proxyHost) {
-      instance.proxyHost = proxyHost;
-      return this;
-    }
-
-    HttpConnectionBuilder withProxyPort(int proxyPort) {
-      instance.proxyPort = proxyPort;
-      return this;
-    }
-
-    HttpConnectionBuilder withProxyUser(String proxyUser) {
-      instance.proxyUser = proxyUser;
-      return this;
-    }
-
-    HttpConnectionBuilder withProxyPassword(String proxyPassword) {
-      instance.proxyPassword = proxyPassword;
-      return this;
-    }
-
     HttpConnectionBuilder withHeaders(Map<String, String> headers) {
       instance.headers.putAll(headers);
       return this;
     }
 
     HttpConnectionBuilder withPostData(byte[] postData) {
-      instance.postData = postData;
+      return withPostData(HttpRequestBody.of(postData));
+    }
+
+    HttpConnectionBuilder withPostData(HttpRequestBody body) {
+      instance.body = body;
       instance.requestMethod = "POST";
       return this;
     }
@@ -282,28 +208,28 @@ public class HttpConnection {
       return this;
     }
 
-    HttpConnectionBuilder withMaxRetries(int maxRetries) {
-      instance.maxRetries = maxRetries;
+    HttpConnectionBuilder withGzipLevel(int gzipLevel) {
+      instance.gzipLevel = gzipLevel;
       return this;
     }
 
-    HttpConnectionBuilder withRetryBackoff(int retryBackoff) {
-      instance.retryBackoff = retryBackoff;
+    HttpConnectionBuilder withGzipMinBytes(int gzipMinBytes) {
+      instance.gzipMinBytes = gzipMinBytes;
       return this;
     }
 
-    HttpConnectionBuilder withConnectTimeout(int connectTimeout) {
-      instance.connectTimeout = connectTimeout;
+    HttpConnectionBuilder withAuth(AuthProvider auth) {
+      instance.auth = auth;
       return this;
     }
 
-    HttpConnectionBuilder withReadTimeout(int readTimeout) {
-      instance.readTimeout = readTimeout;
+    HttpConnectionBuilder withResponseListener(HttpResponseListener responseListener) {
+      instance.responseListener = responseListener;
       return this;
     }
 
-    HttpConnectionBuilder withAuth(AuthProvider auth) {
-      instance.auth = auth;
+    HttpConnectionBuilder withTransport(HttpTransport transport) {
+      instance.transport = transport;
       return this;
     }
 
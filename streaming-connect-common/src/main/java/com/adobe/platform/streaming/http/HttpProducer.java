@@ -23,6 +23,9 @@ import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.Deflater;
 
 /**
  * @author Adobe Inc.
@@ -31,73 +34,168 @@ public class HttpProducer implements Serializable {
 
   private static final Logger LOG = LoggerFactory.getLogger(HttpProducer.class);
 
-  private final String endpoint;
+  private final EndpointBalancer endpointBalancer;
 
   private String proxyHost;
   private int proxyPort;
   private String proxyUser;
   private String proxyPassword;
 
-  private final boolean enableGzip;
+  private boolean enableGzip;
+  private int gzipLevel;
+  private int gzipMinBytes;
   private int connectTimeout;
   private transient AuthProvider auth;
+  private transient HttpResponseListener responseListener;
   private int readTimeout;
   private int maxRetries;
   private int retryBackoff;
+  private int maxRetryBackoff;
+  private transient RetryBudget retryBudget;
+  private transient CircuitBreaker circuitBreaker;
   private Map<String, String> endpointHeaders;
+  private HttpTransportType transportType;
+  private int maxConnections;
+  private int maxConnectionsPerRoute;
+  private long keepAliveMillis;
+  private long idleTimeoutMillis;
+  private transient volatile HttpTransport transport;
 
-  private HttpProducer(String endpoint) {
-    LOG.info("in init: {}", endpoint);
-    this.endpoint = endpoint;
+  private HttpProducer(EndpointBalancer endpointBalancer) {
+    LOG.info("in init: {}", String.join(", ", endpointBalancer.getHealthyEndpoints()));
+    this.endpointBalancer = endpointBalancer;
     this.maxRetries = 3;
     this.retryBackoff = 300;
+    this.maxRetryBackoff = 10000;
     this.enableGzip = false;
+    this.gzipLevel = Deflater.DEFAULT_COMPRESSION;
+    this.gzipMinBytes = 0;
     this.connectTimeout = 5000;
     this.readTimeout = 60000;
     this.endpointHeaders = Collections.emptyMap();
+    this.transportType = HttpTransportType.URL_CONNECTION;
+    this.maxConnections = 20;
+    this.maxConnectionsPerRoute = 10;
+    this.keepAliveMillis = 60000;
+    this.idleTimeoutMillis = 30000;
   }
 
   public <T> T post(String url, byte[] postData, ContentHandler<T> handler) throws HttpException {
+    return post(url, HttpRequestBody.of(postData), handler);
+  }
+
+  /**
+   * Posts a body that is written into the connection while the request is sent, and written again on retries.
+   */
+  public <T> T post(String url, HttpRequestBody body, ContentHandler<T> handler) throws HttpException {
+    final CompletableFuture<T> result = postAsync(url, body, handler);
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HttpException("interrupted while waiting for the response", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof HttpException) {
+        throw (HttpException) e.getCause();
+      } else if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+
+      throw new HttpException("request failed", e.getCause());
+    }
+  }
+
+  /**
+   * Makes the first attempt on the calling thread and schedules retries after their backoff, without blocking the
+   * caller while waiting for them. The future fails with an {@link HttpException} once no attempt is left, or with a
+   * {@link CircuitBreakerOpenException} as soon as the circuit breaker refuses an attempt.
+   */
+  public <T> CompletableFuture<T> postAsync(String url, HttpRequestBody body, ContentHandler<T> handler) {
     Map<String, String> headers = new HashMap<>(endpointHeaders);
     if (handler.getContentType() != null) {
       headers.put(HttpHeaders.CONTENT_TYPE, handler.getContentType());
     }
-    return post(url, postData, headers, handler);
-  }
 
-  private <T> T post(String url, byte[] postData, Map<String, String> headers, ContentHandler<T> handler)
-      throws HttpException {
     HttpConnection conn = newConnectionBuilder()
       .withUrl(url)
       .withHeaders(headers)
-      .withPostData(postData)
+      .withPostData(body)
       .withGzipCompression(enableGzip)
+      .withGzipLevel(gzipLevel)
+      .withGzipMinBytes(gzipMinBytes)
       .build();
 
-    try {
-      conn.connect();
-      return handler.getContent(conn);
-    } finally {
-      conn.close();
+    return new RetryingRequest<>(conn, handler, new RetryPolicy(maxRetries, retryBackoff, maxRetryBackoff),
+      retryBudget, circuitBreaker, endpointBalancer).start();
+  }
+
+  /**
+   * @return the balancer spreading the attempts over the endpoints
+   */
+  public EndpointBalancer getEndpointBalancer() {
+    return endpointBalancer;
+  }
+
+  /**
+   * @return the circuit breaker guarding the endpoint, or null when requests are always sent
+   */
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  public HttpTransport getTransport() {
+    if (transport == null) {
+      synchronized (this) {
+        if (transport == null) {
+          transport = transportType.newTransport(HttpTransportConfiguration.builder()
+            .proxyHost(proxyHost)
+            .proxyPort(proxyPort)
+            .proxyUsername(proxyUser)
+            .proxyPassword(proxyPassword)
+            .connectTimeout(connectTimeout)
+            .readTimeout(readTimeout)
+            .maxConnections(maxConnections)
+            .maxConnectionsPerRoute(maxConnectionsPerRoute)
+            .keepAliveMillis(keepAliveMillis)
+            .idleTimeoutMillis(idleTimeoutMillis)
+            .build());
+          LOG.info("using {} transport for: {}", transportType.getName(),
+            String.join(", ", endpointBalancer.getHealthyEndpoints()));
+        }
+      }
+    }
+
+    return transport;
+  }
+
+  public synchronized void close() {
+    if (auth != null) {
+      auth.close();
+    }
+    if (transport != null) {
+      transport.close();
+      transport = null;
     }
   }
 
   private HttpConnection.HttpConnectionBuilder newConnectionBuilder() {
+    // the endpoint is picked by the balancer before every attempt
     return new HttpConnection.HttpConnectionBuilder()
-      .withEndpoint(endpoint)
-      .withProxyHost(proxyHost)
-      .withProxyPort(proxyPort)
-      .withProxyUser(proxyUser)
-      .withProxyPassword(proxyPassword)
-      .withConnectTimeout(connectTimeout)
+      .withEndpoint(null)
+      .withTransport(getTransport())
       .withAuth(auth)
-      .withReadTimeout(readTimeout)
-      .withRetryBackoff(retryBackoff)
-      .withMaxRetries(maxRetries);
+      .withResponseListener(responseListener);
   }
 
   public static HttpProducerBuilder newBuilder(String endpoint) {
-    return new HttpProducerBuilder(new HttpProducer(endpoint));
+    return newBuilder(EndpointBalancer.newBuilder(Collections.singletonList(endpoint)).build());
+  }
+
+  /**
+   * @param endpointBalancer balancer spreading the attempts over equivalent endpoints
+   */
+  public static HttpProducerBuilder newBuilder(EndpointBalancer endpointBalancer) {
+    return new HttpProducerBuilder(new HttpProducer(endpointBalancer));
   }
 
   /**
@@ -150,11 +248,91 @@ public class HttpProducer implements Serializable {
       return this;
     }
 
+    /**
+     * @param maxRetryBackoff cap of the exponential backoff between attempts, Retry-After delays included
+     */
+    public HttpProducerBuilder withMaxRetryBackoff(int maxRetryBackoff) {
+      instance.maxRetryBackoff = maxRetryBackoff;
+      return this;
+    }
+
+    /**
+     * @param retryBudget budget retries are taken from, shared with other producers; null retries without a budget
+     */
+    public HttpProducerBuilder withRetryBudget(RetryBudget retryBudget) {
+      instance.retryBudget = retryBudget;
+      return this;
+    }
+
+    /**
+     * @param circuitBreaker breaker every attempt has to be let through by, null sends every attempt
+     */
+    public HttpProducerBuilder withCircuitBreaker(CircuitBreaker circuitBreaker) {
+      instance.circuitBreaker = circuitBreaker;
+      return this;
+    }
+
     public HttpProducerBuilder withAuth(AuthProvider auth) {
       instance.auth = auth;
       return this;
     }
 
+    public HttpProducerBuilder withResponseListener(HttpResponseListener responseListener) {
+      instance.responseListener = responseListener;
+      return this;
+    }
+
+    public HttpProducerBuilder withGzipCompression(boolean enableGzip) {
+      instance.enableGzip = enableGzip;
+      return this;
+    }
+
+    /**
+     * @param gzipLevel deflate level from 0 (no compression) to 9 (best compression), -1 for the zlib default
+     */
+    public HttpProducerBuilder withGzipLevel(int gzipLevel) {
+      if (gzipLevel != Deflater.DEFAULT_COMPRESSION &&
+          (gzipLevel < Deflater.NO_COMPRESSION || gzipLevel > Deflater.BEST_COMPRESSION)) {
+        throw new IllegalArgumentException("Invalid gzip compression level: " + gzipLevel);
+      }
+
+      instance.gzipLevel = gzipLevel;
+      return this;
+    }
+
+    /**
+     * @param gzipMinBytes size below which request bodies are sent uncompressed
+     */
+    public HttpProducerBuilder withGzipMinBytes(int gzipMinBytes) {
+      instance.gzipMinBytes = gzipMinBytes;
+      return this;
+    }
+
+    public HttpProducerBuilder withTransportType(HttpTransportType transportType) {
+      instance.transportType = transportType;
+      return this;
+    }
+
+    public HttpProducerBuilder withMaxConnections(int maxConnections) {
+      instance.maxConnections = maxConnections;
+      return this;
+    }
+
+    public HttpProducerBuilder withMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+      instance.maxConnectionsPerRoute = maxConnectionsPerRoute;
+      return this;
+    }
+
+    public HttpProducerBuilder withKeepAliveMillis(long keepAliveMillis) {
+      instance.keepAliveMillis = keepAliveMillis;
+      return this;
+    }
+
+    public HttpProducerBuilder withIdleTimeoutMillis(long idleTimeoutMillis) {
+      instance.idleTimeoutMillis = idleTimeoutMillis;
+      return this;
+    }
+
     public HttpProducerBuilder withHeaders(Map<String, String> headers) {
       instance.endpointHeaders = headers;
       return this;
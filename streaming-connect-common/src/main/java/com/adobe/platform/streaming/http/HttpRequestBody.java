@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The body of a request, written by the transport into the output stream of its connection. Bodies are written again
+ * when a request is retried, so implementations have to be able to produce their content more than once.
+ *
+ * @author Adobe Inc.
+ */
+public interface HttpRequestBody {
+
+  /**
+   * @return the length of the body in bytes, or -1 when it is only known once written and the body is streamed
+   */
+  long getContentLength();
+
+  void writeTo(OutputStream out) throws IOException;
+
+  static HttpRequestBody of(byte[] bytes) {
+    return new ByteArrayRequestBody(bytes);
+  }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.http;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Connection settings shared by all {@link HttpTransport} implementations. The pool settings only apply to
+ * transports keeping connections alive between requests.
+ *
+ * @author Adobe Inc.
+ */
+public class HttpTransportConfiguration {
+
+  private String proxyHost;
+  private int proxyPort;
+  private String proxyUsername;
+  private String proxyPassword;
+  private int connectTimeout = 5000;
+  private int readTimeout = 60000;
+  private int maxConnections = 20;
+  private int maxConnectionsPerRoute = 10;
+  private long keepAliveMillis = 60000;
+  private long idleTimeoutMillis = 30000;
+
+  public String getProxyHost() {
+    return proxyHost;
+  }
+
+  public int getProxyPort() {
+    return proxyPort;
+  }
+
+  public String getProxyUsername() {
+    return proxyUsername;
+  }
+
+  public String getProxyPassword() {
+    return proxyPassword;
+  }
+
+  public int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public int getReadTimeout() {
+    return readTimeout;
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public int getMaxConnectionsPerRoute() {
+    return maxConnectionsPerRoute;
+  }
+
+  public long getKeepAliveMillis() {
+    return keepAliveMillis;
+  }
+
+  public long getIdleTimeoutMillis() {
+    return idleTimeoutMillis;
+  }
+
+  public boolean isProxyConfigured() {
+    return StringUtils.isNotEmpty(proxyHost);
+  }
+
+  public boolean isProxyAuthenticationConfigured() {
+    return StringUtils.isNotEmpty(proxyUsername) &&
+           StringUtils.isNotEmpty(proxyPassword);
+  }
+
+  public static HttpTransportConfigurationBuilder builder() {
+    return new HttpTransportConfigurationBuilder();
+  }
+
+  /**
+   * @author Adobe Inc.
+   */
+  public static class HttpTransportConfigurationBuilder {
+    private final HttpTransportConfiguration instance = new HttpTransportConfiguration();
+
+    HttpTransportConfigurationBuilder() {
+    }
+
+    public HttpTransportConfigurationBuilder proxyHost(String proxyHost) {
+      instance.proxyHost = proxyHost;
+      return this;
+    }
+
+    public HttpTransportConfigurationBuilder proxyPort(int proxyPort) {
+      instance.proxyPort = proxyPort;
+      return this;
+    }
+
+    public HttpTransportConfigurationBuilder proxyUsername(String proxyUsername) {
+      instance.proxyUsername = proxyUsername;
+      return this;
+    }
+
+    public HttpTransportConfigurationBuilder proxyPassword(String proxyPassword) {
+      instance.proxyPassword = proxyPassword;
+      return this;
+    }
+
+    public HttpTransportConfigurationBuilder connectTimeout(int connectTimeout) {
+      instance.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    public HttpTransportConfigurationBuilder readTimeout(int readTimeout) {
+      instance.readTimeout = readTimeout;
+      return this;
+    }
+
+    public HttpTransportConfigurationBuilder maxConnections(int maxConnections) {
+      instance.maxConnections = maxConnections;
+      return this;
+    }
+
+    public HttpTransportConfigurationBuilder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+      instance.maxConnectionsPerRoute = maxConnectionsPerRoute;
+      return this;
+    }
+
+    public HttpTransportConfigurationBuilder keepAliveMillis(long keepAliveMillis) {
+      instance.keepAliveMillis = keepAliveMillis;
+      return this;
+    }
+
+    public HttpTransportConfigurationBuilder idleTimeoutMillis(long idleTimeoutMillis) {
+      instance.idleTimeoutMillis = idleTimeoutMillis;
+      return this;
+    }
+
+    public HttpTransportConfiguration build() {
+      return instance;
+    }
+  }
+
+}
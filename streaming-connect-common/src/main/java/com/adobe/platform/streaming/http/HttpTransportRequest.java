@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.http;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * @author Adobe Inc.
+ */
+public class HttpTransportRequest {
+
+  private final String method;
+  private final URL url;
+  private final Map<String, String> headers;
+  private final HttpRequestBody body;
+
+  public HttpTransportRequest(String method, URL url, Map<String, String> headers, HttpRequestBody body) {
+    this.method = method;
+    this.url = url;
+    this.headers = Collections.unmodifiableMap(headers);
+    this.body = body;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public URL getUrl() {
+    return url;
+  }
+
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * @return the request body, or null for requests without one
+   */
+  public HttpRequestBody getBody() {
+    return body;
+  }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The status, headers and body of a response. Closing the response releases its connection, draining whatever is
+ * left of the body so that the connection can be kept alive and reused.
+ *
+ * @author Adobe Inc.
+ */
+public interface HttpTransportResponse extends Closeable {
+
+  int getStatusCode();
+
+  String getHeader(String name);
+
+  /**
+   * @return the response body, the error body for non 2xx responses, or null when the response has none
+   */
+  InputStream getBody() throws IOException;
+
+  @Override
+  void close();
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.http;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * @author Adobe Inc.
+ */
+public enum HttpTransportType {
+
+  URL_CONNECTION("url-connection"),
+  POOLED("pooled"),
+  HTTP2("http2");
+
+  private static final String HTTP2_TRANSPORT_CLASS = "com.adobe.platform.streaming.http.Http2Transport";
+
+  private static final Map<String, HttpTransportType> TRANSPORT_TYPES =
+    ImmutableMap.<String, HttpTransportType>builder()
+      .put(URL_CONNECTION.name, URL_CONNECTION)
+      .put(POOLED.name, POOLED)
+      .put(HTTP2.name, HTTP2)
+      .build();
+
+  private final String name;
+
+  HttpTransportType(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public HttpTransport newTransport(HttpTransportConfiguration configuration) {
+    switch (this) {
+      case POOLED:
+        return new PooledHttpTransport(configuration);
+
+      case HTTP2:
+        return newHttp2Transport(configuration);
+
+      case URL_CONNECTION:
+      default:
+        return new UrlConnectionTransport(configuration);
+    }
+  }
+
+  /**
+   * @return whether the HTTP/2 transport is part of the build, it is only compiled with Java 11 or later
+   */
+  public static boolean isHttp2Available() {
+    try {
+      Class.forName(HTTP2_TRANSPORT_CLASS);
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  private static HttpTransport newHttp2Transport(HttpTransportConfiguration configuration) {
+    try {
+      return (HttpTransport) Class.forName(HTTP2_TRANSPORT_CLASS)
+        .getConstructor(HttpTransportConfiguration.class)
+        .newInstance(configuration);
+    } catch (ClassNotFoundException | LinkageError e) {
+      throw new IllegalStateException("The " + HTTP2.name + " transport requires the connector to be built " +
+        "and run with Java 11 or later", e);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Unable to create the " + HTTP2.name + " transport", e);
+    }
+  }
+
+  public static HttpTransportType getTransportType(String name) {
+    HttpTransportType transportType = TRANSPORT_TYPES.get(name);
+    if (transportType == null) {
+      throw new IllegalArgumentException("No http transport type found: " + name);
+    }
+
+    return transportType;
+  }
+
+}
@@ -35,6 +35,10 @@ public class HttpUtil {
     return responseCode == 500;
   }
 
+  public static boolean isTooManyRequests(int responseCode) {
+    return responseCode == 429;
+  }
+
   public static boolean isUnauthorized(int responseCode) {
     return responseCode == 401 || responseCode == 403;
   }
@@ -53,14 +57,6 @@ public class HttpUtil {
     return sb.toString();
   }
 
-  static void sleepUninterrupted(int sleepTime) {
-    try {
-      Thread.sleep(sleepTime);
-    } catch (InterruptedException e) {
-      e.printStackTrace();
-    }
-  }
-
   private HttpUtil() {}
 
 }
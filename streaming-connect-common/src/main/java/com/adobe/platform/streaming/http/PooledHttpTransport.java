@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.http;
+
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport keeping connections alive in a bounded Apache HttpClient pool. Connections are kept for the keep-alive
+ * time the server announces, or the configured keep-alive time when it announces none, and are evicted once idle
+ * for longer than the idle timeout.
+ *
+ * @author Adobe Inc.
+ */
+public class PooledHttpTransport implements HttpTransport, PooledHttpTransportMBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PooledHttpTransport.class);
+  private static final String TIMEOUT = "timeout";
+  private static final int VALIDATE_AFTER_INACTIVITY_MS = 2000;
+
+  private final PoolingHttpClientConnectionManager connectionManager;
+  private final CloseableHttpClient client;
+
+  public PooledHttpTransport(HttpTransportConfiguration configuration) {
+    connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(configuration.getMaxConnections());
+    connectionManager.setDefaultMaxPerRoute(configuration.getMaxConnectionsPerRoute());
+    connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MS);
+
+    final RequestConfig.Builder requestConfig = RequestConfig.custom()
+      .setConnectTimeout(configuration.getConnectTimeout())
+      .setConnectionRequestTimeout(configuration.getConnectTimeout())
+      .setSocketTimeout(configuration.getReadTimeout())
+      .setRedirectsEnabled(false);
+
+    final HttpClientBuilder builder = HttpClients.custom()
+      .setConnectionManager(connectionManager)
+      .setKeepAliveStrategy((response, context) -> getKeepAliveMillis(response,
+        configuration.getKeepAliveMillis()))
+      .evictExpiredConnections()
+      .evictIdleConnections(configuration.getIdleTimeoutMillis(), TimeUnit.MILLISECONDS)
+      .disableAutomaticRetries()
+      .disableContentCompression()
+      .disableCookieManagement();
+
+    if (configuration.isProxyConfigured()) {
+      final HttpHost proxy = new HttpHost(configuration.getProxyHost(), configuration.getProxyPort());
+      requestConfig.setProxy(proxy);
+      if (configuration.isProxyAuthenticationConfigured()) {
+        final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(new AuthScope(proxy),
+          new UsernamePasswordCredentials(configuration.getProxyUsername(), configuration.getProxyPassword()));
+        builder.setDefaultCredentialsProvider(credentialsProvider);
+      }
+    }
+
+    client = builder.setDefaultRequestConfig(requestConfig.build()).build();
+  }
+
+  @Override
+  public HttpTransportResponse execute(HttpTransportRequest request) throws IOException {
+    final RequestBuilder requestBuilder;
+    try {
+      requestBuilder = RequestBuilder.create(request.getMethod()).setUri(request.getUrl().toURI());
+    } catch (URISyntaxException e) {
+      throw new IOException("invalid request url: " + request.getUrl(), e);
+    }
+
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      requestBuilder.addHeader(header.getKey(), header.getValue());
+    }
+    if (request.getBody() != null) {
+      requestBuilder.setEntity(new RequestBodyEntity(request.getBody()));
+    }
+
+    return new PooledResponse(client.execute(requestBuilder.build()));
+  }
+
+  @Override
+  public void close() {
+    try {
+      client.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close the connection pool", e);
+    }
+  }
+
+  @Override
+  public int getLeasedConnections() {
+    return getTotalStats().getLeased();
+  }
+
+  @Override
+  public int getAvailableConnections() {
+    return getTotalStats().getAvailable();
+  }
+
+  @Override
+  public int getPendingRequests() {
+    return getTotalStats().getPending();
+  }
+
+  @Override
+  public int getMaxConnections() {
+    return getTotalStats().getMax();
+  }
+
+  @Override
+  public int getMaxConnectionsPerRoute() {
+    return connectionManager.getDefaultMaxPerRoute();
+  }
+
+  @Override
+  public int getRoutes() {
+    return connectionManager.getRoutes().size();
+  }
+
+  private PoolStats getTotalStats() {
+    return connectionManager.getTotalStats();
+  }
+
+  private static long getKeepAliveMillis(HttpResponse response, long defaultKeepAliveMillis) {
+    final BasicHeaderElementIterator iterator =
+      new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+    while (iterator.hasNext()) {
+      final HeaderElement element = iterator.nextElement();
+      if (TIMEOUT.equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+        try {
+          return Math.min(TimeUnit.SECONDS.toMillis(Long.parseLong(element.getValue())), defaultKeepAliveMillis);
+        } catch (NumberFormatException e) {
+          LOG.debug("Ignoring invalid keep-alive timeout {}", element.getValue());
+        }
+      }
+    }
+
+    return defaultKeepAliveMillis;
+  }
+
+  /**
+   * Writes the body into the connection on demand. Bodies of unknown length are sent with chunked encoding.
+   */
+  private static class RequestBodyEntity extends AbstractHttpEntity {
+
+    private final HttpRequestBody body;
+
+    RequestBodyEntity(HttpRequestBody body) {
+      this.body = body;
+      setChunked(body.getContentLength() < 0);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return true;
+    }
+
+    @Override
+    public long getContentLength() {
+      return body.getContentLength();
+    }
+
+    @Override
+    public InputStream getContent() {
+      throw new UnsupportedOperationException("request bodies are only written to the connection");
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+      body.writeTo(out);
+    }
+
+    @Override
+    public boolean isStreaming() {
+      return false;
+    }
+  }
+
+  private static class PooledResponse implements HttpTransportResponse {
+
+    private final CloseableHttpResponse response;
+
+    PooledResponse(CloseableHttpResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return response.getStatusLine().getStatusCode();
+    }
+
+    @Override
+    public String getHeader(String name) {
+      final Header header = response.getFirstHeader(name);
+      return header == null ? null : header.getValue();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      return response.getEntity() == null ? null : response.getEntity().getContent();
+    }
+
+    @Override
+    public void close() {
+      try {
+        // consuming the entity hands the connection back to the pool instead of closing it
+        EntityUtils.consume(response.getEntity());
+        response.close();
+      } catch (IOException ioe) {
+        LOG.error("close(): failed to release connection: {}", ioe.getMessage());
+      }
+    }
+  }
+
+}
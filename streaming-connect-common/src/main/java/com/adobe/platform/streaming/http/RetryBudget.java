@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounds the extra load retries put on AEP. Every request earns a fraction of a retry, and a small allowance per
+ * second keeps retries possible when there is little traffic. Once the budget is spent, failed attempts are not
+ * retried, so an incident does not turn into a retry storm from every task of the connector.
+ *
+ * @author Adobe Inc.
+ */
+public class RetryBudget {
+
+  private static final Map<String, RetryBudget> BUDGETS = new ConcurrentHashMap<>();
+  private static final int MAX_BALANCE_SECONDS = 10;
+
+  private final double retryRatio;
+  private final int minRetriesPerSecond;
+  private final double minRetriesPerMilli;
+  private final double maxBalance;
+  private double balance;
+  private long lastRefillMillis;
+
+  RetryBudget(double retryRatio, int minRetriesPerSecond, long nowMillis) {
+    this.retryRatio = retryRatio;
+    this.minRetriesPerSecond = minRetriesPerSecond;
+    this.minRetriesPerMilli = minRetriesPerSecond / 1000.0;
+    this.maxBalance = Math.max(1, minRetriesPerSecond) * MAX_BALANCE_SECONDS;
+    this.balance = maxBalance;
+    this.lastRefillMillis = nowMillis;
+  }
+
+  /**
+   * @return the budget shared by all tasks of the named connector running in this JVM, a new one once the connector
+   *   is reconfigured with other settings
+   */
+  public static RetryBudget forConnector(String connectorName, double retryRatio, int minRetriesPerSecond) {
+    return BUDGETS.compute(String.valueOf(connectorName),
+      (name, budget) -> budget != null && budget.hasSettings(retryRatio, minRetriesPerSecond) ? budget :
+        new RetryBudget(retryRatio, minRetriesPerSecond, System.currentTimeMillis()));
+  }
+
+  public void onRequest() {
+    onRequest(System.currentTimeMillis());
+  }
+
+  synchronized void onRequest(long nowMillis) {
+    refill(nowMillis);
+    balance = Math.min(maxBalance, balance + retryRatio);
+  }
+
+  public boolean tryAcquireRetry() {
+    return tryAcquireRetry(System.currentTimeMillis());
+  }
+
+  synchronized boolean tryAcquireRetry(long nowMillis) {
+    refill(nowMillis);
+    if (balance < 1) {
+      return false;
+    }
+
+    balance--;
+    return true;
+  }
+
+  private boolean hasSettings(double retryRatio, int minRetriesPerSecond) {
+    return Double.compare(this.retryRatio, retryRatio) == 0 && this.minRetriesPerSecond == minRetriesPerSecond;
+  }
+
+  private void refill(long nowMillis) {
+    if (nowMillis > lastRefillMillis) {
+      balance = Math.min(maxBalance, balance + (nowMillis - lastRefillMillis) * minRetriesPerMilli);
+      lastRefillMillis = nowMillis;
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides how long to wait before the next attempt of a request: exponential backoff with full jitter, capped, and
+ * never shorter than a Retry-After delay the server asked for, as long as that fits under the cap.
+ *
+ * @author Adobe Inc.
+ */
+public class RetryPolicy {
+
+  private static final int MAX_EXPONENT = 30;
+
+  private final int maxAttempts;
+  private final long baseBackoffMillis;
+  private final long maxBackoffMillis;
+
+  public RetryPolicy(int maxAttempts, long baseBackoffMillis, long maxBackoffMillis) {
+    this.maxAttempts = maxAttempts;
+    this.baseBackoffMillis = baseBackoffMillis;
+    this.maxBackoffMillis = Math.max(baseBackoffMillis, maxBackoffMillis);
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * @param attempt number of attempts made so far, starting at 1
+   * @param retryAfter value of the Retry-After header of the failed attempt, or null
+   */
+  public long getBackoffMillis(int attempt, String retryAfter) {
+    final long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(MAX_EXPONENT, attempt - 1));
+    final long backoff = ThreadLocalRandom.current().nextLong(ceiling + 1);
+    return Math.max(backoff, Math.min(maxBackoffMillis, parseRetryAfter(retryAfter, System.currentTimeMillis())));
+  }
+
+  /**
+   * @return the delay in millis a Retry-After header value, in seconds or as an HTTP date, asks for, 0 when absent
+   *   or unreadable
+   */
+  static long parseRetryAfter(String retryAfter, long nowMillis) {
+    if (StringUtils.isBlank(retryAfter)) {
+      return 0;
+    }
+
+    final String value = retryAfter.trim();
+    if (StringUtils.isNumeric(value)) {
+      return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+    }
+
+    try {
+      final long retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+      return Math.max(0, retryAt - nowMillis);
+    } catch (DateTimeParseException e) {
+      return 0;
+    }
+  }
+
+}
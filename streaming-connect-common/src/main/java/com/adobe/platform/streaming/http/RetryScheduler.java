@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs retries, and other requests held back, once their delay has elapsed. A single timer thread keeps track of
+ * the delays and hands the requests over to a pool, so that a request blocked on I/O does not delay the others.
+ * Shared by all producers of the JVM, the pool is capped so that a burst of retries across many tasks queues up
+ * instead of starting a thread per blocked attempt. Attempts never wait on each other, so queued ones only wait for
+ * a running one to reach its response or its timeout.
+ *
+ * @author Adobe Inc.
+ */
+public final class RetryScheduler {
+
+  private static final ScheduledExecutorService RETRY_TIMER = Executors.newSingleThreadScheduledExecutor(
+    new ThreadFactoryBuilder().setNameFormat("aep-http-retry-timer").setDaemon(true).build());
+  // well above the in-flight batches of the tasks a worker usually runs
+  private static final int MAX_RETRY_THREADS = 64;
+  private static final long RETRY_THREAD_KEEP_ALIVE_SECS = 60;
+  private static final ExecutorService RETRY_EXECUTOR = newRetryExecutor();
+
+  private RetryScheduler() {}
+
+  public static void schedule(Runnable retry, long delayMillis) {
+    RETRY_TIMER.schedule(() -> RETRY_EXECUTOR.execute(retry), delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private static ExecutorService newRetryExecutor() {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_RETRY_THREADS, MAX_RETRY_THREADS,
+      RETRY_THREAD_KEEP_ALIVE_SECS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+      new ThreadFactoryBuilder().setNameFormat("aep-http-retry-%d").setDaemon(true).build());
+    // idle threads are let go, so the pool only grows with the retries actually pending
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the attempts of a single request. A failed attempt that can be retried is scheduled again after its backoff
+ * on the {@link RetryScheduler} instead of sleeping the calling thread, so the caller only waits on the returned
+ * future when it has to.
+ *
+ * @author Adobe Inc.
+ */
+class RetryingRequest<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RetryingRequest.class);
+
+  private final HttpConnection connection;
+  private final ContentHandler<T> handler;
+  private final RetryPolicy retryPolicy;
+  private final RetryBudget retryBudget;
+  private final CircuitBreaker circuitBreaker;
+  private final EndpointBalancer endpointBalancer;
+  private final CompletableFuture<T> result = new CompletableFuture<>();
+  private EndpointBalancer.Endpoint endpoint;
+  private int attempts;
+
+  RetryingRequest(HttpConnection connection, ContentHandler<T> handler, RetryPolicy retryPolicy,
+    RetryBudget retryBudget, CircuitBreaker circuitBreaker, EndpointBalancer endpointBalancer) {
+    this.connection = connection;
+    this.handler = handler;
+    this.retryPolicy = retryPolicy;
+    this.retryBudget = retryBudget;
+    this.circuitBreaker = circuitBreaker;
+    this.endpointBalancer = endpointBalancer;
+  }
+
+  /**
+   * Makes the first attempt on the calling thread.
+   */
+  CompletableFuture<T> start() {
+    if (retryBudget != null) {
+      retryBudget.onRequest();
+    }
+    attempt();
+    return result;
+  }
+
+  private void attempt() {
+    if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+      failFast();
+      return;
+    }
+
+    attempts++;
+    // a retry moves to another endpoint whenever one is healthy
+    endpoint = endpointBalancer.select(endpoint);
+    connection.setEndpoint(endpoint.getUrl());
+    final long attemptStartNanos = System.nanoTime();
+    RetryableHttpException retryable = null;
+    try {
+      connection.connect();
+      result.complete(handler.getContent(connection));
+    } catch (RetryableHttpException e) {
+      retryable = e;
+    } catch (HttpException | RuntimeException e) {
+      result.completeExceptionally(e);
+    } finally {
+      connection.close();
+      recordOutcome(retryable == null, attemptStartNanos);
+    }
+
+    if (retryable != null) {
+      retryOrFail(retryable);
+    }
+  }
+
+  private void retryOrFail(RetryableHttpException failure) {
+    if (attempts >= retryPolicy.getMaxAttempts()) {
+      result.completeExceptionally(failure);
+      return;
+    }
+
+    if (circuitBreaker != null && circuitBreaker.isOpen()) {
+      failFast();
+      return;
+    }
+
+    if (retryBudget != null && !retryBudget.tryAcquireRetry()) {
+      LOG.warn("retry budget exhausted, giving up after attempt {} of {}", attempts, retryPolicy.getMaxAttempts());
+      result.completeExceptionally(failure);
+      return;
+    }
+
+    final long backoffMillis = retryPolicy.getBackoffMillis(attempts, failure.getRetryAfter());
+    LOG.debug("retrying attempt {} of {} in {} ms", attempts + 1, retryPolicy.getMaxAttempts(), backoffMillis);
+    try {
+      RetryScheduler.schedule(this::attemptSafely, backoffMillis);
+    } catch (RejectedExecutionException e) {
+      result.completeExceptionally(failure);
+    }
+  }
+
+  private void failFast() {
+    LOG.debug("circuit breaker is open, not sending attempt {}", attempts + 1);
+    result.completeExceptionally(new CircuitBreakerOpenException("circuit breaker is open, request not sent",
+      circuitBreaker.getRetryDelayMillis()));
+  }
+
+  /**
+   * Feeds the endpoint balancer and the circuit breaker: 429, 5xx and I/O errors count as failures, any other
+   * response shows the endpoint is up.
+   */
+  private void recordOutcome(boolean succeeded, long attemptStartNanos) {
+    final long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - attemptStartNanos);
+    endpointBalancer.onComplete(endpoint, !succeeded, durationMillis);
+    if (circuitBreaker == null) {
+      return;
+    } else if (succeeded) {
+      circuitBreaker.onSuccess(durationMillis);
+    } else {
+      circuitBreaker.onFailure(durationMillis);
+    }
+  }
+
+  private void attemptSafely() {
+    try {
+      attempt();
+    } catch (Throwable t) {
+      result.completeExceptionally(t);
+      throw t;
+    }
+  }
+
+}
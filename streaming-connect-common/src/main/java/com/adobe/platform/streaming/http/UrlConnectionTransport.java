@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Authenticator;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.Proxy;
+import java.util.Map;
+
+/**
+ * Transport on top of {@link HttpURLConnection}, leaving connection reuse to the keep-alive cache of the JDK.
+ *
+ * @author Adobe Inc.
+ */
+public class UrlConnectionTransport implements HttpTransport {
+
+  private static final Logger LOG = LoggerFactory.getLogger(UrlConnectionTransport.class);
+  private static final int DRAIN_BUFFER_SIZE = 4096;
+
+  private final HttpTransportConfiguration configuration;
+
+  public UrlConnectionTransport(HttpTransportConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  @Override
+  public HttpTransportResponse execute(HttpTransportRequest request) throws IOException {
+    final HttpURLConnection conn = openConnection(request);
+    conn.setDoInput(true);
+    conn.setUseCaches(false);
+    conn.setConnectTimeout(configuration.getConnectTimeout());
+    conn.setReadTimeout(configuration.getReadTimeout());
+    conn.setInstanceFollowRedirects(false);
+    conn.setRequestMethod(request.getMethod());
+
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      conn.setRequestProperty(header.getKey(), header.getValue());
+    }
+
+    try {
+      final HttpRequestBody body = request.getBody();
+      if (body != null) {
+        conn.setDoOutput(true);
+        if (body.getContentLength() < 0) {
+          conn.setChunkedStreamingMode(0);
+        } else {
+          conn.setFixedLengthStreamingMode(body.getContentLength());
+        }
+        try (OutputStream postStream = conn.getOutputStream()) {
+          body.writeTo(postStream);
+        }
+      }
+
+      return new UrlConnectionResponse(conn, conn.getResponseCode());
+    } catch (IOException e) {
+      conn.disconnect();
+      throw e;
+    }
+  }
+
+  private HttpURLConnection openConnection(HttpTransportRequest request) throws IOException {
+    if (!configuration.isProxyConfigured()) {
+      return (HttpURLConnection) request.getUrl().openConnection();
+    }
+
+    if (configuration.isProxyAuthenticationConfigured()) {
+      LOG.debug("proxyUser: {}", configuration.getProxyUsername());
+      Authenticator.setDefault(
+        new Authenticator() {
+          @Override
+          protected PasswordAuthentication getPasswordAuthentication() {
+            return new PasswordAuthentication(configuration.getProxyUsername(),
+              configuration.getProxyPassword().toCharArray());
+          }
+        }
+      );
+    }
+
+    LOG.debug("proxyHost: {}, proxyPort: {}", configuration.getProxyHost(), configuration.getProxyPort());
+    final Proxy proxy = new Proxy(Proxy.Type.HTTP,
+      new InetSocketAddress(configuration.getProxyHost(), configuration.getProxyPort()));
+    return (HttpURLConnection) request.getUrl().openConnection(proxy);
+  }
+
+  private static class UrlConnectionResponse implements HttpTransportResponse {
+
+    private final HttpURLConnection conn;
+    private final int statusCode;
+    private InputStream body;
+
+    UrlConnectionResponse(HttpURLConnection conn, int statusCode) {
+      this.conn = conn;
+      this.statusCode = statusCode;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return statusCode;
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return conn.getHeaderField(name);
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      if (body == null) {
+        body = HttpUtil.is2xx(statusCode) ? conn.getInputStream() : conn.getErrorStream();
+      }
+
+      return body;
+    }
+
+    @Override
+    public void close() {
+      LOG.debug("closing connection for: {}", conn.getURL());
+      try {
+        final InputStream in = getBody();
+        if (in != null) {
+          // the JDK only returns a connection to its keep-alive cache once the body has been read to the end
+          final byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+          while (in.read(buffer) != -1) {
+            // drain
+          }
+          in.close();
+        }
+      } catch (IOException ioe) {
+        LOG.error("close(): failed to close input stream: {}", ioe.getMessage());
+      }
+    }
+  }
+
+}
@@ -46,7 +46,7 @@ public class SerializerDeserializerUtil {
 
   public static JsonNode convertStringToJsonNode(Object value) {
     try {
-      return JacksonFactory.OBJECT_MAPPER.readTree(value.toString());
+      return JacksonFactory.JSON_NODE_READER.readTree(value.toString());
     } catch (IOException e) {
       errorLogger.error("Failed to serialize value : {}", value);
       throw new AEPStreamingRuntimeException("Failed to serialize value", value);
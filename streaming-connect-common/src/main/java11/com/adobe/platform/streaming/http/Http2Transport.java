@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Transport on top of the {@link HttpClient} of Java 11, negotiating HTTP/2 so that the concurrent batch posts of
+ * all tasks sharing the transport are multiplexed over a few connections instead of opening one per request. The
+ * client falls back to HTTP/1.1 for endpoints that do not support HTTP/2. Transports with the same connection
+ * settings share one client, so the tasks of a worker posting to the same inlet share its connections too.
+ *
+ * <p>Only compiled when building with Java 11 or later, {@link HttpTransportType#HTTP2} loads it reflectively.
+ *
+ * @author Adobe Inc.
+ */
+public class Http2Transport implements HttpTransport {
+
+  private static final Logger LOG = LoggerFactory.getLogger(Http2Transport.class);
+  private static final int DRAIN_BUFFER_SIZE = 4096;
+
+  // headers the client computes itself and refuses to have set on a request
+  private static final Set<String> RESTRICTED_HEADERS =
+    ImmutableSet.of("connection", "content-length", "expect", "host", "upgrade");
+
+  private static final Map<List<Object>, HttpClient> SHARED_CLIENTS = new ConcurrentHashMap<>();
+
+  private final HttpTransportConfiguration configuration;
+  private final HttpClient client;
+
+  public Http2Transport(HttpTransportConfiguration configuration) {
+    this.configuration = configuration;
+    this.client = SHARED_CLIENTS.computeIfAbsent(Arrays.asList(configuration.getConnectTimeout(),
+      configuration.getProxyHost(), configuration.getProxyPort(), configuration.getProxyUsername(),
+      configuration.getProxyPassword()), key -> newClient(configuration));
+  }
+
+  private static HttpClient newClient(HttpTransportConfiguration configuration) {
+    final HttpClient.Builder builder = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_2)
+      .followRedirects(HttpClient.Redirect.NEVER)
+      .connectTimeout(Duration.ofMillis(configuration.getConnectTimeout()));
+
+    if (configuration.isProxyConfigured()) {
+      LOG.debug("proxyHost: {}, proxyPort: {}", configuration.getProxyHost(), configuration.getProxyPort());
+      builder.proxy(ProxySelector.of(
+        new InetSocketAddress(configuration.getProxyHost(), configuration.getProxyPort())));
+
+      if (configuration.isProxyAuthenticationConfigured()) {
+        LOG.debug("proxyUser: {}", configuration.getProxyUsername());
+        builder.authenticator(new Authenticator() {
+          @Override
+          protected PasswordAuthentication getPasswordAuthentication() {
+            return getRequestorType() == RequestorType.PROXY ?
+              new PasswordAuthentication(configuration.getProxyUsername(),
+                configuration.getProxyPassword().toCharArray()) :
+              null;
+          }
+        });
+      }
+    }
+
+    return builder.build();
+  }
+
+  @Override
+  public HttpTransportResponse execute(HttpTransportRequest request) throws IOException {
+    final HttpRequestBody body = request.getBody();
+    final StreamingBodyPublisher streamingBody = body == null || body instanceof ByteArrayRequestBody ? null :
+      new StreamingBodyPublisher();
+
+    final CompletableFuture<HttpResponse<InputStream>> future = client.sendAsync(newRequest(request, streamingBody),
+      HttpResponse.BodyHandlers.ofInputStream());
+    try {
+      if (streamingBody != null) {
+        // the calling thread writes the body while the client sends it, one chunk at a time
+        streamingBody.write(body, future);
+      }
+
+      return new Http2Response(future.get());
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for the response of " + request.getUrl());
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+
+      throw new IOException("request to " + request.getUrl() + " failed", e.getCause());
+    } catch (IOException e) {
+      future.cancel(true);
+      throw e;
+    }
+  }
+
+  private HttpRequest newRequest(HttpTransportRequest request, StreamingBodyPublisher streamingBody)
+      throws IOException {
+    final HttpRequest.Builder builder;
+    try {
+      builder = HttpRequest.newBuilder(request.getUrl().toURI());
+    } catch (URISyntaxException e) {
+      throw new IOException("invalid request url: " + request.getUrl(), e);
+    }
+
+    // the read timeout of the other transports becomes the time allowed for the response headers to arrive
+    builder.timeout(Duration.ofMillis(configuration.getReadTimeout()));
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+        LOG.debug("skipping header {} computed by the http client", header.getKey());
+      } else {
+        builder.header(header.getKey(), header.getValue());
+      }
+    }
+
+    final HttpRequest.BodyPublisher bodyPublisher;
+    if (request.getBody() == null) {
+      bodyPublisher = HttpRequest.BodyPublishers.noBody();
+    } else if (streamingBody == null) {
+      bodyPublisher = HttpRequest.BodyPublishers.ofByteArray(((ByteArrayRequestBody) request.getBody()).getBytes());
+    } else if (request.getBody().getContentLength() < 0) {
+      bodyPublisher = HttpRequest.BodyPublishers.fromPublisher(streamingBody);
+    } else {
+      bodyPublisher = HttpRequest.BodyPublishers.fromPublisher(streamingBody, request.getBody().getContentLength());
+    }
+
+    return builder.method(request.getMethod(), bodyPublisher).build();
+  }
+
+  private static class Http2Response implements HttpTransportResponse {
+
+    private final HttpResponse<InputStream> response;
+
+    Http2Response(HttpResponse<InputStream> response) {
+      this.response = response;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return response.statusCode();
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return response.headers().firstValue(name).orElse(null);
+    }
+
+    @Override
+    public InputStream getBody() {
+      return response.body();
+    }
+
+    @Override
+    public void close() {
+      LOG.debug("closing stream for: {}", response.uri());
+      try (InputStream in = response.body()) {
+        // reading the body to the end keeps the HTTP/1.1 fallback connection reusable and completes the stream
+        final byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+        while (in.read(buffer) != -1) {
+          // drain
+        }
+      } catch (IOException ioe) {
+        LOG.error("close(): failed to close input stream: {}", ioe.getMessage());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+
+/**
+ * Bridges a {@link HttpRequestBody}, which writes itself, to the {@link java.net.http.HttpClient}, which pulls request
+ * bodies through a {@link Flow.Publisher}. The thread sending the request writes the body, and every chunk waits for
+ * demand from the client, so only the chunks the client asked for are held in memory instead of the whole body.
+ *
+ * <p>A publisher serves a single subscription: the body is written once per request, retries send a new request.
+ *
+ * @author Adobe Inc.
+ */
+class StreamingBodyPublisher implements Flow.Publisher<ByteBuffer> {
+
+  private static final int CHUNK_SIZE = 16 * 1024;
+  private static final long DEMAND_CHECK_MILLIS = 100;
+
+  private final Object lock = new Object();
+  private volatile Flow.Subscriber<? super ByteBuffer> subscriber;
+  private long demand;
+  private boolean cancelled;
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ByteBuffer> newSubscriber) {
+    synchronized (lock) {
+      if (subscriber != null) {
+        newSubscriber.onSubscribe(new BodySubscription());
+        newSubscriber.onError(new IOException("a streamed request body cannot be sent twice"));
+        return;
+      }
+    }
+
+    newSubscriber.onSubscribe(new BodySubscription());
+    synchronized (lock) {
+      subscriber = newSubscriber;
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Writes the body into the subscription of the client, giving up as soon as the request completes or is cancelled.
+   */
+  void write(HttpRequestBody body, Future<?> request) throws IOException {
+    final ChunkOutputStream out = new ChunkOutputStream(request);
+    final Flow.Subscriber<? super ByteBuffer> target;
+    try {
+      body.writeTo(out);
+      out.flushChunk();
+      target = awaitSubscriber(request, false);
+    } catch (IOException e) {
+      final Flow.Subscriber<? super ByteBuffer> current = subscriber;
+      if (current != null) {
+        current.onError(e);
+      }
+      throw e;
+    }
+
+    target.onComplete();
+  }
+
+  private Flow.Subscriber<? super ByteBuffer> awaitSubscriber(Future<?> request, boolean needsDemand)
+      throws IOException {
+    synchronized (lock) {
+      while (subscriber == null || needsDemand && demand == 0) {
+        if (cancelled || request.isDone()) {
+          throw new IOException("request completed before its body was written");
+        }
+
+        try {
+          lock.wait(DEMAND_CHECK_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("interrupted while writing the request body", e);
+        }
+      }
+
+      if (needsDemand) {
+        demand--;
+      }
+      return subscriber;
+    }
+  }
+
+  private class BodySubscription implements Flow.Subscription {
+
+    @Override
+    public void request(long n) {
+      synchronized (lock) {
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        lock.notifyAll();
+      }
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (lock) {
+        cancelled = true;
+        lock.notifyAll();
+      }
+    }
+  }
+
+  private class ChunkOutputStream extends OutputStream {
+
+    private final Future<?> request;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private int count;
+
+    ChunkOutputStream(Future<?> request) {
+      this.request = request;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (count == chunk.length) {
+        flushChunk();
+      }
+      chunk[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      int written = 0;
+      while (written < len) {
+        if (count == chunk.length) {
+          flushChunk();
+        }
+        final int length = Math.min(len - written, chunk.length - count);
+        System.arraycopy(b, off + written, chunk, count, length);
+        count += length;
+        written += length;
+      }
+    }
+
+    void flushChunk() throws IOException {
+      if (count > 0) {
+        // the client may still hold on to a chunk after onNext returns, so every chunk gets its own buffer
+        awaitSubscriber(request, true).onNext(ByteBuffer.wrap(Arrays.copyOf(chunk, count)));
+        count = 0;
+      }
+    }
+  }
+
+}
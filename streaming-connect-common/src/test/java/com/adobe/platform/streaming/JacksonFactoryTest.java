@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming;
+
+import com.adobe.platform.streaming.auth.TokenResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+class JacksonFactoryTest {
+
+  private static final String EVENT = "{\"header\":{\"source\":{\"name\":\"aep-sink-connector\"}}," +
+    "\"body\":{\"xdmEntity\":{\"firstname\":\"abc\",\"lastname\":\"def\"}}}";
+
+  @Test
+  void testReadersAndWritersRoundTrip() throws IOException {
+    final JsonNode event = JacksonFactory.JSON_NODE_READER.readTree(EVENT);
+    assertEquals("abc", event.at("/body/xdmEntity/firstname").asText());
+    assertEquals(EVENT, JacksonFactory.JSON_NODE_WRITER.writeValueAsString(event));
+
+    final TokenResponse tokenResponse = JacksonFactory.readerFor(TokenResponse.class)
+      .readValue("{\"access_token\":\"token\",\"expires_in\":1000}");
+    assertEquals("token", tokenResponse.getAccessToken());
+    assertSame(JacksonFactory.readerFor(TokenResponse.class), JacksonFactory.readerFor(TokenResponse.class));
+  }
+
+  @Test
+  void testOversizedEventsAreRejected() throws IOException {
+    final Properties properties = new Properties();
+    properties.setProperty(JacksonFactory.MAX_DOCUMENT_LENGTH, "10000");
+    properties.setProperty(JacksonFactory.MAX_NESTING_DEPTH, "3");
+    final ObjectMapper objectMapper = JacksonFactory.newObjectMapper(properties);
+
+    final StringBuilder largeEvent = new StringBuilder("[");
+    while (largeEvent.length() < 20000) {
+      largeEvent.append(EVENT).append(',');
+    }
+    largeEvent.append("{}]");
+    assertThrows(StreamConstraintsException.class, () -> objectMapper.readTree(
+      new ByteArrayInputStream(largeEvent.toString().getBytes(StandardCharsets.UTF_8))));
+    assertThrows(StreamConstraintsException.class, () -> objectMapper.getFactory().streamReadConstraints()
+      .validateDocumentLength(largeEvent.length()));
+    assertThrows(StreamConstraintsException.class, () -> objectMapper.readTree("{\"a\":{\"b\":{\"c\":{}}}}"));
+    assertEquals(2, objectMapper.readTree("{\"a\":{\"b\":{}},\"c\":1}").size());
+  }
+
+  @Test
+  void testRecyclerPoolsAndModulesAreSelectedByName() throws JsonProcessingException {
+    for (JacksonFactory.RecyclerPoolType recyclerPoolType : JacksonFactory.RecyclerPoolType.values()) {
+      for (JacksonFactory.BytecodeModule module : JacksonFactory.BytecodeModule.values()) {
+        final Properties properties = new Properties();
+        properties.setProperty(JacksonFactory.RECYCLER_POOL, recyclerPoolType.getName());
+        properties.setProperty(JacksonFactory.MODULE, module.getName());
+        // a module missing from the classpath leaves data binding as it is
+        final ObjectMapper objectMapper = JacksonFactory.newObjectMapper(properties);
+        assertEquals(EVENT, objectMapper.writeValueAsString(objectMapper.readTree(EVENT)));
+      }
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> JacksonFactory.RecyclerPoolType.getRecyclerPoolType("pooled"));
+    assertThrows(IllegalArgumentException.class, () -> JacksonFactory.BytecodeModule.getBytecodeModule("jit"));
+  }
+
+  @Test
+  void testModulesAreSkippedOnOlderJavaRuntimes() {
+    assertEquals(8, JacksonFactory.getJavaVersion("1.8"));
+    assertEquals(11, JacksonFactory.getJavaVersion("11"));
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+    assertEquals(JacksonFactory.BytecodeModule.NONE,
+      JacksonFactory.BytecodeModule.BLACKBIRD.register(objectMapper, 8));
+    assertTrue(objectMapper.getRegisteredModuleIds().isEmpty());
+  }
+
+}
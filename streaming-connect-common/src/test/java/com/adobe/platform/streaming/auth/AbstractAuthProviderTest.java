@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.auth;
+
+import com.adobe.platform.streaming.http.HttpException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+class AbstractAuthProviderTest {
+
+  // renewed a second after it is issued, and valid for five
+  private static final long EXPIRES_IN = 35000;
+
+  private final TestAuthProvider provider = new TestAuthProvider();
+
+  @AfterEach
+  void tearDown() {
+    provider.close();
+  }
+
+  @Test
+  void testTokenIsRenewedWithoutBlockingCallers() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    provider.responses.add(() -> newTokenResponse("token-1"));
+    provider.responses.add(() -> {
+      release.await(5, TimeUnit.SECONDS);
+      return newTokenResponse("token-2");
+    });
+
+    assertEquals("token-1", provider.getToken());
+    awaitCalls(2);
+
+    // the renewal is held up on the token endpoint, callers keep the cached token
+    final long start = System.currentTimeMillis();
+    assertEquals("token-1", provider.getToken());
+    assertTrue(System.currentTimeMillis() - start < 500);
+
+    release.countDown();
+    awaitToken("token-2");
+  }
+
+  @Test
+  void testFailedRenewalIsRetried() throws Exception {
+    provider.responses.add(() -> newTokenResponse("token-1"));
+    provider.responses.add(() -> {
+      throw new AuthException("Token endpoint unavailable");
+    });
+    provider.responses.add(() -> newTokenResponse("token-2"));
+
+    assertEquals("token-1", provider.getToken());
+    awaitCalls(2);
+    assertEquals("token-1", provider.getToken());
+    awaitToken("token-2");
+  }
+
+  @Test
+  void testMissingTokenFailsCaller() {
+    provider.responses.add(() -> {
+      throw new AuthException("Token endpoint unavailable");
+    });
+
+    assertThrows(AuthException.class, provider::getToken);
+  }
+
+  @Test
+  void testClosedProviderStopsRenewing() throws Exception {
+    provider.responses.add(() -> newTokenResponse("token-1"));
+    provider.responses.add(() -> newTokenResponse("token-2"));
+
+    assertEquals("token-1", provider.getToken());
+    provider.close();
+    Thread.sleep(1500);
+
+    assertEquals(1, provider.calls.get());
+    assertEquals("token-1", provider.getToken());
+  }
+
+  private void awaitCalls(int calls) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (provider.calls.get() < calls && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(calls, provider.calls.get());
+  }
+
+  private void awaitToken(String token) throws AuthException, HttpException, InterruptedException {
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (!token.equals(provider.getToken()) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(token, provider.getToken());
+  }
+
+  private static TokenResponse newTokenResponse(String accessToken) {
+    return new TokenResponse("bearer", EXPIRES_IN, null, accessToken);
+  }
+
+  @FunctionalInterface
+  private interface TokenCall {
+
+    TokenResponse call() throws Exception;
+
+  }
+
+  private static class TestAuthProvider extends AbstractAuthProvider {
+
+    private final BlockingQueue<TokenCall> responses = new LinkedBlockingQueue<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    protected TokenResponse getTokenResponse() throws AuthException {
+      calls.incrementAndGet();
+      final TokenCall response = responses.poll();
+      if (response == null) {
+        throw new AuthException("No token response left");
+      }
+
+      try {
+        return response.call();
+      } catch (AuthException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new AuthException("Failed to get token response", e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import com.adobe.platform.streaming.JacksonFactory;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+class BatchResponseHandlerTest {
+
+  @Test
+  void testOnlyFailuresAreKept() throws IOException {
+    final BatchResponse response = parse("{\"inletId\":\"inlet\",\"batchId\":\"1:2:3\",\"receivedTimeMs\":1," +
+      "\"responses\":[{\"xactionId\":\"1565650704337:2124:92:3\"}," +
+      "{\"xactionId\":\"9341f8eb-494a-4c89-9879-4d06a58d2dc7-1\",\"status\":400,\"message\":\"invalid\"," +
+      "\"details\":{\"path\":\"/header\"}},{\"xactionId\":\"9341f8eb-494a-4c89-9879-4d06a58d2dc7-2\"," +
+      "\"status\":null}]}");
+
+    assertTrue(response.isValid());
+    assertEquals(3, response.getResponseCount());
+    assertEquals(1, response.getFailures().size());
+
+    final BatchResponse.Failure failure = response.getFailures().get(0);
+    assertEquals(1, failure.getIndex());
+    assertEquals(400, failure.getStatus());
+    assertEquals("invalid", failure.getResponse().get("message").asText());
+    assertEquals("9341f8eb-494a-4c89-9879-4d06a58d2dc7-1", failure.getResponse().get("xactionId").asText());
+  }
+
+  @Test
+  void testFailureIsReportedWhole() throws IOException {
+    final String failedResponse = "{\"code\":\"XDM-1\",\"xactionId\":\"9341f8eb-1\",\"status\":\"400\"," +
+      "\"message\":{\"text\":\"invalid\"},\"details\":[{\"path\":\"/header\"}]}";
+    final BatchResponse response = parse("{\"responses\":[{\"xactionId\":\"9341f8eb-0\"}," + failedResponse +
+      "]}");
+
+    final BatchResponse.Failure failure = response.getFailures().get(0);
+    assertEquals(1, failure.getIndex());
+    assertEquals(400, failure.getStatus());
+    assertEquals(JacksonFactory.OBJECT_MAPPER.readTree(failedResponse), failure.getResponse());
+    assertEquals("\"400\"", failure.getResponse().get("status").toString());
+  }
+
+  @Test
+  void testFailureWithoutPosition() throws IOException {
+    final BatchResponse response = parse("{\"responses\":[{\"status\":\"503\"},{\"xactionId\":\"1:2\"," +
+      "\"status\":429}]}");
+
+    assertEquals(2, response.getFailures().size());
+    assertEquals(-1, response.getFailures().get(0).getIndex());
+    assertEquals(503, response.getFailures().get(0).getStatus());
+    assertEquals(-1, response.getFailures().get(1).getIndex());
+    assertEquals(429, response.getFailures().get(1).getStatus());
+  }
+
+  @Test
+  void testResponseWithoutResponsesIsInvalid() throws IOException {
+    assertFalse(parse("{}").isValid());
+    assertFalse(parse("{\"responses\":{}}").isValid());
+    assertFalse(parse("[]").isValid());
+    assertFalse(parse("").isValid());
+  }
+
+  private static BatchResponse parse(String content) throws IOException {
+    return BatchResponseHandler.parse(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+}
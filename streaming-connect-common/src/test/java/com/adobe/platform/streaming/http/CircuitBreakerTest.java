@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+class CircuitBreakerTest {
+
+  @Test
+  void testOpensOnceTheFailureRateIsReached() {
+    final CircuitBreaker circuitBreaker = newCircuitBreaker();
+    for (int i = 0; i < 7; i++) {
+      assertTrue(circuitBreaker.tryAcquirePermission(0));
+      circuitBreaker.onResult(i >= 4, 10, 0);
+    }
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getCurrentState());
+
+    circuitBreaker.onResult(true, 10, 0);
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getCurrentState());
+    assertFalse(circuitBreaker.tryAcquirePermission(500));
+    assertEquals(500, circuitBreaker.getRetryDelayMillis(500));
+    assertEquals(1, circuitBreaker.getRejectedCalls());
+  }
+
+  @Test
+  void testOpensOnceTheSlowCallRateIsReached() {
+    final CircuitBreaker circuitBreaker = newCircuitBreaker();
+    for (int i = 0; i < 4; i++) {
+      circuitBreaker.onResult(false, 2000, 0);
+    }
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getCurrentState());
+  }
+
+  @Test
+  void testOldOutcomesLeaveTheWindow() {
+    final CircuitBreaker circuitBreaker = newCircuitBreaker();
+    for (int i = 0; i < 5; i++) {
+      circuitBreaker.onResult(i >= 3, 10, 0);
+    }
+    assertEquals(0.4, circuitBreaker.getFailureRate());
+    for (int i = 0; i < 10; i++) {
+      circuitBreaker.onResult(false, 10, 0);
+    }
+    assertEquals(0, circuitBreaker.getFailureRate());
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getCurrentState());
+  }
+
+  @Test
+  void testHalfOpenProbesCloseTheCircuit() {
+    final CircuitBreaker circuitBreaker = openCircuitBreaker();
+
+    assertTrue(circuitBreaker.tryAcquirePermission(1000));
+    assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getCurrentState());
+    assertTrue(circuitBreaker.tryAcquirePermission(1000));
+    assertFalse(circuitBreaker.tryAcquirePermission(1000));
+
+    circuitBreaker.onResult(false, 10, 1000);
+    circuitBreaker.onResult(false, 10, 1000);
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getCurrentState());
+    assertEquals(1, circuitBreaker.getHalfOpenedCount());
+    assertEquals(1, circuitBreaker.getClosedCount());
+  }
+
+  @Test
+  void testFailedProbeOpensTheCircuitAgain() {
+    final CircuitBreaker circuitBreaker = openCircuitBreaker();
+
+    assertTrue(circuitBreaker.tryAcquirePermission(1000));
+    circuitBreaker.onResult(true, 10, 1000);
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getCurrentState());
+    assertEquals(1000, circuitBreaker.getRetryDelayMillis(1000));
+    assertEquals(2, circuitBreaker.getOpenedCount());
+  }
+
+  @Test
+  void testInvalidRateThreshold() {
+    assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.newBuilder().withFailureRateThreshold(0));
+    assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.newBuilder().withSlowCallRateThreshold(1.5));
+  }
+
+  private static CircuitBreaker openCircuitBreaker() {
+    final CircuitBreaker circuitBreaker = newCircuitBreaker();
+    for (int i = 0; i < 4; i++) {
+      circuitBreaker.onResult(true, 10, 0);
+    }
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getCurrentState());
+    return circuitBreaker;
+  }
+
+  private static CircuitBreaker newCircuitBreaker() {
+    return CircuitBreaker.newBuilder()
+      .withFailureRateThreshold(0.5)
+      .withSlowCallRateThreshold(0.8)
+      .withSlowCallDurationMillis(1000)
+      .withWindowSize(10)
+      .withMinimumCalls(4)
+      .withOpenDurationMillis(1000)
+      .withHalfOpenProbes(2)
+      .build();
+  }
+
+}
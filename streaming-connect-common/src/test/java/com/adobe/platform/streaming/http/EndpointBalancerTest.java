@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Adobe Inc.
+ */
+class EndpointBalancerTest {
+
+  private static final String FIRST = "https://first.example.com/collection/batch/inlet";
+  private static final String SECOND = "https://second.example.com/collection/batch/inlet";
+
+  private final long now = System.currentTimeMillis();
+
+  @Test
+  void testLeastOutstandingPicksTheLeastBusyEndpoint() {
+    final EndpointBalancer balancer = EndpointBalancer.newBuilder(Arrays.asList(FIRST, SECOND)).build();
+    final EndpointBalancer.Endpoint busy = balancer.select(null, now);
+    final EndpointBalancer.Endpoint idle = balancer.select(null, now);
+    assertEquals(1, busy.getOutstanding());
+    assertEquals(1, idle.getOutstanding());
+
+    balancer.onComplete(idle, false, 10, now);
+    assertSame(idle, balancer.select(null, now));
+    assertEquals(2, balancer.getOutstandingRequests());
+  }
+
+  @Test
+  void testEwmaPrefersTheFasterEndpoint() {
+    final EndpointBalancer balancer = EndpointBalancer.newBuilder(Arrays.asList(FIRST, SECOND))
+      .withStrategy(EndpointBalancer.Strategy.EWMA)
+      .build();
+    for (int i = 0; i < 2; i++) {
+      final EndpointBalancer.Endpoint endpoint = balancer.select(null, now);
+      balancer.onComplete(endpoint, false, endpoint.getUrl().equals(FIRST) ? 500 : 20, now);
+    }
+
+    for (int i = 0; i < 5; i++) {
+      final EndpointBalancer.Endpoint endpoint = balancer.select(null, now);
+      assertEquals(SECOND, endpoint.getUrl());
+      balancer.onComplete(endpoint, false, 20, now);
+    }
+  }
+
+  @Test
+  void testRetryAvoidsThePreviousEndpoint() {
+    final EndpointBalancer balancer = EndpointBalancer.newBuilder(Arrays.asList(FIRST, SECOND)).build();
+    final EndpointBalancer.Endpoint first = balancer.select(null, now);
+    balancer.onComplete(first, true, 10, now);
+    for (int i = 0; i < 4; i++) {
+      final EndpointBalancer.Endpoint retry = balancer.select(first, now);
+      balancer.onComplete(retry, false, 10, now);
+      assertEquals(first.getUrl().equals(FIRST) ? SECOND : FIRST, retry.getUrl());
+    }
+  }
+
+  @Test
+  void testFailingEndpointIsEjectedUntilTheDurationIsOver() {
+    final EndpointBalancer balancer = EndpointBalancer.newBuilder(Arrays.asList(FIRST, SECOND))
+      .withEjectionFailures(3)
+      .withEjectionDurationMillis(1000)
+      .build();
+    failUntilEjected(balancer, FIRST);
+    assertEquals(1, balancer.getEjections());
+
+    for (int i = 0; i < 4; i++) {
+      final EndpointBalancer.Endpoint endpoint = balancer.select(null, now + 500);
+      assertEquals(SECOND, endpoint.getUrl());
+      balancer.onComplete(endpoint, false, 10, now + 500);
+    }
+
+    // back after the ejection with a clean record, a single failure does not eject it again
+    int firstSelections = 0;
+    for (int i = 0; i < 4; i++) {
+      final EndpointBalancer.Endpoint endpoint = balancer.select(null, now + 1000);
+      firstSelections += endpoint.getUrl().equals(FIRST) ? 1 : 0;
+      balancer.onComplete(endpoint, endpoint.getUrl().equals(FIRST), 10, now + 1000);
+    }
+    assertEquals(2, firstSelections);
+    assertEquals(1, balancer.getEjections());
+  }
+
+  @Test
+  void testSlowEndpointIsEjected() {
+    final EndpointBalancer balancer = EndpointBalancer.newBuilder(Arrays.asList(FIRST, SECOND))
+      .withEjectionLatencyMillis(1000)
+      .build();
+    for (int i = 0; i < 10; i++) {
+      final EndpointBalancer.Endpoint endpoint = balancer.select(null, now);
+      balancer.onComplete(endpoint, false, endpoint.getUrl().equals(FIRST) ? 5000 : 10, now);
+    }
+
+    assertArrayEquals(new String[] {FIRST}, balancer.getEjectedEndpoints());
+    assertArrayEquals(new String[] {SECOND}, balancer.getHealthyEndpoints());
+  }
+
+  @Test
+  void testLastHealthyEndpointIsNeverEjected() {
+    final EndpointBalancer balancer = EndpointBalancer.newBuilder(Arrays.asList(FIRST, SECOND))
+      .withEjectionFailures(1)
+      .build();
+    failUntilEjected(balancer, FIRST);
+    for (int i = 0; i < 3; i++) {
+      final EndpointBalancer.Endpoint endpoint = balancer.select(null, now);
+      assertEquals(SECOND, endpoint.getUrl());
+      balancer.onComplete(endpoint, true, 10, now);
+    }
+
+    assertEquals(1, balancer.getEjections());
+    assertArrayEquals(new String[] {SECOND}, balancer.getHealthyEndpoints());
+  }
+
+  @Test
+  void testEndpointsAreRequired() {
+    assertThrows(IllegalArgumentException.class, () -> EndpointBalancer.newBuilder(Collections.emptyList()));
+    assertThrows(IllegalArgumentException.class, () -> EndpointBalancer.Strategy.getStrategy("random"));
+  }
+
+  private void failUntilEjected(EndpointBalancer balancer, String url) {
+    while (balancer.getEjectedEndpoints().length == 0) {
+      final EndpointBalancer.Endpoint endpoint = balancer.select(null, now);
+      balancer.onComplete(endpoint, endpoint.getUrl().equals(url), 10, now);
+    }
+  }
+
+}
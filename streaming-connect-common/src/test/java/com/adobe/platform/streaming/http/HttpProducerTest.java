@@ -0,0 +1,425 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+class HttpProducerTest {
+
+  private static final String PATH = "/collection/batch/test";
+
+  private HttpServer server;
+  private final Queue<Integer> statusCodes = new ConcurrentLinkedQueue<>();
+  private final Queue<String> retryAfters = new ConcurrentLinkedQueue<>();
+  private final Queue<String> requestBodies = new ConcurrentLinkedQueue<>();
+  private final Queue<String> contentEncodings = new ConcurrentLinkedQueue<>();
+  private final Queue<String> transferEncodings = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger requestCount = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(PATH, this::handle);
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void testPostWithUrlConnectionTransport() throws HttpException {
+    assertPost(HttpTransportType.URL_CONNECTION);
+  }
+
+  @Test
+  void testPostWithPooledTransport() throws HttpException {
+    assertPost(HttpTransportType.POOLED);
+  }
+
+  @Test
+  void testPostWithHttp2Transport() throws HttpException {
+    assumeTrue(HttpTransportType.isHttp2Available());
+    assertPost(HttpTransportType.HTTP2);
+  }
+
+  @Test
+  void testHttp2TransportRetriesServerErrors() throws HttpException {
+    assumeTrue(HttpTransportType.isHttp2Available());
+    statusCodes.add(502);
+    final HttpProducer producer = newProducer(HttpTransportType.HTTP2);
+    try {
+      final JsonNode response = producer.post(PATH, "{}".getBytes(StandardCharsets.UTF_8),
+        ContentHandler.jsonHandler());
+      assertEquals(200, response.get("status").asInt());
+      assertEquals(2, requestCount.get());
+    } finally {
+      producer.close();
+    }
+  }
+
+  @Test
+  void testGzipCompressedPostWithUrlConnectionTransport() throws HttpException {
+    assertGzipPost(HttpTransportType.URL_CONNECTION);
+  }
+
+  @Test
+  void testGzipCompressedPostWithPooledTransport() throws HttpException {
+    assertGzipPost(HttpTransportType.POOLED);
+  }
+
+  @Test
+  void testGzipCompressedPostWithHttp2Transport() throws HttpException {
+    assumeTrue(HttpTransportType.isHttp2Available());
+    assertGzipPost(HttpTransportType.HTTP2);
+  }
+
+  @Test
+  void testSmallBodiesAreNotCompressed() throws HttpException {
+    final HttpProducer producer = newGzipProducerBuilder(HttpTransportType.POOLED)
+      .withGzipMinBytes(1024)
+      .build();
+    try {
+      producer.post(PATH, "{}".getBytes(StandardCharsets.UTF_8), ContentHandler.jsonHandler());
+      assertEquals("{}", requestBodies.poll());
+      assertEquals("identity", contentEncodings.poll());
+    } finally {
+      producer.close();
+    }
+  }
+
+  @Test
+  void testStreamingPostWithUrlConnectionTransport() throws HttpException {
+    assertStreamingPost(HttpTransportType.URL_CONNECTION);
+    assertEquals("chunked", transferEncodings.poll());
+  }
+
+  @Test
+  void testStreamingPostWithPooledTransport() throws HttpException {
+    assertStreamingPost(HttpTransportType.POOLED);
+    assertEquals("chunked", transferEncodings.poll());
+  }
+
+  @Test
+  void testStreamingPostWithHttp2Transport() throws HttpException {
+    assumeTrue(HttpTransportType.isHttp2Available());
+    assertStreamingPost(HttpTransportType.HTTP2);
+  }
+
+  @Test
+  void testPooledTransportReusesConnections() throws HttpException {
+    final HttpProducer producer = newProducer(HttpTransportType.POOLED);
+    try {
+      for (int i = 0; i < 3; i++) {
+        producer.post(PATH, "{}".getBytes(StandardCharsets.UTF_8), ContentHandler.jsonHandler());
+      }
+
+      final PooledHttpTransportMBean pool = (PooledHttpTransportMBean) producer.getTransport();
+      assertEquals(0, pool.getLeasedConnections());
+      assertEquals(1, pool.getAvailableConnections());
+      assertEquals(1, pool.getRoutes());
+    } finally {
+      producer.close();
+    }
+  }
+
+  @Test
+  void testServerErrorsAreRetried() throws HttpException {
+    statusCodes.add(503);
+    statusCodes.add(500);
+    final HttpProducer producer = newProducer(HttpTransportType.POOLED);
+    try {
+      final JsonNode response = producer.post(PATH, "{}".getBytes(StandardCharsets.UTF_8),
+        ContentHandler.jsonHandler());
+      assertEquals(200, response.get("status").asInt());
+      assertEquals(3, requestCount.get());
+    } finally {
+      producer.close();
+    }
+  }
+
+  @Test
+  void testTooManyRequestsIsRetriedAfterRetryAfter() throws HttpException {
+    statusCodes.add(429);
+    retryAfters.add("1");
+    final HttpProducer producer = newProducer(HttpTransportType.POOLED);
+    try {
+      final long start = System.currentTimeMillis();
+      final JsonNode response = producer.post(PATH, "{}".getBytes(StandardCharsets.UTF_8),
+        ContentHandler.jsonHandler());
+      assertEquals(200, response.get("status").asInt());
+      assertEquals(2, requestCount.get());
+      assertTrue(System.currentTimeMillis() - start >= 1000);
+    } finally {
+      producer.close();
+    }
+  }
+
+  @Test
+  void testRetriesDoNotBlockTheCaller() throws Exception {
+    statusCodes.add(503);
+    retryAfters.add("1");
+    final HttpProducer producer = newProducer(HttpTransportType.POOLED);
+    try {
+      final CompletableFuture<JsonNode> response = producer.postAsync(PATH,
+        HttpRequestBody.of("{}".getBytes(StandardCharsets.UTF_8)), ContentHandler.jsonHandler());
+      assertFalse(response.isDone());
+      assertEquals(200, response.get(5, TimeUnit.SECONDS).get("status").asInt());
+      assertEquals(2, requestCount.get());
+    } finally {
+      producer.close();
+    }
+  }
+
+  @Test
+  void testRetriesStopWhenTheBudgetIsSpent() {
+    final RetryBudget retryBudget = new RetryBudget(0, 0, System.currentTimeMillis());
+    while (retryBudget.tryAcquireRetry()) {
+      // spend
+    }
+    statusCodes.add(503);
+    final HttpProducer producer = HttpProducer.newBuilder("http://localhost:" + server.getAddress().getPort())
+      .withTransportType(HttpTransportType.POOLED)
+      .withRetryBackoff(1)
+      .withRetryBudget(retryBudget)
+      .build();
+    try {
+      final HttpException exception = assertThrows(HttpException.class, () -> producer.post(PATH,
+        "{}".getBytes(StandardCharsets.UTF_8), ContentHandler.jsonHandler()));
+      assertEquals(503, exception.getResponseCode());
+      assertEquals(1, requestCount.get());
+    } finally {
+      producer.close();
+    }
+  }
+
+  @Test
+  void testRetriesFailOverToAnotherEndpoint() throws HttpException {
+    // nothing listens on the first endpoint, every attempt sent there fails to connect
+    final String unreachable = "http://localhost:1";
+    final EndpointBalancer endpointBalancer = EndpointBalancer.newBuilder(
+        Arrays.asList(unreachable, "http://localhost:" + server.getAddress().getPort()))
+      .withEjectionFailures(2)
+      .build();
+    final HttpProducer producer = HttpProducer.newBuilder(endpointBalancer)
+      .withTransportType(HttpTransportType.POOLED)
+      .withRetryBackoff(1)
+      .withMaxRetries(2)
+      .build();
+    try {
+      for (int i = 0; i < 4; i++) {
+        final JsonNode response = producer.post(PATH, "{}".getBytes(StandardCharsets.UTF_8),
+          ContentHandler.jsonHandler());
+        assertEquals(200, response.get("status").asInt());
+      }
+      assertEquals(4, requestCount.get());
+      assertEquals(1, endpointBalancer.getEjections());
+      assertArrayEquals(new String[] {unreachable}, endpointBalancer.getEjectedEndpoints());
+      assertEquals(0, endpointBalancer.getOutstandingRequests());
+    } finally {
+      producer.close();
+    }
+  }
+
+  @Test
+  void testOpenCircuitFailsFastWithoutSendingRequests() {
+    statusCodes.add(503);
+    statusCodes.add(503);
+    final CircuitBreaker circuitBreaker = CircuitBreaker.newBuilder()
+      .withWindowSize(2)
+      .withMinimumCalls(2)
+      .withOpenDurationMillis(60000)
+      .build();
+    final HttpProducer producer = HttpProducer.newBuilder("http://localhost:" + server.getAddress().getPort())
+      .withTransportType(HttpTransportType.POOLED)
+      .withRetryBackoff(1)
+      .withMaxRetries(5)
+      .withCircuitBreaker(circuitBreaker)
+      .build();
+    try {
+      // the second failed attempt opens the circuit, the third one is refused instead of being sent
+      assertThrows(CircuitBreakerOpenException.class, () -> producer.post(PATH,
+        "{}".getBytes(StandardCharsets.UTF_8), ContentHandler.jsonHandler()));
+      assertEquals(2, requestCount.get());
+      assertTrue(circuitBreaker.isOpen());
+
+      final CircuitBreakerOpenException exception = assertThrows(CircuitBreakerOpenException.class,
+        () -> producer.post(PATH, "{}".getBytes(StandardCharsets.UTF_8), ContentHandler.jsonHandler()));
+      assertTrue(exception.getRetryDelayMillis() > 0);
+      assertEquals(2, requestCount.get());
+      assertEquals(1, circuitBreaker.getOpenedCount());
+    } finally {
+      producer.close();
+    }
+  }
+
+  @Test
+  void testClientErrorsFailFast() {
+    statusCodes.add(400);
+    final HttpProducer producer = newProducer(HttpTransportType.POOLED);
+    try {
+      final HttpException exception = assertThrows(HttpException.class, () -> producer.post(PATH,
+        "{}".getBytes(StandardCharsets.UTF_8), ContentHandler.jsonHandler()));
+      assertEquals(400, exception.getResponseCode());
+      assertEquals(1, requestCount.get());
+    } finally {
+      producer.close();
+    }
+  }
+
+  private void assertPost(HttpTransportType transportType) throws HttpException {
+    final HttpProducer producer = newProducer(transportType);
+    try {
+      final JsonNode response = producer.post(PATH, "{\"messages\":[]}".getBytes(StandardCharsets.UTF_8),
+        ContentHandler.jsonHandler());
+      assertEquals(200, response.get("status").asInt());
+      assertEquals("{\"messages\":[]}", requestBodies.poll());
+    } finally {
+      producer.close();
+    }
+  }
+
+  private void assertStreamingPost(HttpTransportType transportType) throws HttpException {
+    // larger than a chunk, written in small pieces the way the batch envelope writer does
+    final StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      expected.append("{\"id\":").append(i).append('}');
+    }
+    final HttpRequestBody body = new HttpRequestBody() {
+      @Override
+      public long getContentLength() {
+        return -1;
+      }
+
+      @Override
+      public void writeTo(OutputStream out) throws IOException {
+        for (int i = 0; i < 5000; i++) {
+          out.write(("{\"id\":" + i + "}").getBytes(StandardCharsets.UTF_8));
+        }
+      }
+    };
+
+    statusCodes.add(503);
+    final HttpProducer producer = newProducer(transportType);
+    try {
+      final JsonNode response = producer.post(PATH, body, ContentHandler.jsonHandler());
+      assertEquals(200, response.get("status").asInt());
+      // the body is written again for the retry after the 503
+      assertEquals(2, requestCount.get());
+      assertEquals(expected.toString(), requestBodies.poll());
+      assertEquals(expected.toString(), requestBodies.poll());
+      transferEncodings.poll();
+    } finally {
+      producer.close();
+    }
+  }
+
+  private void assertGzipPost(HttpTransportType transportType) throws HttpException {
+    final StringBuilder body = new StringBuilder("{\"messages\":[");
+    for (int i = 0; i < 500; i++) {
+      body.append(i == 0 ? "" : ",").append("{\"body\":{\"id\":").append(i).append("}}");
+    }
+    body.append("]}");
+
+    // the same producer posts twice so that the second request gets a pooled deflater
+    final HttpProducer producer = newGzipProducerBuilder(transportType).build();
+    try {
+      for (int i = 0; i < 2; i++) {
+        producer.post(PATH, body.toString().getBytes(StandardCharsets.UTF_8), ContentHandler.jsonHandler());
+        assertEquals(body.toString(), requestBodies.poll());
+        assertEquals("gzip", contentEncodings.poll());
+      }
+    } finally {
+      producer.close();
+    }
+  }
+
+  private HttpProducer.HttpProducerBuilder newGzipProducerBuilder(HttpTransportType transportType) {
+    return HttpProducer.newBuilder("http://localhost:" + server.getAddress().getPort())
+      .withTransportType(transportType)
+      .withGzipCompression(true)
+      .withGzipLevel(1)
+      .withRetryBackoff(1);
+  }
+
+  private HttpProducer newProducer(HttpTransportType transportType) {
+    return HttpProducer.newBuilder("http://localhost:" + server.getAddress().getPort())
+      .withTransportType(transportType)
+      .withRetryBackoff(1)
+      .build();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requestCount.incrementAndGet();
+    final String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+    final String transferEncoding = exchange.getRequestHeaders().getFirst("Transfer-Encoding");
+    transferEncodings.add(transferEncoding == null ? "identity" : transferEncoding);
+    contentEncodings.add(contentEncoding == null ? "identity" : contentEncoding);
+    requestBodies.add(read("gzip".equals(contentEncoding) ? new GZIPInputStream(exchange.getRequestBody()) :
+      exchange.getRequestBody()));
+
+    final Integer statusCode = statusCodes.poll();
+    final int status = statusCode == null ? 200 : statusCode;
+    final byte[] body = ("{\"status\":" + status + "}").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    final String retryAfter = status == 200 ? null : retryAfters.poll();
+    if (retryAfter != null) {
+      exchange.getResponseHeaders().add("Retry-After", retryAfter);
+    }
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static String read(InputStream in) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[1024];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+}
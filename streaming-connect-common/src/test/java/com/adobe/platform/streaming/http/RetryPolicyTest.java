@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+class RetryPolicyTest {
+
+  @Test
+  void testBackoffIsJitteredBelowTheExponentialCeiling() {
+    final RetryPolicy retryPolicy = new RetryPolicy(10, 100, 1000);
+    for (int i = 0; i < 100; i++) {
+      assertTrue(retryPolicy.getBackoffMillis(1, null) <= 100);
+      assertTrue(retryPolicy.getBackoffMillis(3, null) <= 400);
+      assertTrue(retryPolicy.getBackoffMillis(40, null) <= 1000);
+    }
+  }
+
+  @Test
+  void testRetryAfterIsHonouredUpToTheCap() {
+    final RetryPolicy retryPolicy = new RetryPolicy(10, 1, 5000);
+    final long backoff = retryPolicy.getBackoffMillis(1, "2");
+    assertEquals(2000, backoff);
+    assertEquals(5000, retryPolicy.getBackoffMillis(1, "120"));
+  }
+
+  @Test
+  void testRetryAfterFormats() {
+    final long now = 1_700_000_000_000L;
+    final String inTenSeconds = DateTimeFormatter.RFC_1123_DATE_TIME
+      .format(Instant.ofEpochMilli(now + 10_000).atOffset(ZoneOffset.UTC));
+
+    assertEquals(3000, RetryPolicy.parseRetryAfter(" 3 ", now));
+    assertEquals(10_000, RetryPolicy.parseRetryAfter(inTenSeconds, now));
+    assertEquals(0, RetryPolicy.parseRetryAfter("soon", now));
+    assertEquals(0, RetryPolicy.parseRetryAfter(null, now));
+  }
+
+  @Test
+  void testRetryBudgetIsEarnedByRequests() {
+    final RetryBudget retryBudget = new RetryBudget(0.5, 0, 0);
+    // the initial balance allows a burst of retries before the budget has to be earned
+    while (retryBudget.tryAcquireRetry(0)) {
+      // spend
+    }
+
+    retryBudget.onRequest(0);
+    assertFalse(retryBudget.tryAcquireRetry(0));
+    retryBudget.onRequest(0);
+    assertTrue(retryBudget.tryAcquireRetry(0));
+  }
+
+  @Test
+  void testRetryBudgetRefillsOverTime() {
+    final RetryBudget retryBudget = new RetryBudget(0, 10, 0);
+    while (retryBudget.tryAcquireRetry(0)) {
+      // spend
+    }
+
+    assertFalse(retryBudget.tryAcquireRetry(50));
+    assertTrue(retryBudget.tryAcquireRetry(200));
+  }
+
+  @Test
+  void testReconfiguredConnectorGetsItsNewRetryBudget() {
+    final RetryBudget retryBudget = RetryBudget.forConnector("reconfigured-connector", 0, 0);
+    assertSame(retryBudget, RetryBudget.forConnector("reconfigured-connector", 0, 0));
+    assertEquals(10, spend(retryBudget));
+
+    // the tasks restarted with the new settings share a budget built from them
+    final RetryBudget reconfiguredBudget = RetryBudget.forConnector("reconfigured-connector", 0, 2);
+    assertNotSame(retryBudget, reconfiguredBudget);
+    assertSame(reconfiguredBudget, RetryBudget.forConnector("reconfigured-connector", 0, 2));
+    assertEquals(20, spend(reconfiguredBudget));
+  }
+
+  private static int spend(RetryBudget retryBudget) {
+    // a time before the budget was built never refills it
+    int retries = 0;
+    while (retryBudget.tryAcquireRetry(0)) {
+      retries++;
+    }
+    return retries;
+  }
+
+}
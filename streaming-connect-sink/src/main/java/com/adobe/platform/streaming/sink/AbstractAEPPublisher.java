@@ -20,7 +20,14 @@ import com.adobe.platform.streaming.auth.AuthUtils;
 import com.adobe.platform.streaming.auth.TokenType;
 import com.adobe.platform.streaming.auth.impl.AuthProviderFactory;
 import com.adobe.platform.streaming.auth.impl.AuthProxyConfiguration;
+import com.adobe.platform.streaming.http.CircuitBreaker;
+import com.adobe.platform.streaming.http.EndpointBalancer;
 import com.adobe.platform.streaming.http.HttpProducer;
+import com.adobe.platform.streaming.http.HttpResponseListener;
+import com.adobe.platform.streaming.http.HttpTransportType;
+import com.adobe.platform.streaming.http.RetryBudget;
+import com.adobe.platform.streaming.http.RetryPolicy;
+import com.adobe.platform.streaming.sink.batch.PublishRateLimiter;
 import com.adobe.platform.streaming.sink.utils.SinkUtils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -31,9 +38,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * @author Adobe Inc.
@@ -43,6 +53,7 @@ public abstract class AbstractAEPPublisher implements DataPublisher {
   private static final MapType HEADER_MAP_TYPE = JacksonFactory.OBJECT_MAPPER
     .getTypeFactory().constructMapType(TreeMap.class, String.class, String.class);
   private static final String AEP_ENDPOINT = "aep.endpoint";
+  private static final String CONNECTOR_NAME = "name";
 
   private static final String AEP_CONNECTION_PROXY_HOST = "aep.connection.proxy.host";
   private static final String AEP_CONNECTION_PROXY_PORT = "aep.connection.proxy.port";
@@ -53,6 +64,34 @@ public abstract class AbstractAEPPublisher implements DataPublisher {
   private static final String AEP_CONNECTION_MAX_RETRIES = "aep.connection.maxRetries";
   private static final String AEP_CONNECTION_MAX_RETRIES_BACKOFF = "aep.connection.retryBackoff";
   private static final String AEP_CONNECTION_READ_TIMEOUT = "aep.connection.readTimeout";
+  private static final String AEP_CONNECTION_RETRY_MAX_BACKOFF_MS = "aep.connection.retry.max.backoff.ms";
+  private static final String AEP_CONNECTION_RETRY_BUDGET_RATIO = "aep.connection.retry.budget.ratio";
+  private static final String AEP_CONNECTION_RETRY_BUDGET_MIN_PER_SECOND = "aep.connection.retry.budget.min.per.second";
+  private static final String AEP_PUBLISH_PARTIAL_RETRY_MAX_ATTEMPTS = "aep.publish.partial.retry.max.attempts";
+  private static final String AEP_CONNECTION_CIRCUIT_BREAKER_ENABLED = "aep.connection.circuit.breaker.enabled";
+  private static final String AEP_CONNECTION_CIRCUIT_BREAKER_FAILURE_RATE =
+    "aep.connection.circuit.breaker.failure.rate.threshold";
+  private static final String AEP_CONNECTION_CIRCUIT_BREAKER_SLOW_CALL_RATE =
+    "aep.connection.circuit.breaker.slow.call.rate.threshold";
+  private static final String AEP_CONNECTION_CIRCUIT_BREAKER_SLOW_CALL_MS =
+    "aep.connection.circuit.breaker.slow.call.duration.ms";
+  private static final String AEP_CONNECTION_CIRCUIT_BREAKER_WINDOW_SIZE = "aep.connection.circuit.breaker.window.size";
+  private static final String AEP_CONNECTION_CIRCUIT_BREAKER_MIN_CALLS = "aep.connection.circuit.breaker.minimum.calls";
+  private static final String AEP_CONNECTION_CIRCUIT_BREAKER_OPEN_MS =
+    "aep.connection.circuit.breaker.open.duration.ms";
+  private static final String AEP_CONNECTION_CIRCUIT_BREAKER_PROBES = "aep.connection.circuit.breaker.half.open.probes";
+  private static final String AEP_CONNECTION_LOAD_BALANCING_STRATEGY = "aep.connection.load.balancing.strategy";
+  private static final String AEP_CONNECTION_EJECTION_FAILURES = "aep.connection.ejection.consecutive.failures";
+  private static final String AEP_CONNECTION_EJECTION_LATENCY_MS = "aep.connection.ejection.latency.ms";
+  private static final String AEP_CONNECTION_EJECTION_DURATION_MS = "aep.connection.ejection.duration.ms";
+  private static final String AEP_CONNECTION_GZIP_ENABLED = "aep.connection.gzip.enabled";
+  private static final String AEP_CONNECTION_GZIP_LEVEL = "aep.connection.gzip.level";
+  private static final String AEP_CONNECTION_GZIP_MIN_BYTES = "aep.connection.gzip.min.bytes";
+  private static final String AEP_CONNECTION_TRANSPORT = "aep.connection.transport";
+  private static final String AEP_CONNECTION_POOL_MAX_TOTAL = "aep.connection.pool.max.total";
+  private static final String AEP_CONNECTION_POOL_MAX_PER_ROUTE = "aep.connection.pool.max.per.route";
+  private static final String AEP_CONNECTION_POOL_KEEPALIVE_MS = "aep.connection.pool.keepalive.ms";
+  private static final String AEP_CONNECTION_POOL_IDLE_TIMEOUT_MS = "aep.connection.pool.idle.timeout.ms";
 
   private static final String AEP_CONNECTION_AUTH_ENABLED = "aep.connection.auth.enabled";
   private static final String AEP_CONNECTION_AUTH_TOKEN_TYPE = "aep.connection.auth.token.type";
@@ -69,8 +108,9 @@ public abstract class AbstractAEPPublisher implements DataPublisher {
   private static final String AEP_CONNECTION_AUTH_ENABLED_VALUE = "true";
   private static final String AEP_CONNECTION_AUTH_DISABLED_VALUE = "false";
 
-  protected HttpProducer getHttpProducer(Map<String, String> props) throws AEPStreamingException {
-    HttpProducer.HttpProducerBuilder builder = HttpProducer.newBuilder(getAepEndpoint(props.get(AEP_ENDPOINT)))
+  protected HttpProducer getHttpProducer(Map<String, String> props, HttpResponseListener responseListener)
+      throws AEPStreamingException {
+    HttpProducer.HttpProducerBuilder builder = HttpProducer.newBuilder(getEndpointBalancer(props))
       .withProxyHost(SinkUtils.getProperty(props, AEP_CONNECTION_PROXY_HOST, null))
       .withProxyPort(SinkUtils.getProperty(props, AEP_CONNECTION_PROXY_PORT, 443))
       .withProxyUser(SinkUtils.getProperty(props, AEP_CONNECTION_PROXY_USER, null))
@@ -79,7 +119,20 @@ public abstract class AbstractAEPPublisher implements DataPublisher {
       .withReadTimeout(SinkUtils.getProperty(props, AEP_CONNECTION_READ_TIMEOUT, 60000))
       .withMaxRetries(SinkUtils.getProperty(props, AEP_CONNECTION_MAX_RETRIES, 3))
       .withRetryBackoff(SinkUtils.getProperty(props, AEP_CONNECTION_MAX_RETRIES_BACKOFF, 300))
-      .withAuth(getAuthProvider(props));
+      .withMaxRetryBackoff(SinkUtils.getProperty(props, AEP_CONNECTION_RETRY_MAX_BACKOFF_MS, 10000))
+      .withRetryBudget(getRetryBudget(props))
+      .withCircuitBreaker(getCircuitBreaker(props))
+      .withGzipCompression(Boolean.parseBoolean(SinkUtils.getProperty(props, AEP_CONNECTION_GZIP_ENABLED, "false")))
+      .withGzipLevel(SinkUtils.getProperty(props, AEP_CONNECTION_GZIP_LEVEL, 6))
+      .withGzipMinBytes(SinkUtils.getProperty(props, AEP_CONNECTION_GZIP_MIN_BYTES, 1024))
+      .withTransportType(HttpTransportType.getTransportType(SinkUtils.getProperty(props, AEP_CONNECTION_TRANSPORT,
+        HttpTransportType.POOLED.getName())))
+      .withMaxConnections(SinkUtils.getProperty(props, AEP_CONNECTION_POOL_MAX_TOTAL, 20))
+      .withMaxConnectionsPerRoute(SinkUtils.getProperty(props, AEP_CONNECTION_POOL_MAX_PER_ROUTE, 10))
+      .withKeepAliveMillis(SinkUtils.getProperty(props, AEP_CONNECTION_POOL_KEEPALIVE_MS, 60000))
+      .withIdleTimeoutMillis(SinkUtils.getProperty(props, AEP_CONNECTION_POOL_IDLE_TIMEOUT_MS, 30000))
+      .withAuth(getAuthProvider(props))
+      .withResponseListener(responseListener);
     try {
       builder = builder.withHeaders(getHeaders(props.get(AEP_CONNECTION_OPTIONAL_HEADER)));
     } catch (JsonProcessingException e) {
@@ -88,17 +141,77 @@ public abstract class AbstractAEPPublisher implements DataPublisher {
     return builder.build();
   }
 
+  /**
+   * @return the policy spacing out the follow-up requests of messages the batch response reported as transiently
+   *   failed, its attempts count the first request
+   */
+  protected RetryPolicy getPartialRetryPolicy(Map<String, String> props) {
+    return new RetryPolicy(SinkUtils.getProperty(props, AEP_PUBLISH_PARTIAL_RETRY_MAX_ATTEMPTS, 3),
+      SinkUtils.getProperty(props, AEP_CONNECTION_MAX_RETRIES_BACKOFF, 300),
+      SinkUtils.getProperty(props, AEP_CONNECTION_RETRY_MAX_BACKOFF_MS, 10000));
+  }
+
+  /**
+   * @return the share of this task in the publish rate limits of its connector, to release when the task stops
+   */
+  protected PublishRateLimiter.Share getRateLimiterShare(Map<String, String> props) {
+    return PublishRateLimiter.forConnector(props.get(CONNECTOR_NAME)).register(
+      Double.parseDouble(SinkUtils.getProperty(props, AbstractSinkConnector.TASK_RATE_LIMIT_MESSAGES_PER_SECOND, "0")),
+      Double.parseDouble(SinkUtils.getProperty(props, AbstractSinkConnector.TASK_RATE_LIMIT_BYTES_PER_SECOND, "0")));
+  }
+
+  protected RetryBudget getRetryBudget(Map<String, String> props) {
+    return RetryBudget.forConnector(props.get(CONNECTOR_NAME),
+      Double.parseDouble(SinkUtils.getProperty(props, AEP_CONNECTION_RETRY_BUDGET_RATIO, "0.2")),
+      SinkUtils.getProperty(props, AEP_CONNECTION_RETRY_BUDGET_MIN_PER_SECOND, 10));
+  }
+
+  private CircuitBreaker getCircuitBreaker(Map<String, String> props) {
+    if (!Boolean.parseBoolean(SinkUtils.getProperty(props, AEP_CONNECTION_CIRCUIT_BREAKER_ENABLED, "false"))) {
+      return null;
+    }
+
+    return CircuitBreaker.newBuilder()
+      .withFailureRateThreshold(Double.parseDouble(SinkUtils.getProperty(props,
+        AEP_CONNECTION_CIRCUIT_BREAKER_FAILURE_RATE, "0.5")))
+      .withSlowCallRateThreshold(Double.parseDouble(SinkUtils.getProperty(props,
+        AEP_CONNECTION_CIRCUIT_BREAKER_SLOW_CALL_RATE, "1")))
+      .withSlowCallDurationMillis(SinkUtils.getProperty(props, AEP_CONNECTION_CIRCUIT_BREAKER_SLOW_CALL_MS, 60000))
+      .withWindowSize(SinkUtils.getProperty(props, AEP_CONNECTION_CIRCUIT_BREAKER_WINDOW_SIZE, 100))
+      .withMinimumCalls(SinkUtils.getProperty(props, AEP_CONNECTION_CIRCUIT_BREAKER_MIN_CALLS, 20))
+      .withOpenDurationMillis(SinkUtils.getProperty(props, AEP_CONNECTION_CIRCUIT_BREAKER_OPEN_MS, 30000))
+      .withHalfOpenProbes(SinkUtils.getProperty(props, AEP_CONNECTION_CIRCUIT_BREAKER_PROBES, 3))
+      .build();
+  }
+
+  private EndpointBalancer getEndpointBalancer(Map<String, String> props) throws AEPStreamingException {
+    return EndpointBalancer.newBuilder(getAepEndpoints(props.get(AEP_ENDPOINT)))
+      .withStrategy(EndpointBalancer.Strategy.getStrategy(SinkUtils.getProperty(props,
+        AEP_CONNECTION_LOAD_BALANCING_STRATEGY, EndpointBalancer.Strategy.LEAST_OUTSTANDING.getName())))
+      .withEjectionFailures(SinkUtils.getProperty(props, AEP_CONNECTION_EJECTION_FAILURES, 5))
+      .withEjectionLatencyMillis(SinkUtils.getProperty(props, AEP_CONNECTION_EJECTION_LATENCY_MS, 0))
+      .withEjectionDurationMillis(SinkUtils.getProperty(props, AEP_CONNECTION_EJECTION_DURATION_MS, 30000))
+      .build();
+  }
+
   @Override
   public void start() {
     LOG.info("Starting AEP publisher");
   }
 
-  private String getAepEndpoint(String aepEndpoint) throws AEPStreamingException {
-    if (StringUtils.isEmpty(aepEndpoint)) {
+  /**
+   * @return the batch endpoints of the comma separated, equivalent inlet endpoints
+   */
+  private List<String> getAepEndpoints(String aepEndpoint) throws AEPStreamingException {
+    if (StringUtils.isBlank(aepEndpoint)) {
       throw new AEPStreamingException("Invalid AEP Endpoint to publish");
     }
 
-    return aepEndpoint.replace("/collection/", "/collection/batch/");
+    return Arrays.stream(aepEndpoint.split(","))
+      .map(String::trim)
+      .filter(StringUtils::isNotEmpty)
+      .map(endpoint -> endpoint.replace("/collection/", "/collection/batch/"))
+      .collect(Collectors.toList());
   }
 
   private Map<String, String> getHeaders(String header) throws JsonProcessingException {
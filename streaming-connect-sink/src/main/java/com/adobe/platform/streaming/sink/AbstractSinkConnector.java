@@ -12,6 +12,8 @@
 
 package com.adobe.platform.streaming.sink;
 
+import com.adobe.platform.streaming.sink.utils.SinkUtils;
+
 import com.google.common.collect.ImmutableMap;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.utils.AppInfoParser;
@@ -20,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +31,15 @@ import java.util.Map;
  */
 public abstract class AbstractSinkConnector extends SinkConnector {
 
+  // internal property telling every task its index, used to name the task metrics
+  public static final String TASK_ID = "aep.internal.task.id";
+  // internal properties telling every task its share of the connector publish rate limits
+  public static final String TASK_RATE_LIMIT_MESSAGES_PER_SECOND = "aep.internal.rate.limit.messages.per.second";
+  public static final String TASK_RATE_LIMIT_BYTES_PER_SECOND = "aep.internal.rate.limit.bytes.per.second";
+
+  private static final String AEP_RATE_LIMIT_MESSAGES_PER_SECOND = "aep.rate.limit.messages.per.second";
+  private static final String AEP_RATE_LIMIT_BYTES_PER_SECOND = "aep.rate.limit.bytes.per.second";
+
   private static final Logger LOG = LoggerFactory.getLogger(AbstractSinkConnector.class);
 
   private Map<String, String> connectorProps;
@@ -47,12 +59,20 @@ public abstract class AbstractSinkConnector extends SinkConnector {
   public List<Map<String, String>> taskConfigs(int maxTasks) {
     List<Map<String, String>> configs = new ArrayList<>();
     for (int i = 0; i < maxTasks; i++) {
-      configs.add(new ImmutableMap.Builder<String, String>().putAll(connectorProps).build());
+      final Map<String, String> taskProps = new HashMap<>(connectorProps);
+      taskProps.put(TASK_ID, String.valueOf(i));
+      taskProps.put(TASK_RATE_LIMIT_MESSAGES_PER_SECOND, getTaskShare(AEP_RATE_LIMIT_MESSAGES_PER_SECOND, maxTasks));
+      taskProps.put(TASK_RATE_LIMIT_BYTES_PER_SECOND, getTaskShare(AEP_RATE_LIMIT_BYTES_PER_SECOND, maxTasks));
+      configs.add(ImmutableMap.copyOf(taskProps));
     }
 
     return configs;
   }
 
+  private String getTaskShare(String rateLimit, int maxTasks) {
+    return String.valueOf(Double.parseDouble(SinkUtils.getProperty(connectorProps, rateLimit, "0")) / maxTasks);
+  }
+
   @Override
   public void stop() {
     LOG.info("Stopped Sink Connector");
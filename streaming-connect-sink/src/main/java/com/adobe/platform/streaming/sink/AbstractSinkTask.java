@@ -13,12 +13,25 @@
 package com.adobe.platform.streaming.sink;
 
 import com.adobe.platform.streaming.AEPStreamingException;
+import com.adobe.platform.streaming.http.HttpResponseListener;
+import com.adobe.platform.streaming.sink.batch.AdaptiveBatchController;
+import com.adobe.platform.streaming.sink.batch.AsyncBatchDispatcher;
+import com.adobe.platform.streaming.sink.batch.BatchBuilder;
+import com.adobe.platform.streaming.sink.batch.PartitionBackpressure;
+import com.adobe.platform.streaming.sink.batch.PublishBatch;
+import com.adobe.platform.streaming.sink.utils.JmxUtils;
 import com.adobe.platform.streaming.sink.utils.SinkUtils;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.utils.AppInfoParser;
 import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.errors.RetriableException;
 import org.apache.kafka.connect.json.JsonConverter;
 import org.apache.kafka.connect.json.JsonConverterConfig;
 import org.apache.kafka.connect.sink.ErrantRecordReporter;
@@ -30,11 +43,17 @@ import org.apache.kafka.connect.storage.ConverterType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.management.ObjectName;
 
 /**
  * @author Adobe Inc.
@@ -44,16 +63,53 @@ public abstract class AbstractSinkTask<T> extends SinkTask {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractSinkConnector.class);
   private static final String FLUSH_INTERVAL_SECS = "aep.flush.interval.seconds";
   private static final String FLUSH_BYTES_KB = "aep.flush.bytes.kb";
+  private static final String BATCH_MAX_BYTES = "aep.batch.max.bytes";
+  private static final String BATCH_MAX_MESSAGES = "aep.batch.max.messages";
+  private static final String BATCH_LINGER_MS = "aep.batch.linger.ms";
+  private static final String PUBLISH_ASYNC_ENABLED = "aep.publish.async.enabled";
+  private static final String PUBLISH_MAX_IN_FLIGHT_BATCHES = "aep.publish.max.in.flight.batches";
+  private static final String PUBLISH_IN_FLIGHT_FULL_POLICY = "aep.publish.in.flight.full.policy";
+  private static final String PUBLISH_CLOSE_TIMEOUT_MS = "aep.publish.close.timeout.ms";
+  private static final String PUBLISH_PAUSE_OUTSTANDING_BYTES = "aep.publish.pause.outstanding.bytes";
+  private static final String PUBLISH_RESUME_OUTSTANDING_BYTES = "aep.publish.resume.outstanding.bytes";
+  private static final String ADAPTIVE_ENABLED = "aep.adaptive.enabled";
+  private static final String ADAPTIVE_MIN_BATCH_MESSAGES = "aep.adaptive.min.batch.messages";
+  private static final String ADAPTIVE_BATCH_INCREASE_STEP = "aep.adaptive.batch.increase.step";
+  private static final String ADAPTIVE_LATENCY_TARGET_MS = "aep.adaptive.latency.target.ms";
+  private static final String ADAPTIVE_DECREASE_FACTOR = "aep.adaptive.decrease.factor";
+  private static final String CONNECTOR_NAME = "name";
   private static final int DEFAULT_FLUSH_INTERVAL = 1;
-  private static final int DEFAULT_FLUSH_BYTES_KB = 4;
+  private static final int DEFAULT_BATCH_MAX_BYTES = 1024 * 1024;
+  private static final int DEFAULT_BATCH_MAX_MESSAGES = 1000;
+  private static final int DEFAULT_BATCH_LINGER_MS = 0;
+  private static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 5;
+  private static final int DEFAULT_CLOSE_TIMEOUT_MS = 30000;
+  private static final int BACKPRESSURE_CHECK_INTERVAL_MS = 100;
+  private static final int DEFAULT_ADAPTIVE_MIN_BATCH_MESSAGES = 10;
+  private static final int DEFAULT_ADAPTIVE_BATCH_INCREASE_STEP = 10;
+  private static final int DEFAULT_ADAPTIVE_LATENCY_TARGET_MS = 1000;
+  private static final String DEFAULT_ADAPTIVE_DECREASE_FACTOR = "0.5";
   private static final int MILLIS_IN_A_SEC = 1000;
   private static final int BYTES_IN_A_KB = 1024;
 
-  private int bytesRead = 0;
   private int flushIntervalMillis;
-  private int flushBytesCount;
+  private int batchMaxBytes;
+  private int batchMaxMessages;
+  private int batchLingerMillis;
+  private int closeTimeoutMillis;
   private long lastFlushMilliSec = System.currentTimeMillis();
   private ErrantRecordReporter errantRecordReporter;
+  private AsyncBatchDispatcher<T> asyncDispatcher;
+  private PartitionBackpressure backpressure;
+  private BatchBuilder<T> batchBuilder;
+  private AdaptiveBatchController batchController;
+  private ObjectName batchControllerName;
+  private long batchGeneration;
+  private long batchOpenedMilliSec;
+  private boolean rewindRequired;
+  private ScheduledExecutorService lingerTimer;
+  private final Object batchLock = new Object();
+  private final AtomicReference<RuntimeException> lingerFailure = new AtomicReference<>();
   protected JsonConverter jsonValueConverter;
 
   @Override
@@ -83,11 +139,50 @@ public abstract class AbstractSinkTask<T> extends SinkTask {
 
     try {
       flushIntervalMillis = SinkUtils.getProperty(props, FLUSH_INTERVAL_SECS, DEFAULT_FLUSH_INTERVAL, MILLIS_IN_A_SEC);
-      flushBytesCount = SinkUtils.getProperty(props, FLUSH_BYTES_KB, DEFAULT_FLUSH_BYTES_KB, BYTES_IN_A_KB);
+      // aep.flush.bytes.kb is kept as the size limit of connectors configured before aep.batch.max.bytes existed
+      batchMaxBytes = SinkUtils.getProperty(props, BATCH_MAX_BYTES,
+        SinkUtils.getProperty(props, FLUSH_BYTES_KB, DEFAULT_BATCH_MAX_BYTES / BYTES_IN_A_KB, BYTES_IN_A_KB), 1);
+      batchMaxMessages = SinkUtils.getProperty(props, BATCH_MAX_MESSAGES, DEFAULT_BATCH_MAX_MESSAGES, 1);
+      batchLingerMillis = Math.max(SinkUtils.getProperty(props, BATCH_LINGER_MS, DEFAULT_BATCH_LINGER_MS), 0);
+      batchBuilder = new BatchBuilder<>(batchMaxBytes, batchMaxMessages);
+      closeTimeoutMillis = SinkUtils.getProperty(props, PUBLISH_CLOSE_TIMEOUT_MS, DEFAULT_CLOSE_TIMEOUT_MS);
+
+      final boolean asyncEnabled = Boolean.parseBoolean(SinkUtils.getProperty(props, PUBLISH_ASYNC_ENABLED, "false"));
+      final int maxInFlightBatches = asyncEnabled ?
+        SinkUtils.getProperty(props, PUBLISH_MAX_IN_FLIGHT_BATCHES, DEFAULT_MAX_IN_FLIGHT_BATCHES, 1) : 1;
+      if (Boolean.parseBoolean(SinkUtils.getProperty(props, ADAPTIVE_ENABLED, "false"))) {
+        createBatchController(props, maxInFlightBatches);
+      }
 
       init(props, errantRecordReporter);
-      LOG.info("Connection created with flush interval {} secs and flush bytes {} KB",
-        flushIntervalMillis / MILLIS_IN_A_SEC, flushBytesCount / BYTES_IN_A_KB);
+      LOG.info("Connection created with flush interval {} secs, batch max bytes {} and batch max messages {}",
+        flushIntervalMillis / MILLIS_IN_A_SEC, batchMaxBytes, batchMaxMessages);
+
+      if (asyncEnabled) {
+        asyncDispatcher = AsyncBatchDispatcher.forAsyncPublisher(this::publishDataAsync, maxInFlightBatches,
+          AsyncBatchDispatcher.FullPolicy.getFullPolicy(SinkUtils.getProperty(props, PUBLISH_IN_FLIGHT_FULL_POLICY,
+            AsyncBatchDispatcher.FullPolicy.BLOCK.getName())));
+        LOG.info("Asynchronous publishing enabled with {} in-flight batches", maxInFlightBatches);
+
+        // by default consumption pauses once every in-flight slot holds a full batch
+        final int pauseBytes = SinkUtils.getProperty(props, PUBLISH_PAUSE_OUTSTANDING_BYTES,
+          (int) Math.min(Integer.MAX_VALUE, (long) maxInFlightBatches * batchMaxBytes), 1);
+        backpressure = new PartitionBackpressure(pauseBytes,
+          SinkUtils.getProperty(props, PUBLISH_RESUME_OUTSTANDING_BYTES, pauseBytes / 2, 1),
+          BACKPRESSURE_CHECK_INTERVAL_MS);
+      }
+
+      // publishing synchronously from a timer would hold up put while the request is under way, so without the
+      // asynchronous dispatcher the linger time is checked by put, which is called after every poll
+      if (batchLingerMillis > 0 && asyncEnabled) {
+        lingerTimer = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("aep-linger-%d")
+          .setDaemon(true)
+          .build());
+      }
+      if (batchLingerMillis > 0) {
+        LOG.info("Records are buffered across put calls for up to {} ms", batchLingerMillis);
+      }
     } catch (AEPStreamingException aepStreamingException) {
       LOG.error("ConnectorSinkTask: Exception while creating connection.", aepStreamingException);
     }
@@ -95,11 +190,64 @@ public abstract class AbstractSinkTask<T> extends SinkTask {
 
   @Override
   public void stop() {
+    JmxUtils.unregister(batchControllerName);
+    if (Objects.nonNull(lingerTimer)) {
+      lingerTimer.shutdownNow();
+    }
+    if (Objects.nonNull(asyncDispatcher)) {
+      asyncDispatcher.close(closeTimeoutMillis);
+    }
     LOG.info("Stopped Sink Task");
   }
 
+  @Override
+  public void flush(Map<TopicPartition, OffsetAndMetadata> currentOffsets) {
+    // the offsets handed over by the framework include records still lingering in the open batch
+    drainBuffer();
+  }
+
+  @Override
+  public Map<TopicPartition, OffsetAndMetadata> preCommit(Map<TopicPartition, OffsetAndMetadata> currentOffsets) {
+    if (Objects.isNull(asyncDispatcher)) {
+      checkRewind();
+      try {
+        return super.preCommit(currentOffsets);
+      } catch (RetriableException exception) {
+        // failing the commit already rewinds to the last committed offsets
+        rewindRequired = false;
+        throw exception;
+      }
+    }
+
+    drainBuffer();
+
+    final Map<TopicPartition, OffsetAndMetadata> acknowledgedOffsets =
+      asyncDispatcher.getAcknowledgedOffsets(currentOffsets);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("ConnectorSinkTask: committing acknowledged offsets {} with {} batches in flight",
+        acknowledgedOffsets, asyncDispatcher.getInFlightCount());
+    }
+    return acknowledgedOffsets;
+  }
+
+  @Override
+  public void close(Collection<TopicPartition> partitions) {
+    drainBuffer();
+    if (Objects.nonNull(asyncDispatcher)) {
+      asyncDispatcher.awaitInFlight(closeTimeoutMillis);
+      partitions.forEach(asyncDispatcher::forget);
+    }
+    if (Objects.nonNull(backpressure)) {
+      backpressure.forget(partitions);
+    }
+  }
+
   @Override
   public void put(Collection<SinkRecord> records) {
+    // put is called after every poll, even an empty one, which makes it the place to resume paused partitions and
+    // to publish a batch that lingered long enough without a timer
+    updateBackpressure();
+    publishExpiredLingeringBatch();
     if (CollectionUtils.isEmpty(records)) {
       return;
     }
@@ -108,57 +256,296 @@ public abstract class AbstractSinkTask<T> extends SinkTask {
       LOG.debug("ConnectorSinkTask: {} sink records received", records.size());
     }
 
-    List<T> eventsToPublish = new ArrayList<>();
-    for (SinkRecord record : records) {
-      T dataToPublish = getDataToPublish(Pair.of(SinkUtils.getStringPayload(jsonValueConverter, record), record));
-      eventsToPublish.add(dataToPublish);
-      bytesRead += getPayloadLength(dataToPublish);
-      long tempCurrTime = System.currentTimeMillis();
-      if (flushNow(tempCurrTime)) {
-        publishAndLogIfRequired(eventsToPublish);
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("ConnectorSinkTask: {} events flushed partially", eventsToPublish.size());
+    checkLingerFailure();
+    checkSuspension();
+    if (Objects.nonNull(asyncDispatcher)) {
+      asyncDispatcher.ensureCapacity();
+    }
+
+    synchronized (batchLock) {
+      applyBatchControllerLimits();
+      for (SinkRecord record : records) {
+        T dataToPublish = getDataToPublish(record);
+        if (Objects.isNull(dataToPublish)) {
+          continue;
+        }
+
+        int payloadLength = getPayloadLength(dataToPublish);
+        if (batchBuilder.isOversized(payloadLength)) {
+          reportOversizedRecord(record, payloadLength);
+          continue;
+        }
+
+        boolean opensBatch = batchBuilder.isEmpty();
+        PublishBatch<T> overflowedBatch = batchBuilder.add(dataToPublish, record, payloadLength);
+        long tempCurrTime = System.currentTimeMillis();
+        if (Objects.nonNull(overflowedBatch)) {
+          batchGeneration++;
+          publishAndLogIfRequired(overflowedBatch, "partially");
+          reset(tempCurrTime);
+          opensBatch = true;
+        }
+        if (opensBatch) {
+          batchOpenedMilliSec = tempCurrTime;
+          scheduleLingerFlush();
+        }
+
+        if (flushNow(tempCurrTime)) {
+          publishAndLogIfRequired(sealBatch(), "partially");
+          reset(tempCurrTime);
         }
-        reset(eventsToPublish, tempCurrTime);
       }
-    }
 
-    if (!eventsToPublish.isEmpty()) {
-      publishAndLogIfRequired(eventsToPublish);
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("ConnectorSinkTask: {} events flushed finally", eventsToPublish.size());
+      // without a linger time every put is published on its own, otherwise the linger timer flushes the open batch
+      if (batchLingerMillis == 0 && !batchBuilder.isEmpty()) {
+        publishAndLogIfRequired(sealBatch(), "finally");
+        reset(System.currentTimeMillis());
       }
-      reset(eventsToPublish, System.currentTimeMillis());
     }
+    updateBackpressure();
   }
 
   public abstract void init(Map<String, String> properties,
     ErrantRecordReporter errantRecordReporter) throws AEPStreamingException;
 
+  /**
+   * @return the event to publish, or null when the record cannot be published and should be skipped
+   */
   public abstract T getDataToPublish(Pair<String, SinkRecord> sinkRecord);
 
+  /**
+   * Turns the value of the record into its JSON text before handing it to {@link #getDataToPublish(Pair)}. Tasks
+   * able to encode some values without the text override this.
+   *
+   * @return the event to publish, or null when the record cannot be published and should be skipped
+   */
+  protected T getDataToPublish(SinkRecord record) {
+    return getDataToPublish(Pair.of(SinkUtils.getStringPayload(jsonValueConverter, record), record));
+  }
+
+  /**
+   * @return the exact number of bytes the event adds to the body of a batch request
+   */
   public abstract int getPayloadLength(T dataToPublish);
 
   public abstract void publishData(List<T> eventsToPublish) throws AEPStreamingException;
 
+  /**
+   * Publishes a batch for the asynchronous dispatcher. Tasks whose publisher can wait for retries without holding a
+   * thread override this, by default the batch is published with {@link #publishData(List)}.
+   */
+  protected CompletableFuture<Void> publishDataAsync(List<T> eventsToPublish) {
+    return AsyncBatchDispatcher.toAsyncPublisher(this::publishData).publish(eventsToPublish);
+  }
+
+  /**
+   * @return millis publishing is suspended for while the endpoint is known to be down, 0 when records can be
+   *   published
+   */
+  protected long getPublishSuspensionMillis() {
+    return 0;
+  }
+
+  /**
+   * @return the listener the publisher has to notify with the outcome of every request, or null when the batch
+   *   limits are static
+   */
+  protected HttpResponseListener getResponseListener() {
+    return batchController;
+  }
+
+  private void createBatchController(Map<String, String> props, int maxInFlightBatches) {
+    batchController = AdaptiveBatchController.newBuilder()
+      .withBatchMessages(SinkUtils.getProperty(props, ADAPTIVE_MIN_BATCH_MESSAGES,
+        DEFAULT_ADAPTIVE_MIN_BATCH_MESSAGES, 1), batchMaxMessages)
+      .withBatchIncreaseStep(SinkUtils.getProperty(props, ADAPTIVE_BATCH_INCREASE_STEP,
+        DEFAULT_ADAPTIVE_BATCH_INCREASE_STEP, 1))
+      .withMaxInFlight(maxInFlightBatches)
+      .withLatencyTargetMillis(SinkUtils.getProperty(props, ADAPTIVE_LATENCY_TARGET_MS,
+        DEFAULT_ADAPTIVE_LATENCY_TARGET_MS, 1))
+      .withDecreaseFactor(Double.parseDouble(SinkUtils.getProperty(props, ADAPTIVE_DECREASE_FACTOR,
+        DEFAULT_ADAPTIVE_DECREASE_FACTOR)))
+      .build();
+    batchControllerName = JmxUtils.register(batchController, "adaptive-batch-controller",
+      props.get(CONNECTOR_NAME), props.get(AbstractSinkConnector.TASK_ID));
+    LOG.info("Adaptive batching enabled with latency target {} ms", batchController.getLatencyTargetMillis());
+  }
+
+  private void updateBackpressure() {
+    if (Objects.isNull(backpressure) || Objects.isNull(context)) {
+      return;
+    }
+
+    final long bufferedBytes;
+    synchronized (batchLock) {
+      bufferedBytes = batchBuilder.isEmpty() ? 0 : batchBuilder.getEncodedBytes();
+    }
+    backpressure.update(context, bufferedBytes + asyncDispatcher.getInFlightBytes(),
+      asyncDispatcher.isSaturated() || getPublishSuspensionMillis() > 0);
+  }
+
+  /**
+   * Hands the records back to Kafka Connect while publishing is suspended and they could not be published without
+   * waiting, that is always when publishing synchronously and once every in-flight slot is taken otherwise.
+   */
+  private void checkSuspension() {
+    final long suspensionMillis = getPublishSuspensionMillis();
+    if (suspensionMillis <= 0 || (Objects.nonNull(asyncDispatcher) && !asyncDispatcher.isSaturated())) {
+      return;
+    }
+
+    if (Objects.nonNull(context)) {
+      context.timeout(suspensionMillis);
+    }
+    throw new RetriableException(String.format("Publishing is suspended for %s ms, records will be redelivered",
+      suspensionMillis));
+  }
+
+  private void applyBatchControllerLimits() {
+    if (Objects.isNull(batchController)) {
+      return;
+    }
+
+    batchBuilder.setMaxMessages(batchController.getBatchMaxMessages());
+    if (Objects.nonNull(asyncDispatcher)) {
+      asyncDispatcher.setInFlightLimit(batchController.getMaxInFlightBatches());
+    }
+  }
+
   private boolean flushNow(long tempCurrTime) {
-    return tempCurrTime >= lastFlushMilliSec + flushIntervalMillis || bytesRead >= flushBytesCount;
+    if (batchBuilder.isFull()) {
+      return true;
+    }
+
+    return batchLingerMillis == 0 && tempCurrTime >= lastFlushMilliSec + flushIntervalMillis;
   }
 
-  private void publishAndLogIfRequired(List<T> eventsToPublish) {
+  private PublishBatch<T> sealBatch() {
+    batchGeneration++;
+    return batchBuilder.seal();
+  }
+
+  private void scheduleLingerFlush() {
+    if (Objects.isNull(lingerTimer)) {
+      return;
+    }
+
+    final long generation = batchGeneration;
+    lingerTimer.schedule(() -> flushLingeringBatch(generation), batchLingerMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void flushLingeringBatch(long generation) {
+    synchronized (batchLock) {
+      // the batch this timer was armed for has already been published by put, flush or an overflow
+      if (generation != batchGeneration || batchBuilder.isEmpty() || Objects.nonNull(lingerFailure.get())) {
+        return;
+      }
+
+      try {
+        publishAndLogIfRequired(sealBatch(), "after linger");
+        reset(System.currentTimeMillis());
+      } catch (RuntimeException exception) {
+        LOG.error("ConnectorSinkTask: failed to publish lingering batch", exception);
+        lingerFailure.compareAndSet(null, exception);
+      }
+    }
+  }
+
+  private void publishExpiredLingeringBatch() {
+    if (batchLingerMillis == 0 || Objects.nonNull(lingerTimer)) {
+      return;
+    }
+
+    synchronized (batchLock) {
+      final long currentTime = System.currentTimeMillis();
+      if (!batchBuilder.isEmpty() && currentTime >= batchOpenedMilliSec + batchLingerMillis) {
+        publishAndLogIfRequired(sealBatch(), "after linger");
+        reset(currentTime);
+      }
+    }
+  }
+
+  private void drainBuffer() {
+    checkLingerFailure();
+    synchronized (batchLock) {
+      if (Objects.nonNull(batchBuilder) && !batchBuilder.isEmpty()) {
+        publishAndLogIfRequired(sealBatch(), "on drain");
+        reset(System.currentTimeMillis());
+      }
+    }
+  }
+
+  /**
+   * Fails the offset commit once a synchronously published batch was handed back, Kafka Connect then rewinds to the
+   * last committed offsets and redelivers every record of that batch. The open batch is dropped as it is redelivered
+   * as well.
+   */
+  private void checkRewind() {
+    if (!rewindRequired) {
+      return;
+    }
+
+    rewindRequired = false;
+    synchronized (batchLock) {
+      if (!batchBuilder.isEmpty()) {
+        sealBatch();
+      }
+    }
+    throw new RetriableException("A batch handed back while publishing held records of earlier puts, records " +
+      "will be redelivered from the last committed offsets");
+  }
+
+  private void checkLingerFailure() {
+    final RuntimeException exception = lingerFailure.get();
+    if (Objects.nonNull(exception)) {
+      throw exception instanceof ConnectException ? exception :
+        new ConnectException("Failed to sink records.", exception);
+    }
+  }
+
+  private void reportOversizedRecord(SinkRecord record, int payloadLength) {
+    final DataException exception = new DataException(String.format("Record of %s bytes exceeds the maximum " +
+      "batch request size of %s bytes", payloadLength, batchMaxBytes));
+    if (Objects.nonNull(errantRecordReporter)) {
+      errantRecordReporter.report(record, exception);
+    } else {
+      LOG.error("ConnectorSinkTask: dropping record from {}-{} at offset {}", record.topic(),
+        record.kafkaPartition(), record.kafkaOffset(), exception);
+    }
+  }
+
+  private void publishAndLogIfRequired(PublishBatch<T> batch, String stage) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("ConnectorSinkTask: {} events flushed {}", batch.size(), stage);
+    }
+
+    if (Objects.nonNull(asyncDispatcher)) {
+      asyncDispatcher.submit(batch);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("ConnectorSinkTask: {} events handed over for asynchronous publishing", batch.size());
+      }
+      return;
+    }
+
     try {
-      publishData(eventsToPublish);
+      publishData(batch.getEvents());
     } catch (AEPStreamingException e) {
       throw new ConnectException("Failed to sink records.", e);
+    } catch (RetriableException e) {
+      // a lingering batch also holds records of earlier puts, which Kafka Connect does not redeliver with this one
+      rewindRequired = batchLingerMillis > 0;
+      final long suspensionMillis = getPublishSuspensionMillis();
+      if (suspensionMillis > 0 && Objects.nonNull(context)) {
+        context.timeout(suspensionMillis);
+      }
+      throw e;
     }
     if (LOG.isDebugEnabled()) {
-      LOG.debug("ConnectorSinkTask: {} events sent to destination", eventsToPublish.size());
+      LOG.debug("ConnectorSinkTask: {} events sent to destination", batch.size());
     }
   }
 
-  private void reset(List<T> eventsToPublish, long tempCurrentTime) {
+  private void reset(long tempCurrentTime) {
     lastFlushMilliSec = tempCurrentTime;
-    bytesRead = 0;
-    eventsToPublish.clear();
   }
 }
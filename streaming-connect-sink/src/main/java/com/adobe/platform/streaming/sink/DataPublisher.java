@@ -13,10 +13,14 @@
 package com.adobe.platform.streaming.sink;
 
 import com.adobe.platform.streaming.AEPStreamingException;
+import com.adobe.platform.streaming.sink.batch.AsyncBatchDispatcher;
+import com.adobe.platform.streaming.sink.batch.MessagePayload;
+
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.kafka.connect.sink.SinkRecord;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Adobe Inc.
@@ -25,7 +29,22 @@ public interface DataPublisher {
 
   void start();
 
-  void publishData(List<Pair<String, SinkRecord>> messages) throws AEPStreamingException;
+  void publishData(List<Pair<MessagePayload, SinkRecord>> messages) throws AEPStreamingException;
+
+  /**
+   * @return a future completing once the messages are published, or failing with the exception
+   *   {@link #publishData(List)} would have thrown
+   */
+  default CompletableFuture<Void> publishDataAsync(List<Pair<MessagePayload, SinkRecord>> messages) {
+    return AsyncBatchDispatcher.toAsyncPublisher(this::publishData).publish(messages);
+  }
+
+  /**
+   * @return millis publishing is suspended for while the endpoint is known to be down, 0 when messages can be sent
+   */
+  default long getSuspensionMillis() {
+    return 0;
+  }
 
   void stop();
 }
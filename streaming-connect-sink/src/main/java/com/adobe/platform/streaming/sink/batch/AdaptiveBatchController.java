@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.adobe.platform.streaming.http.HttpResponseListener;
+import com.adobe.platform.streaming.http.HttpUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Additive increase, multiplicative decrease control of the batch size and of the number of batches in flight.
+ * Both limits grow while AEP answers within the latency target, and are cut by the decrease factor as soon as AEP
+ * throttles, fails with a 5xx, cannot be reached or slows down past the target. A decrease is applied at most once
+ * per latency target so that the responses of one congestion episode do not collapse the limits to their minimum.
+ *
+ * @author Adobe Inc.
+ */
+public class AdaptiveBatchController implements AdaptiveBatchControllerMBean, HttpResponseListener {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AdaptiveBatchController.class);
+  private static final double LATENCY_SMOOTHING_FACTOR = 0.2;
+
+  private int minBatchMessages = 1;
+  private int maxBatchMessages = 1;
+  private int batchIncreaseStep = 1;
+  private int maxInFlight = 1;
+  private long latencyTargetMillis = 1000;
+  private double decreaseFactor = 0.5;
+
+  private volatile int batchMaxMessages;
+  private volatile int maxInFlightBatches;
+  private volatile double smoothedLatencyMillis;
+  private volatile long throttledResponses;
+  private volatile long serverErrorResponses;
+  private volatile long failedRequests;
+  private volatile long increases;
+  private volatile long decreases;
+  private int healthyResponses;
+  private long lastDecreaseMillis = Long.MIN_VALUE;
+
+  private AdaptiveBatchController() {
+  }
+
+  @Override
+  public void onResponse(int responseCode, long latencyMillis) {
+    onResponse(responseCode, latencyMillis, System.currentTimeMillis());
+  }
+
+  synchronized void onResponse(int responseCode, long latencyMillis, long nowMillis) {
+    smoothLatency(latencyMillis);
+    if (HttpUtil.isTooManyRequests(responseCode)) {
+      throttledResponses++;
+      decrease(nowMillis, "throttled by AEP");
+    } else if (HttpUtil.is5xx(responseCode)) {
+      serverErrorResponses++;
+      decrease(nowMillis, "server error " + responseCode);
+    } else if (smoothedLatencyMillis > latencyTargetMillis) {
+      decrease(nowMillis, "latency above target");
+    } else if (HttpUtil.is2xx(responseCode)) {
+      increase();
+    }
+  }
+
+  @Override
+  public void onFailure(IOException exception, long latencyMillis) {
+    onFailure(latencyMillis, System.currentTimeMillis());
+  }
+
+  synchronized void onFailure(long latencyMillis, long nowMillis) {
+    smoothLatency(latencyMillis);
+    failedRequests++;
+    decrease(nowMillis, "request failed");
+  }
+
+  private void smoothLatency(long latencyMillis) {
+    smoothedLatencyMillis = smoothedLatencyMillis == 0 ? latencyMillis :
+      smoothedLatencyMillis + LATENCY_SMOOTHING_FACTOR * (latencyMillis - smoothedLatencyMillis);
+  }
+
+  private void increase() {
+    final int previousBatchMaxMessages = batchMaxMessages;
+    final int previousMaxInFlightBatches = maxInFlightBatches;
+    batchMaxMessages = Math.min(maxBatchMessages, batchMaxMessages + batchIncreaseStep);
+    // one more batch in flight once every batch currently allowed in flight came back healthy
+    if (++healthyResponses >= maxInFlightBatches) {
+      healthyResponses = 0;
+      maxInFlightBatches = Math.min(maxInFlight, maxInFlightBatches + 1);
+    }
+
+    if (batchMaxMessages != previousBatchMaxMessages || maxInFlightBatches != previousMaxInFlightBatches) {
+      increases++;
+    }
+  }
+
+  private void decrease(long nowMillis, String reason) {
+    healthyResponses = 0;
+    if (lastDecreaseMillis != Long.MIN_VALUE && nowMillis - lastDecreaseMillis < latencyTargetMillis) {
+      return;
+    }
+
+    lastDecreaseMillis = nowMillis;
+    batchMaxMessages = Math.max(minBatchMessages, (int) (batchMaxMessages * decreaseFactor));
+    maxInFlightBatches = Math.max(1, (int) (maxInFlightBatches * decreaseFactor));
+    decreases++;
+    LOG.info("Backing off, {}: batch max messages {}, max in-flight batches {}", reason, batchMaxMessages,
+      maxInFlightBatches);
+  }
+
+  @Override
+  public int getBatchMaxMessages() {
+    return batchMaxMessages;
+  }
+
+  @Override
+  public int getMaxInFlightBatches() {
+    return maxInFlightBatches;
+  }
+
+  @Override
+  public long getSmoothedLatencyMillis() {
+    return Math.round(smoothedLatencyMillis);
+  }
+
+  @Override
+  public long getLatencyTargetMillis() {
+    return latencyTargetMillis;
+  }
+
+  @Override
+  public long getThrottledResponses() {
+    return throttledResponses;
+  }
+
+  @Override
+  public long getServerErrorResponses() {
+    return serverErrorResponses;
+  }
+
+  @Override
+  public long getFailedRequests() {
+    return failedRequests;
+  }
+
+  @Override
+  public long getIncreases() {
+    return increases;
+  }
+
+  @Override
+  public long getDecreases() {
+    return decreases;
+  }
+
+  public static AdaptiveBatchControllerBuilder newBuilder() {
+    return new AdaptiveBatchControllerBuilder(new AdaptiveBatchController());
+  }
+
+  /**
+   * @author Adobe Inc.
+   */
+  public static class AdaptiveBatchControllerBuilder {
+    private final AdaptiveBatchController instance;
+
+    AdaptiveBatchControllerBuilder(AdaptiveBatchController instance) {
+      this.instance = instance;
+    }
+
+    public AdaptiveBatchControllerBuilder withBatchMessages(int minBatchMessages, int maxBatchMessages) {
+      instance.minBatchMessages = Math.max(1, Math.min(minBatchMessages, maxBatchMessages));
+      instance.maxBatchMessages = Math.max(instance.minBatchMessages, maxBatchMessages);
+      return this;
+    }
+
+    public AdaptiveBatchControllerBuilder withBatchIncreaseStep(int batchIncreaseStep) {
+      instance.batchIncreaseStep = Math.max(1, batchIncreaseStep);
+      return this;
+    }
+
+    public AdaptiveBatchControllerBuilder withMaxInFlight(int maxInFlight) {
+      instance.maxInFlight = Math.max(1, maxInFlight);
+      return this;
+    }
+
+    public AdaptiveBatchControllerBuilder withLatencyTargetMillis(long latencyTargetMillis) {
+      instance.latencyTargetMillis = latencyTargetMillis;
+      return this;
+    }
+
+    public AdaptiveBatchControllerBuilder withDecreaseFactor(double decreaseFactor) {
+      if (decreaseFactor <= 0 || decreaseFactor >= 1) {
+        throw new IllegalArgumentException("Decrease factor must be between 0 and 1: " + decreaseFactor);
+      }
+      instance.decreaseFactor = decreaseFactor;
+      return this;
+    }
+
+    public AdaptiveBatchController build() {
+      // start from the configured limits, the controller only has to back off when AEP pushes back
+      instance.batchMaxMessages = instance.maxBatchMessages;
+      instance.maxInFlightBatches = instance.maxInFlight;
+      return instance;
+    }
+  }
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.adobe.platform.streaming.AEPStreamingException;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.errors.RetriableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes sealed batches on a bounded pool of publisher threads so that the task thread does not wait for the
+ * AEP round trip. Batches sharing a partition are chained one after the other, which keeps the delivery order of
+ * every partition intact while batches of unrelated partitions are posted concurrently. With an
+ * {@link AsyncPublisher}, a batch waiting for a retry holds its in-flight slot but not a publisher thread. Records
+ * that never make it into a batch, because a transformation dropped them or they could not be published, become
+ * committable once their partition has no batch left in flight.
+ *
+ * @author Adobe Inc.
+ */
+public class AsyncBatchDispatcher<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncBatchDispatcher.class);
+
+  private final AsyncPublisher<T> publisher;
+  private final FullPolicy fullPolicy;
+  private final ResizableSemaphore inFlightPermits;
+  private final ExecutorService executor;
+  private final int maxInFlight;
+  private int inFlightLimit;
+
+  // callers serialize submit and forget, the sink task does so with its batch lock
+  private final Map<TopicPartition, CompletableFuture<Void>> partitionTails = new HashMap<>();
+
+  private final Map<TopicPartition, Long> acknowledgedOffsets = new ConcurrentHashMap<>();
+  private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+  private final AtomicLong inFlightBytes = new AtomicLong();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  public AsyncBatchDispatcher(Publisher<T> publisher, int maxInFlight, FullPolicy fullPolicy) {
+    this(toAsyncPublisher(publisher), maxInFlight, fullPolicy);
+  }
+
+  private AsyncBatchDispatcher(AsyncPublisher<T> publisher, int maxInFlight, FullPolicy fullPolicy) {
+    this.publisher = publisher;
+    this.fullPolicy = fullPolicy;
+    this.maxInFlight = maxInFlight;
+    this.inFlightLimit = maxInFlight;
+    this.inFlightPermits = new ResizableSemaphore(maxInFlight);
+    this.executor = Executors.newFixedThreadPool(maxInFlight, new ThreadFactoryBuilder()
+      .setNameFormat("aep-publisher-%d")
+      .setDaemon(true)
+      .build());
+  }
+
+  public static <T> AsyncBatchDispatcher<T> forAsyncPublisher(AsyncPublisher<T> publisher, int maxInFlight,
+    FullPolicy fullPolicy) {
+    return new AsyncBatchDispatcher<>(publisher, maxInFlight, fullPolicy);
+  }
+
+  public void ensureCapacity() {
+    checkFailure();
+    if (fullPolicy == FullPolicy.RETRY && isSaturated()) {
+      throw new RetriableException("All in-flight publish slots are taken, records will be redelivered");
+    }
+  }
+
+  /**
+   * Changes the number of batches allowed in flight, up to the size of the publisher pool. Lowering the limit does
+   * not interrupt batches already in flight, it only holds back new ones until enough of them complete.
+   */
+  public void setInFlightLimit(int limit) {
+    final int newLimit = Math.max(1, Math.min(maxInFlight, limit));
+    final int delta = newLimit - inFlightLimit;
+    if (delta > 0) {
+      inFlightPermits.release(delta);
+    } else if (delta < 0) {
+      inFlightPermits.reducePermits(-delta);
+    }
+    inFlightLimit = newLimit;
+  }
+
+  public int getInFlightLimit() {
+    return inFlightLimit;
+  }
+
+  public void submit(PublishBatch<T> batch) {
+    checkFailure();
+    try {
+      inFlightPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConnectException("Interrupted while waiting for an in-flight publish slot", e);
+    }
+
+    final CompletableFuture<?>[] predecessors = batch.getOffsets().keySet().stream()
+      .map(partitionTails::get)
+      .filter(Objects::nonNull)
+      .toArray(CompletableFuture[]::new);
+
+    // a failed predecessor must not release its successors out of order, so failures are absorbed here and
+    // surfaced to the task thread through checkFailure()
+    // the tracked future completes once the outcome is recorded, so that awaitInFlight() never returns before a
+    // failure is visible to checkFailure()
+    inFlightBytes.addAndGet(batch.getBytes());
+    final CompletableFuture<Void> future = CompletableFuture.allOf(predecessors)
+      .handle((ignored, throwable) -> null)
+      .thenComposeAsync(ignored -> publish(batch), executor)
+      .whenComplete((ignored, throwable) -> {
+        if (throwable != null) {
+          failure.compareAndSet(null, throwable instanceof CompletionException ? throwable.getCause() : throwable);
+        }
+        inFlightBytes.addAndGet(-batch.getBytes());
+        inFlightPermits.release();
+      });
+
+    inFlight.add(future);
+    future.whenComplete((ignored, throwable) -> inFlight.remove(future));
+    batch.getOffsets().keySet().forEach(partition -> partitionTails.put(partition, future));
+  }
+
+  /**
+   * Callers submit the batch they are filling before asking, so that every record handed to the task is either in
+   * a submitted batch or was skipped.
+   *
+   * @param currentOffsets the offsets of the records handed to the task, including those transformations dropped
+   * @return the offsets up to which records are acknowledged, which are the current offsets for partitions without
+   *   a batch in flight
+   */
+  public Map<TopicPartition, OffsetAndMetadata> getAcknowledgedOffsets(
+    Map<TopicPartition, OffsetAndMetadata> currentOffsets) {
+    checkFailure();
+    final ImmutableMap.Builder<TopicPartition, OffsetAndMetadata> offsets = ImmutableMap.builder();
+    for (Map.Entry<TopicPartition, OffsetAndMetadata> current : currentOffsets.entrySet()) {
+      final TopicPartition partition = current.getKey();
+      Long offset = acknowledgedOffsets.get(partition);
+      final CompletableFuture<Void> tail = partitionTails.get(partition);
+      if (tail == null || tail.isDone()) {
+        // the records after the last acknowledged batch were dropped or skipped
+        offset = offset == null ? current.getValue().offset() : Math.max(offset, current.getValue().offset());
+      }
+      if (offset != null) {
+        offsets.put(partition, new OffsetAndMetadata(offset));
+      }
+    }
+
+    // a batch skipped after a failure completes normally, the failure is recorded before it does
+    checkFailure();
+    return offsets.build();
+  }
+
+  public void forget(TopicPartition partition) {
+    partitionTails.remove(partition);
+    acknowledgedOffsets.remove(partition);
+  }
+
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  public long getInFlightBytes() {
+    return inFlightBytes.get();
+  }
+
+  public boolean isSaturated() {
+    return inFlightPermits.availablePermits() <= 0;
+  }
+
+  public void awaitInFlight(long timeoutMs) {
+    try {
+      CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      LOG.debug("In-flight batch completed exceptionally", e.getCause());
+    } catch (TimeoutException e) {
+      LOG.warn("{} batches still in flight after waiting {} ms", inFlight.size(), timeoutMs);
+    }
+  }
+
+  public void close(long timeoutMs) {
+    awaitInFlight(timeoutMs);
+    executor.shutdownNow();
+  }
+
+  private CompletableFuture<Void> publish(PublishBatch<T> batch) {
+    if (failure.get() != null) {
+      LOG.debug("Skipping batch of {} events after an earlier publish failure", batch.size());
+      return CompletableFuture.completedFuture(null);
+    }
+
+    return publisher.publish(batch.getEvents()).thenRun(() -> batch.getOffsets()
+      .forEach((partition, offset) -> acknowledgedOffsets.merge(partition, offset, Math::max)));
+  }
+
+  /**
+   * @return a publisher completing the future of every batch once the given publisher returned, or failing it with
+   *   the exception the publisher threw
+   */
+  public static <T> AsyncPublisher<T> toAsyncPublisher(Publisher<T> publisher) {
+    return events -> {
+      final CompletableFuture<Void> published = new CompletableFuture<>();
+      try {
+        publisher.publish(events);
+        published.complete(null);
+      } catch (AEPStreamingException e) {
+        published.completeExceptionally(e);
+      }
+      return published;
+    };
+  }
+
+  private void checkFailure() {
+    final Throwable throwable = failure.get();
+    if (throwable != null) {
+      throw new ConnectException("Failed to sink records.", throwable);
+    }
+  }
+
+  private static class ResizableSemaphore extends Semaphore {
+
+    ResizableSemaphore(int permits) {
+      super(permits);
+    }
+
+    @Override
+    protected void reducePermits(int reduction) {
+      super.reducePermits(reduction);
+    }
+  }
+
+  /**
+   * @author Adobe Inc.
+   */
+  @FunctionalInterface
+  public interface Publisher<T> {
+
+    void publish(List<T> events) throws AEPStreamingException;
+
+  }
+
+  /**
+   * Publishes a batch without holding the calling thread until it is acknowledged.
+   *
+   * @author Adobe Inc.
+   */
+  @FunctionalInterface
+  public interface AsyncPublisher<T> {
+
+    /**
+     * @return a future completing once the events are acknowledged, or failing with the publish failure
+     */
+    CompletableFuture<Void> publish(List<T> events);
+
+  }
+
+  /**
+   * @author Adobe Inc.
+   */
+  public enum FullPolicy {
+
+    BLOCK("block"),
+    RETRY("retry");
+
+    private final String name;
+
+    FullPolicy(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public static FullPolicy getFullPolicy(String name) {
+      for (FullPolicy policy : values()) {
+        if (policy.name.equalsIgnoreCase(name)) {
+          return policy;
+        }
+      }
+
+      throw new IllegalArgumentException("No in-flight full policy found: " + name);
+    }
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import org.apache.kafka.connect.sink.SinkRecord;
+
+/**
+ * Packs events into batches that stay within the request limits of the batch inlet. The size of a batch is the
+ * exact length of the request body the {@link BatchEnvelopeWriter} produces for it, envelope and separators
+ * included, so a batch is only sealed once the next event no longer fits.
+ *
+ * @author Adobe Inc.
+ */
+public class BatchBuilder<T> {
+
+  // smallest possible message, an empty JSON object, preceded by its separator
+  private static final int MIN_MESSAGE_LENGTH = BatchEnvelopeWriter.SEPARATOR_LENGTH + 2;
+
+  private final int maxBytes;
+  private int maxMessages;
+
+  private PublishBatch<T> current = new PublishBatch<>();
+  private int encodedBytes = BatchEnvelopeWriter.ENVELOPE_OVERHEAD;
+
+  public BatchBuilder(int maxBytes, int maxMessages) {
+    this.maxBytes = maxBytes;
+    this.maxMessages = maxMessages;
+  }
+
+  /**
+   * @return true when a batch holding only this event would still exceed the request size limit
+   */
+  public boolean isOversized(int length) {
+    return BatchEnvelopeWriter.ENVELOPE_OVERHEAD + length > maxBytes;
+  }
+
+  /**
+   * Adds the event to the open batch, sealing the open batch first when the event would overflow it.
+   *
+   * @return the batch sealed to make room for the event, or null when the event fit into the open batch
+   */
+  public PublishBatch<T> add(T event, SinkRecord record, int length) {
+    PublishBatch<T> sealed = null;
+    if (!current.isEmpty() &&
+      (current.size() >= maxMessages || encodedBytes + BatchEnvelopeWriter.SEPARATOR_LENGTH + length > maxBytes)) {
+      sealed = seal();
+    }
+
+    encodedBytes += (current.isEmpty() ? 0 : BatchEnvelopeWriter.SEPARATOR_LENGTH) + length;
+    current.add(event, record, length);
+    return sealed;
+  }
+
+  /**
+   * Changes the message limit of the open batch and of the batches that follow it.
+   */
+  public void setMaxMessages(int maxMessages) {
+    this.maxMessages = Math.max(1, maxMessages);
+  }
+
+  public boolean isFull() {
+    return current.size() >= maxMessages || encodedBytes + MIN_MESSAGE_LENGTH > maxBytes;
+  }
+
+  public boolean isEmpty() {
+    return current.isEmpty();
+  }
+
+  public int getEncodedBytes() {
+    return encodedBytes;
+  }
+
+  public int size() {
+    return current.size();
+  }
+
+  public PublishBatch<T> seal() {
+    final PublishBatch<T> sealed = current;
+    current = new PublishBatch<>();
+    encodedBytes = BatchEnvelopeWriter.ENVELOPE_OVERHEAD;
+    return sealed;
+  }
+
+}
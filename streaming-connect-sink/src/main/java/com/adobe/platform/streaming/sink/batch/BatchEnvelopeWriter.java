@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.http.HttpRequestBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Streams the {"messages":[...]} body of a batch request, letting each message write itself straight into the
+ * generator.
+ *
+ * @author Adobe Inc.
+ */
+public class BatchEnvelopeWriter {
+
+  private static final SerializedString MESSAGES_KEY = new SerializedString("messages");
+  static final int ENVELOPE_OVERHEAD = "{\"messages\":[]}".length();
+  static final int SEPARATOR_LENGTH = 1;
+
+  public byte[] write(List<? extends MessagePayload> payloads) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(getEncodedLength(payloads));
+    write(payloads, out);
+    return out.toByteArray();
+  }
+
+  /**
+   * @return a request body streaming the envelope into the connection with chunked encoding instead of holding the
+   *   whole batch in memory, every retry writes the envelope again from the payloads
+   */
+  public HttpRequestBody newStreamingBody(List<? extends MessagePayload> payloads) {
+    return new StreamingEnvelopeBody(payloads);
+  }
+
+  public void write(List<? extends MessagePayload> payloads, OutputStream out) throws IOException {
+    try (JsonGenerator generator = JacksonFactory.JSON_FACTORY.createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.writeStartObject();
+      generator.writeFieldName(MESSAGES_KEY);
+      generator.writeStartArray();
+      for (MessagePayload payload : payloads) {
+        payload.writeTo(generator);
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+  }
+
+  public static int getEncodedLength(List<? extends MessagePayload> payloads) {
+    int length = ENVELOPE_OVERHEAD;
+    for (MessagePayload payload : payloads) {
+      length += payload.getEncodedLength();
+    }
+
+    return length + Math.max(0, payloads.size() - 1) * SEPARATOR_LENGTH;
+  }
+
+  private class StreamingEnvelopeBody implements HttpRequestBody {
+
+    private final List<? extends MessagePayload> payloads;
+
+    StreamingEnvelopeBody(List<? extends MessagePayload> payloads) {
+      this.payloads = payloads;
+    }
+
+    @Override
+    public long getContentLength() {
+      return -1;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+      write(payloads, out);
+    }
+  }
+
+}
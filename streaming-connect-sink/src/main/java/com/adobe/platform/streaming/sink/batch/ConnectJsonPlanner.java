@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.DataException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Compiles the schema of Connect values once into a plan that emits them to a {@link ConnectJsonSink} the way a
+ * JsonConverter with schemas disabled writes them. Plans are cached by schema identity: converters like the Avro and
+ * Protobuf ones hand out the same schema instance for every record of a schema version, so their records only walk
+ * their values. A planner is meant to be used by a single task thread.
+ *
+ * @author Adobe Inc.
+ */
+public class ConnectJsonPlanner {
+
+  private static final int MAX_CACHED_SCHEMAS = 1000;
+
+  private final Map<Schema, Plan> plans = new IdentityHashMap<>();
+
+  public Plan getPlan(Schema schema) {
+    Plan plan = plans.get(schema);
+    if (plan == null) {
+      if (plans.size() >= MAX_CACHED_SCHEMAS) {
+        // schemas are not reused by the converter, caching them would only hold on to them
+        plans.clear();
+      }
+      plan = compile(schema);
+      plans.put(schema, plan);
+    }
+
+    return plan;
+  }
+
+  int getCachedPlans() {
+    return plans.size();
+  }
+
+  /**
+   * Wraps the plan of the schema with the null handling of JsonConverter: a null value is replaced by the default of
+   * the schema, emitted as null when the schema is optional, and rejected otherwise.
+   */
+  private static Plan compile(Schema schema) {
+    final Plan plan = compileNonNull(schema);
+    final Object defaultValue = schema.defaultValue();
+    final boolean optional = schema.isOptional();
+    return (sink, value) -> {
+      if (value != null) {
+        plan.write(sink, value);
+      } else if (defaultValue != null) {
+        plan.write(sink, defaultValue);
+      } else if (optional) {
+        sink.writeNull();
+      } else {
+        throw new DataException("Conversion error: null value for field that is required and has no default value");
+      }
+    };
+  }
+
+  private static Plan compileNonNull(Schema schema) {
+    final String logicalName = schema.name();
+    if (Decimal.LOGICAL_NAME.equals(logicalName)) {
+      // decimals are written in the default decimal.format of JsonConverter, base64 of the unscaled value
+      return (sink, value) -> sink.writeBinary(Decimal.fromLogical(schema,
+        checkLogicalType(value, BigDecimal.class, "Decimal")));
+    } else if (Date.LOGICAL_NAME.equals(logicalName)) {
+      return (sink, value) -> sink.writeNumber(Date.fromLogical(schema,
+        checkLogicalType(value, java.util.Date.class, "Date")));
+    } else if (Time.LOGICAL_NAME.equals(logicalName)) {
+      return (sink, value) -> sink.writeNumber(Time.fromLogical(schema,
+        checkLogicalType(value, java.util.Date.class, "Time")));
+    } else if (Timestamp.LOGICAL_NAME.equals(logicalName)) {
+      return (sink, value) -> sink.writeNumber(Timestamp.fromLogical(schema,
+        checkLogicalType(value, java.util.Date.class, "Timestamp")));
+    }
+
+    switch (schema.type()) {
+      case INT8:
+        return (sink, value) -> sink.writeNumber((int) (Byte) value);
+      case INT16:
+        return (sink, value) -> sink.writeNumber((Short) value);
+      case INT32:
+        return (sink, value) -> sink.writeNumber((Integer) value);
+      case INT64:
+        return (sink, value) -> sink.writeNumber((Long) value);
+      case FLOAT32:
+        return (sink, value) -> sink.writeNumber((Float) value);
+      case FLOAT64:
+        return (sink, value) -> sink.writeNumber((Double) value);
+      case BOOLEAN:
+        return (sink, value) -> sink.writeBoolean((Boolean) value);
+      case STRING:
+        return (sink, value) -> sink.writeString(((CharSequence) value).toString());
+      case BYTES:
+        return ConnectJsonPlanner::writeBytes;
+      case ARRAY:
+        return compileArray(schema);
+      case MAP:
+        return schema.keySchema().type() == Schema.Type.STRING ? compileObjectMap(schema) : compileEntryMap(schema);
+      case STRUCT:
+        return compileStruct(schema);
+      default:
+        throw new DataException("Couldn't convert schema type " + schema.type() + " to JSON.");
+    }
+  }
+
+  private static Plan compileArray(Schema schema) {
+    final Plan elementPlan = compile(schema.valueSchema());
+    return (sink, value) -> {
+      sink.writeStartArray();
+      for (Object element : (Collection<?>) value) {
+        elementPlan.write(sink, element);
+      }
+      sink.writeEndArray();
+    };
+  }
+
+  /**
+   * Maps with string keys are written as JSON objects.
+   */
+  private static Plan compileObjectMap(Schema schema) {
+    final Schema keySchema = schema.keySchema();
+    final Plan valuePlan = compile(schema.valueSchema());
+    return (sink, value) -> {
+      sink.writeStartObject();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        sink.writeFieldName(getFieldName(keySchema, entry.getKey()));
+        valuePlan.write(sink, entry.getValue());
+      }
+      sink.writeEndObject();
+    };
+  }
+
+  /**
+   * Maps with keys of any other type are written as an array of [key, value] arrays.
+   */
+  private static Plan compileEntryMap(Schema schema) {
+    final Plan keyPlan = compile(schema.keySchema());
+    final Plan valuePlan = compile(schema.valueSchema());
+    return (sink, value) -> {
+      sink.writeStartArray();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        sink.writeStartArray();
+        keyPlan.write(sink, entry.getKey());
+        valuePlan.write(sink, entry.getValue());
+        sink.writeEndArray();
+      }
+      sink.writeEndArray();
+    };
+  }
+
+  private static Plan compileStruct(Schema schema) {
+    final Field[] fields = schema.fields().toArray(new Field[0]);
+    final SerializableString[] names = new SerializableString[fields.length];
+    final Plan[] fieldPlans = new Plan[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      names[i] = new SerializedString(fields[i].name());
+      fieldPlans[i] = compile(fields[i].schema());
+    }
+
+    return (sink, value) -> {
+      final Struct struct = (Struct) value;
+      if (struct.schema() != schema && !struct.schema().equals(schema)) {
+        throw new DataException("Mismatching schema.");
+      }
+
+      sink.writeStartObject();
+      for (int i = 0; i < fields.length; i++) {
+        sink.writeFieldName(names[i]);
+        fieldPlans[i].write(sink, struct.get(fields[i]));
+      }
+      sink.writeEndObject();
+    };
+  }
+
+  private static void writeBytes(ConnectJsonSink sink, Object value) throws IOException {
+    if (value instanceof byte[]) {
+      sink.writeBinary((byte[]) value);
+    } else if (value instanceof ByteBuffer) {
+      // the whole backing array, as JsonConverter writes it
+      sink.writeBinary(((ByteBuffer) value).array());
+    } else {
+      throw new DataException("Invalid type for bytes type: " + value.getClass());
+    }
+  }
+
+  private static String getFieldName(Schema keySchema, Object key) {
+    if (key != null) {
+      return ((CharSequence) key).toString();
+    } else if (keySchema.defaultValue() != null) {
+      return keySchema.defaultValue().toString();
+    } else if (keySchema.isOptional()) {
+      return "null";
+    }
+
+    throw new DataException("Conversion error: null value for field that is required and has no default value");
+  }
+
+  private static <V> V checkLogicalType(Object value, Class<V> type, String logicalType) {
+    if (!type.isInstance(value)) {
+      throw new DataException("Invalid type for " + logicalType + ", expected " + type.getSimpleName() +
+        " but was " + value.getClass());
+    }
+
+    return type.cast(value);
+  }
+
+  /**
+   * The compiled emitter of the values of a schema.
+   *
+   * @author Adobe Inc.
+   */
+  @FunctionalInterface
+  public interface Plan {
+
+    /**
+     * @throws DataException when the value does not match the schema
+     * @throws ClassCastException when a value is not of the Java type its schema calls for
+     */
+    void write(ConnectJsonSink sink, Object value) throws IOException;
+
+  }
+
+}
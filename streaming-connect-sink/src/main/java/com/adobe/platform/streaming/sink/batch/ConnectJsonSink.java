@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+
+/**
+ * Receives the JSON a {@link ConnectJsonPlanner.Plan} emits for a Connect value, one token at a time, so the same plan
+ * can write the value to a generator or build it into a tree.
+ *
+ * @author Adobe Inc.
+ */
+public interface ConnectJsonSink {
+
+  void writeStartObject() throws IOException;
+
+  void writeEndObject() throws IOException;
+
+  void writeFieldName(SerializableString name) throws IOException;
+
+  void writeFieldName(String name) throws IOException;
+
+  void writeStartArray() throws IOException;
+
+  void writeEndArray() throws IOException;
+
+  void writeNull() throws IOException;
+
+  void writeBoolean(boolean value) throws IOException;
+
+  void writeNumber(short value) throws IOException;
+
+  void writeNumber(int value) throws IOException;
+
+  void writeNumber(long value) throws IOException;
+
+  void writeNumber(float value) throws IOException;
+
+  void writeNumber(double value) throws IOException;
+
+  void writeString(String value) throws IOException;
+
+  void writeBinary(byte[] value) throws IOException;
+
+}
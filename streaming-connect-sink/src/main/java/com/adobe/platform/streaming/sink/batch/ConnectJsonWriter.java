@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.adobe.platform.streaming.JacksonFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.errors.DataException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes Connect values that carry a schema as JSON, producing the same bytes as a JsonConverter with schemas
+ * disabled but without building a JsonNode tree or decoding the result into a String. The values are written by the
+ * plans of a {@link ConnectJsonPlanner}, compiled once per schema. A writer is meant to be used by a single task
+ * thread.
+ *
+ * @author Adobe Inc.
+ */
+public class ConnectJsonWriter {
+
+  // a buffer grown by an unusually large value is not kept around
+  private static final int MAX_RETAINED_BUFFER_BYTES = 1024 * 1024;
+
+  private final ConnectJsonPlanner planner = new ConnectJsonPlanner();
+  private final GeneratorSink sink = new GeneratorSink();
+  private ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+
+  /**
+   * @return the UTF-8 JSON of the value
+   * @throws DataException when the value does not match its schema
+   */
+  public byte[] write(Schema schema, Object value) {
+    final ConnectJsonPlanner.Plan plan = planner.getPlan(schema);
+    buffer.reset();
+    try (JsonGenerator generator = JacksonFactory.JSON_FACTORY.createGenerator(buffer)) {
+      sink.generator = generator;
+      plan.write(sink, value);
+    } catch (IOException e) {
+      throw new DataException("Failed to write value as JSON", e);
+    } catch (ClassCastException e) {
+      throw new DataException("Invalid type for schema " + schema.type() + ": " + e.getMessage(), e);
+    } finally {
+      sink.generator = null;
+    }
+
+    final byte[] json = buffer.toByteArray();
+    if (json.length > MAX_RETAINED_BUFFER_BYTES) {
+      buffer = new ByteArrayOutputStream(4096);
+    }
+    return json;
+  }
+
+  int getCachedPlans() {
+    return planner.getCachedPlans();
+  }
+
+  private static final class GeneratorSink implements ConnectJsonSink {
+
+    private JsonGenerator generator;
+
+    @Override
+    public void writeStartObject() throws IOException {
+      generator.writeStartObject();
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+      generator.writeEndObject();
+    }
+
+    @Override
+    public void writeFieldName(SerializableString name) throws IOException {
+      generator.writeFieldName(name);
+    }
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+      generator.writeFieldName(name);
+    }
+
+    @Override
+    public void writeStartArray() throws IOException {
+      generator.writeStartArray();
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+      generator.writeEndArray();
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+      generator.writeNull();
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+      generator.writeBoolean(value);
+    }
+
+    @Override
+    public void writeNumber(short value) throws IOException {
+      generator.writeNumber(value);
+    }
+
+    @Override
+    public void writeNumber(int value) throws IOException {
+      generator.writeNumber(value);
+    }
+
+    @Override
+    public void writeNumber(long value) throws IOException {
+      generator.writeNumber(value);
+    }
+
+    @Override
+    public void writeNumber(float value) throws IOException {
+      generator.writeNumber(value);
+    }
+
+    @Override
+    public void writeNumber(double value) throws IOException {
+      generator.writeNumber(value);
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+      generator.writeString(value);
+    }
+
+    @Override
+    public void writeBinary(byte[] value) throws IOException {
+      generator.writeBinary(value);
+    }
+  }
+
+}
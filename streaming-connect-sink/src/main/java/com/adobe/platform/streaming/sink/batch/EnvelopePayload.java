@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A message body that is already encoded as JSON, wrapped into an envelope rendered ahead of time. The envelope is
+ * kept as the bytes before and after the body, which are shared by every message using the same envelope, and all
+ * three parts are spliced into the batch envelope as they are.
+ *
+ * @author Adobe Inc.
+ */
+public final class EnvelopePayload implements MessagePayload {
+
+  private final byte[] prefix;
+  private final byte[] body;
+  private final byte[] suffix;
+
+  public EnvelopePayload(byte[] prefix, byte[] body, byte[] suffix) {
+    this.prefix = prefix;
+    this.body = body;
+    this.suffix = suffix;
+  }
+
+  public byte[] getBody() {
+    return body;
+  }
+
+  @Override
+  public int getEncodedLength() {
+    return prefix.length + body.length + suffix.length;
+  }
+
+  @Override
+  public void writeTo(JsonGenerator generator) throws IOException {
+    generator.writeRawValue(new RawJsonPayload.RawUtf8Value(prefix));
+    generator.writeRaw(new RawJsonPayload.RawUtf8Value(body));
+    generator.writeRaw(new RawJsonPayload.RawUtf8Value(suffix));
+  }
+
+  @Override
+  public String toString() {
+    return new String(prefix, StandardCharsets.UTF_8) + new String(body, StandardCharsets.UTF_8) +
+      new String(suffix, StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.adobe.platform.streaming.JacksonFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.apache.kafka.connect.errors.DataException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A record value carried as JSON through a chain of transformations and into the batch, holding the parsed tree, its
+ * UTF-8 encoding, or both. Each is produced from the other only when asked for and then kept, so a chain of
+ * transformations parses the value at most once and the sink encodes it once, reusing the bytes for the batch request
+ * and its retries. The value does not change once created: the tree returned by {@link #getTree()} is shared with
+ * every other reader and must not be changed, a transformation changing the value works on {@link #toOwnedTree()}
+ * and emits a new value. A value is meant to be used by a single task thread.
+ *
+ * @author Adobe Inc.
+ */
+public final class JsonValuePayload implements MessagePayload {
+
+  private JsonNode tree;
+  private byte[] utf8;
+
+  private JsonValuePayload(JsonNode tree, byte[] utf8) {
+    this.tree = tree;
+    this.utf8 = utf8;
+  }
+
+  public static JsonValuePayload of(JsonNode tree) {
+    return new JsonValuePayload(tree, null);
+  }
+
+  /**
+   * @return the value of bytes already known to hold a single well-formed JSON value, parsed only when needed
+   */
+  public static JsonValuePayload of(byte[] utf8) {
+    return new JsonValuePayload(null, utf8);
+  }
+
+  /**
+   * @return the parsed value, shared with every other reader of the value, which must not be changed
+   * @throws DataException when the bytes of the value cannot be parsed
+   */
+  public JsonNode getTree() {
+    if (tree == null) {
+      tree = parse();
+    }
+
+    return tree;
+  }
+
+  /**
+   * @return a tree of the value the caller owns and may change in place, a copy of the parsed tree when there is
+   *   one, parsed from the bytes otherwise
+   * @throws DataException when the bytes of the value cannot be parsed
+   */
+  public JsonNode toOwnedTree() {
+    return tree != null ? tree.deepCopy() : parse();
+  }
+
+  /**
+   * @return the UTF-8 JSON of the value
+   * @throws DataException when the tree cannot be written
+   */
+  public byte[] getBytes() {
+    if (utf8 == null) {
+      try {
+        utf8 = JacksonFactory.JSON_NODE_WRITER.writeValueAsBytes(tree);
+      } catch (IOException e) {
+        throw new DataException("Failed to write value as JSON", e);
+      }
+    }
+
+    return utf8;
+  }
+
+  /**
+   * @return a parser reading the value from whichever of its bytes or tree is at hand, without producing the other
+   */
+  public JsonParser createParser() throws IOException {
+    return utf8 != null ? JacksonFactory.JSON_FACTORY.createParser(utf8) :
+      tree.traverse(JacksonFactory.OBJECT_MAPPER);
+  }
+
+  private JsonNode parse() {
+    try {
+      return JacksonFactory.JSON_NODE_READER.readTree(utf8);
+    } catch (IOException e) {
+      throw new DataException("Failed to read value as JSON", e);
+    }
+  }
+
+  @Override
+  public int getEncodedLength() {
+    return getBytes().length;
+  }
+
+  @Override
+  public void writeTo(JsonGenerator generator) throws IOException {
+    generator.writeRawValue(new RawJsonPayload.RawUtf8Value(getBytes()));
+  }
+
+  @Override
+  public String toString() {
+    return new String(getBytes(), StandardCharsets.UTF_8);
+  }
+
+}
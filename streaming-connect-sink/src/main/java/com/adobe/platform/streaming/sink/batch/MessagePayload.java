@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * A single message of a batch request, written into the batch envelope without going through a JsonNode tree.
+ *
+ * @author Adobe Inc.
+ */
+public interface MessagePayload {
+
+  /**
+   * @return the exact number of UTF-8 bytes {@link #writeTo(JsonGenerator)} adds to the request body
+   */
+  int getEncodedLength();
+
+  void writeTo(JsonGenerator generator) throws IOException;
+
+}
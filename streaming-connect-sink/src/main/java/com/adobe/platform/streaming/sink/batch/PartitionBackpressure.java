@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.sink.batch;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.sink.SinkTaskContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Pauses the assigned partitions while the bytes buffered or in flight stay above a high-water mark, and resumes
+ * them once the publisher has drained below the low-water mark. A paused consumer keeps polling and stays in the
+ * group, where blocking the task thread in put until AEP catches up would eventually trigger a rebalance.
+ * All methods must be called from the task thread, the only thread allowed to touch the consumer.
+ *
+ * @author Adobe Inc.
+ */
+public class PartitionBackpressure {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PartitionBackpressure.class);
+
+  private final long pauseBytes;
+  private final long resumeBytes;
+  private final long checkIntervalMillis;
+  private final Set<TopicPartition> paused = new HashSet<>();
+
+  public PartitionBackpressure(long pauseBytes, long resumeBytes, long checkIntervalMillis) {
+    this.pauseBytes = pauseBytes;
+    this.resumeBytes = Math.min(resumeBytes, pauseBytes);
+    this.checkIntervalMillis = checkIntervalMillis;
+  }
+
+  /**
+   * @param outstandingBytes bytes buffered in the open batch or posted and not yet acknowledged
+   * @param saturated whether every in-flight publish slot is taken, or publishing is suspended
+   */
+  public void update(SinkTaskContext context, long outstandingBytes, boolean saturated) {
+    final boolean hold = saturated ||
+      (paused.isEmpty() ? outstandingBytes >= pauseBytes : outstandingBytes > resumeBytes);
+    if (hold) {
+      final Set<TopicPartition> partitions = new HashSet<>(context.assignment());
+      partitions.removeAll(paused);
+      if (!partitions.isEmpty()) {
+        context.pause(partitions.toArray(new TopicPartition[0]));
+        paused.addAll(partitions);
+        LOG.info("Pausing {} partitions with {} bytes outstanding", partitions.size(), outstandingBytes);
+      }
+    } else if (!paused.isEmpty()) {
+      context.resume(paused.toArray(new TopicPartition[0]));
+      LOG.info("Resuming {} partitions with {} bytes outstanding", paused.size(), outstandingBytes);
+      paused.clear();
+    }
+
+    if (!paused.isEmpty()) {
+      // paused partitions return no records, so ask for the next put early to notice when the publisher caught up
+      context.timeout(checkIntervalMillis);
+    }
+  }
+
+  public void forget(Collection<TopicPartition> partitions) {
+    paused.removeAll(partitions);
+  }
+
+  public boolean isPaused() {
+    return !paused.isEmpty();
+  }
+
+}
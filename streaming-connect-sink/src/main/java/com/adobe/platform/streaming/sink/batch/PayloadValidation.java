@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+/**
+ * How much of a record already encoded as JSON is checked before it is spliced into a batch. A record failing the
+ * check is skipped, one slipping through an incomplete check is rejected by the batch inlet.
+ *
+ * @author Adobe Inc.
+ */
+public enum PayloadValidation {
+
+  // tokenizes the whole value
+  FULL("full") {
+    @Override
+    boolean isValid(byte[] utf8) {
+      return RawJsonPayload.isWellFormed(utf8);
+    }
+  },
+  // balanced brackets and terminated strings only, without decoding the bytes
+  STRUCTURAL("structural") {
+    @Override
+    boolean isValid(byte[] utf8) {
+      return RawJsonPayload.isStructurallyValid(utf8);
+    }
+  },
+  NONE("none") {
+    @Override
+    boolean isValid(byte[] utf8) {
+      return utf8.length > 0;
+    }
+  };
+
+  private final String name;
+
+  PayloadValidation(String name) {
+    this.name = name;
+  }
+
+  abstract boolean isValid(byte[] utf8);
+
+  public String getName() {
+    return name;
+  }
+
+  public static PayloadValidation getPayloadValidation(String name) {
+    for (PayloadValidation validation : values()) {
+      if (validation.name.equalsIgnoreCase(name)) {
+        return validation;
+      }
+    }
+
+    throw new IllegalArgumentException("No payload validation found: " + name);
+  }
+
+}
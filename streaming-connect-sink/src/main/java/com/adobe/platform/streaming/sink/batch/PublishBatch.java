@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A sealed group of events published to AEP in a single request, together with the offsets that become
+ * committable once the request is acknowledged.
+ *
+ * @author Adobe Inc.
+ */
+public class PublishBatch<T> {
+
+  private final List<T> events = new ArrayList<>();
+  private final Map<TopicPartition, Long> offsets = new HashMap<>();
+  private int bytes;
+
+  public void add(T event, SinkRecord record, int length) {
+    events.add(event);
+    offsets.merge(new TopicPartition(record.topic(), record.kafkaPartition()), record.kafkaOffset() + 1, Math::max);
+    bytes += length;
+  }
+
+  public List<T> getEvents() {
+    return events;
+  }
+
+  public Map<TopicPartition, Long> getOffsets() {
+    return Collections.unmodifiableMap(offsets);
+  }
+
+  public int getBytes() {
+    return bytes;
+  }
+
+  public int size() {
+    return events.size();
+  }
+
+  public boolean isEmpty() {
+    return events.isEmpty();
+  }
+
+}
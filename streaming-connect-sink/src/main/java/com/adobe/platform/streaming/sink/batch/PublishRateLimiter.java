@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets holding the publish rate of a connector under its AEP ingestion quota, in messages and in bytes per
+ * second. The buckets are shared by all tasks of the connector running in this JVM, each task adding its share of
+ * the connector rate, so that a busy task can use the share of an idle one. Callers reserve before posting and are
+ * told how long to wait instead of being blocked, a bucket may be overdrawn by a batch larger than its burst.
+ *
+ * @author Adobe Inc.
+ */
+public class PublishRateLimiter {
+
+  private static final Map<String, PublishRateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+  private final Bucket messages;
+  private final Bucket bytes;
+
+  PublishRateLimiter(long nowMillis) {
+    this.messages = new Bucket(nowMillis);
+    this.bytes = new Bucket(nowMillis);
+  }
+
+  /**
+   * @return the limiter shared by all tasks of the named connector running in this JVM
+   */
+  public static PublishRateLimiter forConnector(String connectorName) {
+    return LIMITERS.computeIfAbsent(String.valueOf(connectorName),
+      name -> new PublishRateLimiter(System.currentTimeMillis()));
+  }
+
+  /**
+   * Adds the share of a task to the rates of the limiter, a rate of 0 leaves the limit off.
+   */
+  public Share register(double messagesPerSecond, double bytesPerSecond) {
+    adjust(messagesPerSecond, bytesPerSecond, System.currentTimeMillis());
+    return new Share(messagesPerSecond, bytesPerSecond);
+  }
+
+  synchronized void adjust(double messagesPerSecond, double bytesPerSecond, long nowMillis) {
+    messages.adjust(messagesPerSecond, nowMillis);
+    bytes.adjust(bytesPerSecond, nowMillis);
+  }
+
+  /**
+   * @return millis to wait before posting the reserved messages, 0 when they can be posted right away
+   */
+  synchronized long reserve(int messageCount, long byteCount, long nowMillis) {
+    return Math.max(messages.reserve(messageCount, nowMillis), bytes.reserve(byteCount, nowMillis));
+  }
+
+  synchronized double getMessagesPerSecond() {
+    return messages.ratePerSecond;
+  }
+
+  synchronized double getBytesPerSecond() {
+    return bytes.ratePerSecond;
+  }
+
+  /**
+   * The rates a task added to the limiter of its connector, given back when the task stops.
+   *
+   * @author Adobe Inc.
+   */
+  public final class Share {
+
+    private final double messagesPerSecond;
+    private final double bytesPerSecond;
+    private boolean released;
+
+    private Share(double messagesPerSecond, double bytesPerSecond) {
+      this.messagesPerSecond = messagesPerSecond;
+      this.bytesPerSecond = bytesPerSecond;
+    }
+
+    public long reserve(int messageCount, long byteCount) {
+      return PublishRateLimiter.this.reserve(messageCount, byteCount, System.currentTimeMillis());
+    }
+
+    public synchronized void release() {
+      if (!released) {
+        released = true;
+        adjust(-messagesPerSecond, -bytesPerSecond, System.currentTimeMillis());
+      }
+    }
+  }
+
+  private static class Bucket {
+
+    // rates left over by rounding once every share is released
+    private static final double MIN_RATE = 1e-6;
+
+    private double ratePerSecond;
+    private double tokens;
+    private long lastRefillMillis;
+
+    Bucket(long nowMillis) {
+      this.lastRefillMillis = nowMillis;
+    }
+
+    void adjust(double delta, long nowMillis) {
+      refill(nowMillis);
+      ratePerSecond = ratePerSecond + delta < MIN_RATE ? 0 : ratePerSecond + delta;
+      // a new share brings its one second burst along
+      tokens = Math.min(ratePerSecond, tokens + Math.max(0, delta));
+    }
+
+    long reserve(long permits, long nowMillis) {
+      if (ratePerSecond <= 0) {
+        return 0;
+      }
+
+      refill(nowMillis);
+      tokens -= permits;
+      return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * 1000 / ratePerSecond);
+    }
+
+    private void refill(long nowMillis) {
+      if (nowMillis > lastRefillMillis) {
+        tokens = Math.min(ratePerSecond, tokens + (nowMillis - lastRefillMillis) * ratePerSecond / 1000);
+        lastRefillMillis = nowMillis;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.adobe.platform.streaming.JacksonFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A message that is already encoded as JSON. Its UTF-8 bytes are spliced into the batch envelope as they are.
+ *
+ * @author Adobe Inc.
+ */
+public final class RawJsonPayload implements MessagePayload {
+
+  private final byte[] utf8;
+
+  private RawJsonPayload(byte[] utf8) {
+    this.utf8 = utf8;
+  }
+
+  /**
+   * @return the payload, or null when the value is not a single well-formed JSON value
+   */
+  public static RawJsonPayload validated(String json) {
+    return validated(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return the payload, or null when the value is not a single well-formed JSON value
+   */
+  public static RawJsonPayload validated(byte[] utf8) {
+    return validated(utf8, PayloadValidation.FULL);
+  }
+
+  /**
+   * @return the payload, or null when the value fails the validation
+   */
+  public static RawJsonPayload validated(String json, PayloadValidation validation) {
+    return validated(json.getBytes(StandardCharsets.UTF_8), validation);
+  }
+
+  /**
+   * @return the payload holding the bytes as they are, or null when they fail the validation
+   */
+  public static RawJsonPayload validated(byte[] utf8, PayloadValidation validation) {
+    return validation.isValid(utf8) ? new RawJsonPayload(utf8) : null;
+  }
+
+  /**
+   * @return the payload of bytes already known to hold a single well-formed JSON value, which are not parsed again
+   */
+  public static RawJsonPayload of(byte[] utf8) {
+    return new RawJsonPayload(utf8);
+  }
+
+  public byte[] getBytes() {
+    return utf8;
+  }
+
+  @Override
+  public int getEncodedLength() {
+    return utf8.length;
+  }
+
+  @Override
+  public void writeTo(JsonGenerator generator) throws IOException {
+    generator.writeRawValue(new RawUtf8Value(utf8));
+  }
+
+  @Override
+  public String toString() {
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  static boolean isWellFormed(byte[] utf8) {
+    try (JsonParser parser = JacksonFactory.JSON_FACTORY.createParser(utf8)) {
+      // the parser only checks the document length when it refills its buffer, which an in-memory value never does
+      JacksonFactory.JSON_FACTORY.streamReadConstraints().validateDocumentLength(utf8.length);
+      if (parser.nextToken() == null) {
+        return false;
+      }
+      // tokenizes the whole value without materializing it, then rejects anything trailing it
+      parser.skipChildren();
+      return parser.nextToken() == null;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Checks in a single pass over the bytes, without decoding them, that a JSON object or array has its brackets
+   * balanced and its strings terminated, and that nothing but whitespace trails it. Literals, numbers and separators
+   * are not looked at. Scalar values and containers nested deeper than the check tracks are tokenized instead.
+   */
+  static boolean isStructurallyValid(byte[] utf8) {
+    int position = skipWhitespace(utf8, 0);
+    if (position == utf8.length || (utf8[position] != '{' && utf8[position] != '[')) {
+      return isWellFormed(utf8);
+    }
+
+    // one bit per open container, set for objects
+    long containers = 0;
+    int depth = 0;
+    boolean inString = false;
+    for (; position < utf8.length; position++) {
+      final byte b = utf8[position];
+      if (inString) {
+        if (b == '\\') {
+          position++;
+        } else if (b == '"') {
+          inString = false;
+        } else if (b >= 0 && b < 0x20) {
+          return false;
+        }
+        continue;
+      }
+
+      switch (b) {
+        case '"':
+          inString = true;
+          break;
+        case '{':
+        case '[':
+          if (depth == Long.SIZE) {
+            return isWellFormed(utf8);
+          }
+          containers = containers << 1 | (b == '{' ? 1 : 0);
+          depth++;
+          break;
+        case '}':
+        case ']':
+          if (depth == 0 || ((containers & 1) == 1) != (b == '}')) {
+            return false;
+          }
+          containers >>>= 1;
+          if (--depth == 0) {
+            return skipWhitespace(utf8, position + 1) == utf8.length;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    return false;
+  }
+
+  private static int skipWhitespace(byte[] utf8, int position) {
+    while (position < utf8.length &&
+        (utf8[position] == ' ' || utf8[position] == '\n' || utf8[position] == '\r' || utf8[position] == '\t')) {
+      position++;
+    }
+    return position;
+  }
+
+  /**
+   * Exposes already encoded bytes to {@link JsonGenerator#writeRawValue(SerializableString)}, which copies them into
+   * the generator buffer, or writes them through directly when they do not fit.
+   */
+  static final class RawUtf8Value implements SerializableString {
+
+    private final byte[] utf8;
+
+    RawUtf8Value(byte[] utf8) {
+      this.utf8 = utf8;
+    }
+
+    @Override
+    public String getValue() {
+      return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int charLength() {
+      return getValue().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+      throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+      return utf8;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+      throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+      throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+      throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+      if (offset + utf8.length > buffer.length) {
+        return -1;
+      }
+      System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+      return utf8.length;
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+      final String value = getValue();
+      if (offset + value.length() > buffer.length) {
+        return -1;
+      }
+      value.getChars(0, value.length(), buffer, offset);
+      return value.length();
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) {
+      throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+      out.write(utf8);
+      return utf8.length;
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) {
+      throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) {
+      if (utf8.length > buffer.remaining()) {
+        return -1;
+      }
+      buffer.put(utf8);
+      return utf8.length;
+    }
+  }
+
+}
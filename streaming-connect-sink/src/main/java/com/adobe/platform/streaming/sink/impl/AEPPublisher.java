@@ -13,28 +13,47 @@
 package com.adobe.platform.streaming.sink.impl;
 
 import com.adobe.platform.streaming.AEPStreamingException;
-import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.http.BatchResponse;
+import com.adobe.platform.streaming.http.CircuitBreakerOpenException;
 import com.adobe.platform.streaming.http.ContentHandler;
 import com.adobe.platform.streaming.http.HttpException;
 import com.adobe.platform.streaming.http.HttpProducer;
+import com.adobe.platform.streaming.http.HttpRequestBody;
+import com.adobe.platform.streaming.http.HttpResponseListener;
 import com.adobe.platform.streaming.http.HttpUtil;
+import com.adobe.platform.streaming.http.PooledHttpTransportMBean;
+import com.adobe.platform.streaming.http.RetryBudget;
+import com.adobe.platform.streaming.http.RetryPolicy;
+import com.adobe.platform.streaming.http.RetryScheduler;
 import com.adobe.platform.streaming.sink.AbstractAEPPublisher;
-
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.adobe.platform.streaming.sink.AbstractSinkConnector;
+import com.adobe.platform.streaming.sink.batch.BatchEnvelopeWriter;
+import com.adobe.platform.streaming.sink.batch.MessagePayload;
+import com.adobe.platform.streaming.sink.batch.PublishRateLimiter;
+import com.adobe.platform.streaming.sink.utils.JmxUtils;
+import com.adobe.platform.streaming.sink.utils.SinkUtils;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.kafka.connect.errors.RetriableException;
 import org.apache.kafka.connect.sink.ErrantRecordReporter;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.management.ObjectName;
 
 /**
  * @author Adobe Inc.
@@ -43,119 +62,268 @@ public class AEPPublisher extends AbstractAEPPublisher {
 
   private static final Logger LOG = LoggerFactory.getLogger(AEPPublisher.class);
 
-  private static final String MESSAGES_KEY = "messages";
-  private static final String RESPONSES_KEY = "responses";
-  private static final String STATUS_KEY = "status";
-  private static final String XACTIONID_KEY = "xactionId";
-  private static final String DASH = "-";
+  private static final String CONNECTOR_NAME = "name";
+  private static final String AEP_CONNECTION_STREAMING_ENABLED = "aep.connection.streaming.enabled";
 
-  private int count;
+  private final AtomicInteger count;
   private final HttpProducer producer;
   private final ErrantRecordReporter errorReporter;
+  private final BatchEnvelopeWriter envelopeWriter;
+  private final boolean streamingEnabled;
+  private final RetryPolicy partialRetryPolicy;
+  private final RetryBudget retryBudget;
+  private final PublishRateLimiter.Share rateLimiterShare;
+  private ObjectName connectionPoolName;
+  private ObjectName circuitBreakerName;
+  private ObjectName endpointBalancerName;
+  private volatile boolean stopped;
 
-  AEPPublisher(Map<String, String> props, ErrantRecordReporter errantRecordReporter) throws AEPStreamingException {
-    count = 0;
-    producer = getHttpProducer(props);
+  AEPPublisher(Map<String, String> props, ErrantRecordReporter errantRecordReporter,
+    HttpResponseListener responseListener) throws AEPStreamingException {
+    count = new AtomicInteger();
+    producer = getHttpProducer(props, responseListener);
     errorReporter = errantRecordReporter;
+    envelopeWriter = new BatchEnvelopeWriter();
+    streamingEnabled = Boolean.parseBoolean(SinkUtils.getProperty(props, AEP_CONNECTION_STREAMING_ENABLED, "false"));
+    partialRetryPolicy = getPartialRetryPolicy(props);
+    retryBudget = getRetryBudget(props);
+    rateLimiterShare = getRateLimiterShare(props);
+    if (producer.getTransport() instanceof PooledHttpTransportMBean) {
+      connectionPoolName = JmxUtils.register(producer.getTransport(), "http-connection-pool",
+        props.get(CONNECTOR_NAME), props.get(AbstractSinkConnector.TASK_ID));
+    }
+    if (producer.getCircuitBreaker() != null) {
+      circuitBreakerName = JmxUtils.register(producer.getCircuitBreaker(), "circuit-breaker",
+        props.get(CONNECTOR_NAME), props.get(AbstractSinkConnector.TASK_ID));
+    }
+    if (producer.getEndpointBalancer().size() > 1) {
+      endpointBalancerName = JmxUtils.register(producer.getEndpointBalancer(), "endpoint-balancer",
+        props.get(CONNECTOR_NAME), props.get(AbstractSinkConnector.TASK_ID));
+    }
   }
 
+  /**
+   * Publishes the messages on the calling thread. A request the circuit breaker refuses fails with a
+   * {@link RetriableException} instead of waiting for the breaker, which would hold the task thread and with it
+   * offset commits and rebalances.
+   */
   @Override
-  public void publishData(List<Pair<String, SinkRecord>> messages) throws AEPStreamingException {
+  public void publishData(List<Pair<MessagePayload, SinkRecord>> messages) throws AEPStreamingException {
+    try {
+      publish(messages, false).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AEPStreamingException("Interrupted while publishing", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof AEPStreamingException) {
+        throw (AEPStreamingException) e.getCause();
+      } else if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+
+      throw new AEPStreamingException("Failed to publish", e.getCause());
+    }
+  }
+
+  /**
+   * Posts the messages and handles the response once it arrives. Retries are scheduled by the producer, and
+   * requests over the connector rate limit are scheduled once it allows them, so no thread is held while waiting.
+   * Messages the response fails with a transient status are posted again in a follow-up request, the returned
+   * future completes once every message is either accepted or reported. Messages the circuit breaker refuses are
+   * held until it lets probes through, the asynchronous dispatcher bounds how many batches are held that way.
+   */
+  @Override
+  public CompletableFuture<Void> publishDataAsync(List<Pair<MessagePayload, SinkRecord>> messages) {
+    return publish(messages, true);
+  }
+
+  private CompletableFuture<Void> publish(List<Pair<MessagePayload, SinkRecord>> messages, boolean holdWhileOpen) {
+    final CompletableFuture<Void> published = new CompletableFuture<>();
     if (CollectionUtils.isEmpty(messages)) {
       LOG.debug("No messages to publish");
-      return;
+      published.complete(null);
+      return published;
     }
-    int failedMessageCount = 0;
-    int successMessageCount = 0;
-    int totalMessageCount;
 
-    final ArrayNode jsonMessages = JacksonFactory.OBJECT_MAPPER.createArrayNode();
+    publishAttempt(messages, 1, holdWhileOpen, published);
+    return published;
+  }
 
+  private void publishAttempt(List<Pair<MessagePayload, SinkRecord>> messages, int attempt, boolean holdWhileOpen,
+    CompletableFuture<Void> published) {
+    final List<MessagePayload> payloads = messages.stream().map(Pair::getKey).collect(Collectors.toList());
+    final long delayMillis = rateLimiterShare.reserve(payloads.size(),
+      payloads.stream().mapToLong(MessagePayload::getEncodedLength).sum());
+    if (delayMillis > 0) {
+      LOG.debug("Holding {} messages back for {} ms to stay under the publish rate limit", payloads.size(),
+        delayMillis);
+      RetryScheduler.schedule(() -> post(messages, payloads, attempt, holdWhileOpen, published), delayMillis);
+    } else {
+      post(messages, payloads, attempt, holdWhileOpen, published);
+    }
+  }
+
+  private void post(List<Pair<MessagePayload, SinkRecord>> messages, List<MessagePayload> payloads, int attempt,
+    boolean holdWhileOpen, CompletableFuture<Void> published) {
+    final CompletableFuture<BatchResponse> response;
     try {
-      messages.stream()
-          .map(Pair::getKey)
-          .map(key -> {
-            try {
-              return JacksonFactory.OBJECT_MAPPER.readTree(key);
-            } catch (JsonProcessingException e) {
-              LOG.debug("Found invalid JSON record in messages: {}", key);
-              return null;
-            }
-          })
-          .filter(Objects::nonNull)
-          .forEach(jsonMessages::add);
-
-      final JsonNode payload = JacksonFactory.OBJECT_MAPPER.createObjectNode()
-        .set(MESSAGES_KEY, jsonMessages);
-
-      totalMessageCount = jsonMessages.size();
-
-      final JsonNode response = producer.post(
-        StringUtils.EMPTY,
-        JacksonFactory.OBJECT_MAPPER.writeValueAsBytes(payload),
-        ContentHandler.jsonHandler()
-      );
-
-      count++;
-
-      if (!response.isNull() && !response.isEmpty()) {
-        JsonNode publishMessagesResponses = response.get(RESPONSES_KEY);
-        for (JsonNode messageResponse : publishMessagesResponses) {
-          if (messageResponse.hasNonNull(STATUS_KEY)) {
-            failedMessageCount++;
-            final Pair<String, SinkRecord> failedMessage = messages.get(getFailedMessageIndex(messageResponse));
-            LOG.debug("Failed to publish message: {} to Adobe Experience Platform due to the error: {}",
-              failedMessage, messageResponse);
-            if (Objects.nonNull(errorReporter)) {
-              final int responseCode = messageResponse.get(STATUS_KEY).asInt();
-              errorReporter.report(failedMessage.getRight(),
-                new HttpException(String.format("error response= %s", messageResponse), responseCode));
-            }
-          } else {
-            successMessageCount++;
-          }
-        }
-        LOG.debug("Total publish message count = {}. Success message count = {}. Failed " +
-          "message count = {}.", totalMessageCount, successMessageCount, failedMessageCount);
-      } else {
-        LOG.error("Invalid Response received while publishing data to  Adobe Experience Platform: {}", response);
-      }
-    } catch (JsonProcessingException jsonException) {
-      LOG.error("Failed to publish data to Adobe Experience Platform", jsonException);
+      response = producer.postAsync(StringUtils.EMPTY, streamingEnabled ? envelopeWriter.newStreamingBody(payloads) :
+        HttpRequestBody.of(envelopeWriter.write(payloads)), ContentHandler.batchResponseHandler());
+    } catch (IOException ioException) {
+      LOG.error("Failed to publish data to Adobe Experience Platform", ioException);
       if (Objects.nonNull(errorReporter)) {
-        messages.forEach(message -> errorReporter.report(message.getValue(), jsonException));
+        messages.forEach(message -> errorReporter.report(message.getValue(), ioException));
+        published.complete(null);
       } else {
-        throw new AEPStreamingException("Failed to publish invalid JSON", jsonException);
+        published.completeExceptionally(new AEPStreamingException("Failed to publish invalid JSON", ioException));
       }
-    } catch (HttpException httpException) {
-      LOG.error("Failed to publish data to Adobe Experience Platform", httpException);
-      
-      final int responseCode = httpException.getResponseCode();
-      if (Objects.nonNull(errorReporter)) {
-        messages.forEach(message -> errorReporter.report(message.getValue(), httpException));
-      } else {
-        if (HttpUtil.is500(responseCode)) {
-          throw new AEPStreamingException("Failed to publish", httpException);
+      return;
+    }
+
+    response.whenComplete((batchResponse, throwable) -> {
+      try {
+        final Throwable failure = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        if (failure instanceof CircuitBreakerOpenException && holdWhileOpen) {
+          holdUntilProbe(messages, payloads, attempt, published, (CircuitBreakerOpenException) failure);
+          return;
+        } else if (failure instanceof CircuitBreakerOpenException) {
+          published.completeExceptionally(new RetriableException(String.format("Circuit breaker is open for %s " +
+            "ms, records will be redelivered", ((CircuitBreakerOpenException) failure).getRetryDelayMillis()),
+            failure));
+          return;
+        } else if (failure != null) {
+          handleFailure(messages, failure);
+          published.complete(null);
+          return;
+        }
+
+        final List<Pair<MessagePayload, SinkRecord>> retriableMessages = handleResponse(messages, batchResponse,
+          attempt);
+        if (retriableMessages.isEmpty()) {
+          published.complete(null);
+        } else {
+          RetryScheduler.schedule(() -> publishAttempt(retriableMessages, attempt + 1, holdWhileOpen, published),
+            partialRetryPolicy.getBackoffMillis(attempt, null));
         }
+      } catch (AEPStreamingException | RuntimeException e) {
+        published.completeExceptionally(e);
       }
+    });
+  }
+
+  /**
+   * Keeps the messages of a request the circuit breaker refused, they are neither failed nor reported while the
+   * endpoint is down, and posts them again once the breaker lets probes through.
+   */
+  private void holdUntilProbe(List<Pair<MessagePayload, SinkRecord>> messages, List<MessagePayload> payloads,
+    int attempt, CompletableFuture<Void> published, CircuitBreakerOpenException exception) {
+    if (stopped) {
+      published.completeExceptionally(new AEPStreamingException("Publisher stopped while the circuit was open",
+        exception));
+      return;
+    }
+
+    LOG.debug("Holding {} messages back for {} ms while the circuit breaker is open", messages.size(),
+      exception.getRetryDelayMillis());
+    RetryScheduler.schedule(() -> post(messages, payloads, attempt, true, published),
+      Math.max(1, exception.getRetryDelayMillis()));
+  }
+
+  /**
+   * Reports the messages failed for good and returns the ones to post again, those failed with a transient status
+   * while attempts and the retry budget last.
+   */
+  private List<Pair<MessagePayload, SinkRecord>> handleResponse(List<Pair<MessagePayload, SinkRecord>> messages,
+    BatchResponse response, int attempt) throws AEPStreamingException {
+    count.incrementAndGet();
+    if (!response.isValid()) {
+      LOG.error("Invalid Response received while publishing data to  Adobe Experience Platform");
+      return Collections.emptyList();
+    }
+
+    final List<Pair<Pair<MessagePayload, SinkRecord>, BatchResponse.Failure>> failedMessages = new ArrayList<>();
+    try {
+      for (BatchResponse.Failure failure : response.getFailures()) {
+        final Pair<MessagePayload, SinkRecord> failedMessage = messages.get(getFailedMessageIndex(failure));
+        LOG.debug("Failed to publish message: {} to Adobe Experience Platform due to the error: {}",
+          failedMessage, failure);
+        failedMessages.add(Pair.of(failedMessage, failure));
+      }
+    } catch (HttpException httpException) {
+      handleFailure(messages, httpException);
+      return Collections.emptyList();
+    }
+
+    final List<Pair<MessagePayload, SinkRecord>> retriableMessages = new ArrayList<>();
+    final boolean retryAllowed = attempt < partialRetryPolicy.getMaxAttempts() &&
+      failedMessages.stream().anyMatch(failedMessage -> isTransient(failedMessage.getRight())) &&
+      retryBudget.tryAcquireRetry();
+    for (Pair<Pair<MessagePayload, SinkRecord>, BatchResponse.Failure> failedMessage : failedMessages) {
+      final BatchResponse.Failure failure = failedMessage.getRight();
+      if (retryAllowed && isTransient(failure)) {
+        retriableMessages.add(failedMessage.getLeft());
+      } else if (Objects.nonNull(errorReporter)) {
+        errorReporter.report(failedMessage.getLeft().getRight(),
+          new HttpException(String.format("error response= %s", failure), failure.getStatus()));
+      }
+    }
+
+    LOG.debug("Total publish message count = {}. Success message count = {}. Failed " +
+      "message count = {}. Retried message count = {}.", messages.size(), messages.size() - failedMessages.size(),
+      failedMessages.size() - retriableMessages.size(), retriableMessages.size());
+    return retriableMessages;
+  }
+
+  private static boolean isTransient(BatchResponse.Failure failure) {
+    return HttpUtil.isTooManyRequests(failure.getStatus()) || HttpUtil.is5xx(failure.getStatus());
+  }
+
+  private void handleFailure(List<Pair<MessagePayload, SinkRecord>> messages, Throwable throwable)
+      throws AEPStreamingException {
+    if (throwable instanceof RuntimeException) {
+      throw (RuntimeException) throwable;
+    } else if (!(throwable instanceof HttpException)) {
+      throw new AEPStreamingException("Failed to publish", throwable);
+    }
+
+    final HttpException httpException = (HttpException) throwable;
+    LOG.error("Failed to publish data to Adobe Experience Platform", httpException);
 
-      if (HttpUtil.isUnauthorized(responseCode)) {
+    final int responseCode = httpException.getResponseCode();
+    if (Objects.nonNull(errorReporter)) {
+      messages.forEach(message -> errorReporter.report(message.getValue(), httpException));
+    } else {
+      if (HttpUtil.is500(responseCode)) {
         throw new AEPStreamingException("Failed to publish", httpException);
       }
     }
+
+    if (HttpUtil.isUnauthorized(responseCode)) {
+      throw new AEPStreamingException("Failed to publish", httpException);
+    }
   }
 
-  private Integer getFailedMessageIndex(final JsonNode messageResponse) throws HttpException {
-    if (messageResponse.hasNonNull(XACTIONID_KEY)) {
-      final String xactionId = messageResponse.get(XACTIONID_KEY).asText();
-      return Integer.parseInt(xactionId.substring(xactionId.lastIndexOf(DASH) + 1));
+  private int getFailedMessageIndex(final BatchResponse.Failure failure) throws HttpException {
+    if (failure.getIndex() >= 0) {
+      return failure.getIndex();
     }
     throw new HttpException(String.format("xactionId is missing in the failed message error response : %s",
-      messageResponse));
+      failure));
+  }
+
+  @Override
+  public long getSuspensionMillis() {
+    return producer.getCircuitBreaker() == null ? 0 : producer.getCircuitBreaker().getRetryDelayMillis();
   }
 
   public void stop() {
-    LOG.info("Stopping AEP Data Publisher after publishing {} messages", count);
+    LOG.info("Stopping AEP Data Publisher after publishing {} messages", count.get());
+    stopped = true;
+    JmxUtils.unregister(connectionPoolName);
+    JmxUtils.unregister(circuitBreakerName);
+    JmxUtils.unregister(endpointBalancerName);
+    rateLimiterShare.release();
+    producer.close();
   }
 
 }
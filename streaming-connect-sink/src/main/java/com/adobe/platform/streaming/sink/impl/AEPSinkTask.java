@@ -13,43 +13,122 @@
 package com.adobe.platform.streaming.sink.impl;
 
 import com.adobe.platform.streaming.AEPStreamingException;
+import com.adobe.platform.streaming.JacksonFactory;
 import com.adobe.platform.streaming.sink.AbstractSinkTask;
 import com.adobe.platform.streaming.sink.DataPublisher;
+import com.adobe.platform.streaming.sink.batch.ConnectJsonWriter;
+import com.adobe.platform.streaming.sink.batch.MessagePayload;
+import com.adobe.platform.streaming.sink.batch.PayloadValidation;
+import com.adobe.platform.streaming.sink.batch.RawJsonPayload;
+import com.adobe.platform.streaming.sink.utils.SinkUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
 import org.apache.kafka.connect.sink.ErrantRecordReporter;
 import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Adobe Inc.
  */
-public class AEPSinkTask extends AbstractSinkTask<Pair<String, SinkRecord>> {
+public class AEPSinkTask extends AbstractSinkTask<Pair<MessagePayload, SinkRecord>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AEPSinkTask.class);
+  private static final String PAYLOAD_PASSTHROUGH_ENABLED = "aep.payload.passthrough.enabled";
+  private static final String PAYLOAD_VALIDATION = "aep.payload.validation";
 
+  private final ConnectJsonWriter structWriter = new ConnectJsonWriter();
   private DataPublisher publisher;
+  private boolean passthroughEnabled;
+  private PayloadValidation payloadValidation = PayloadValidation.FULL;
 
   @Override
   public void init(Map<String, String> props, ErrantRecordReporter errantRecordReporter) throws AEPStreamingException {
-    publisher = new AEPPublisher(props, errantRecordReporter);
+    passthroughEnabled = Boolean.parseBoolean(SinkUtils.getProperty(props, PAYLOAD_PASSTHROUGH_ENABLED, "false"));
+    payloadValidation = PayloadValidation.getPayloadValidation(SinkUtils.getProperty(props, PAYLOAD_VALIDATION,
+      PayloadValidation.FULL.getName()));
+    publisher = new AEPPublisher(props, errantRecordReporter, getResponseListener());
     publisher.start();
   }
 
   @Override
-  public Pair<String, SinkRecord> getDataToPublish(Pair<String, SinkRecord> sinkRecord) {
-    return sinkRecord;
+  public Pair<MessagePayload, SinkRecord> getDataToPublish(Pair<String, SinkRecord> sinkRecord) {
+    final RawJsonPayload payload = RawJsonPayload.validated(sinkRecord.getKey(), payloadValidation);
+    if (payload == null) {
+      LOG.debug("Found invalid JSON record in messages: {}", sinkRecord.getKey());
+      return null;
+    }
+
+    return Pair.of(payload, sinkRecord.getValue());
   }
 
+  /**
+   * Structs, which Avro and Protobuf converters produce, are written to JSON bytes from their schema instead of
+   * going through a JsonNode tree and a String that would be parsed again. JsonNode trees are written to bytes once
+   * and need no validation, and payloads the transformations emit, such as parsed values and XDM envelopes, are
+   * batched as they are. With passthrough enabled, the bytes of a ByteArrayConverter value are taken as the JSON
+   * payload as they are, instead of being base64 encoded.
+   */
   @Override
-  public int getPayloadLength(Pair<String, SinkRecord> dataToPublish) {
-    return dataToPublish.getKey().length();
+  protected Pair<MessagePayload, SinkRecord> getDataToPublish(SinkRecord record) {
+    if (record.value() instanceof MessagePayload) {
+      return Pair.of((MessagePayload) record.value(), record);
+    }
+
+    if (record.valueSchema() != null && record.value() instanceof Struct) {
+      return Pair.of(RawJsonPayload.of(structWriter.write(record.valueSchema(), record.value())), record);
+    }
+
+    if (record.value() instanceof JsonNode) {
+      try {
+        return Pair.of(RawJsonPayload.of(JacksonFactory.JSON_NODE_WRITER.writeValueAsBytes(record.value())), record);
+      } catch (JsonProcessingException e) {
+        throw new DataException("Failed to write value as JSON", e);
+      }
+    }
+
+    if (passthroughEnabled && record.value() instanceof byte[]) {
+      final RawJsonPayload payload = RawJsonPayload.validated((byte[]) record.value(), payloadValidation);
+      if (payload == null) {
+        LOG.debug("Found invalid JSON record of {} bytes at {}-{}@{}", ((byte[]) record.value()).length,
+          record.topic(), record.kafkaPartition(), record.kafkaOffset());
+        return null;
+      }
+
+      return Pair.of(payload, record);
+    }
+
+    return super.getDataToPublish(record);
   }
 
   @Override
-  public void publishData(List<Pair<String, SinkRecord>> eventDataList) throws AEPStreamingException {
+  public int getPayloadLength(Pair<MessagePayload, SinkRecord> dataToPublish) {
+    return dataToPublish.getKey().getEncodedLength();
+  }
+
+  @Override
+  public void publishData(List<Pair<MessagePayload, SinkRecord>> eventDataList) throws AEPStreamingException {
     publisher.publishData(eventDataList);
   }
 
+  @Override
+  protected CompletableFuture<Void> publishDataAsync(List<Pair<MessagePayload, SinkRecord>> eventDataList) {
+    return publisher.publishDataAsync(eventDataList);
+  }
+
+  @Override
+  protected long getPublishSuspensionMillis() {
+    return publisher.getSuspensionMillis();
+  }
+
   @Override
   public void stop() {
     super.stop();
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.transformation;
+
+import com.adobe.platform.streaming.AEPStreamingRuntimeException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A JSON Patch (RFC 6902) compiled once, with its JSON Pointers split into reference tokens, and applied to a
+ * document in place instead of to a copy of it. Operations run in order and the first failing one stops the patch,
+ * leaving the operations before it applied. Checking every operation up front is not possible in general, as an
+ * operation may depend on what the ones before it changed, so callers patch a document they own and drop it when
+ * the patch fails.
+ *
+ * @author Adobe Inc.
+ */
+final class JsonPatchPlan {
+
+  private final List<Operation> operations;
+
+  private JsonPatchPlan(List<Operation> operations) {
+    this.operations = Collections.unmodifiableList(operations);
+  }
+
+  static JsonPatchPlan compile(JsonNode patch) {
+    if (!patch.isArray()) {
+      throw new AEPStreamingRuntimeException("Json patch must be an array of operations.");
+    }
+
+    final List<Operation> operations = new ArrayList<>(patch.size());
+    for (JsonNode operation : patch) {
+      operations.add(Operation.compile(operation));
+    }
+    return new JsonPatchPlan(operations);
+  }
+
+  /**
+   * @return the patched document, which is the given one unless an operation replaces the whole document
+   */
+  JsonNode apply(JsonNode document) {
+    JsonNode patched = document;
+    for (Operation operation : operations) {
+      patched = operation.apply(patched);
+    }
+    return patched;
+  }
+
+  static String[] parsePointer(String pointer) {
+    if (pointer.isEmpty()) {
+      return new String[0];
+    }
+    if (pointer.charAt(0) != '/') {
+      throw new AEPStreamingRuntimeException("Json pointer must start with '/'.", pointer);
+    }
+
+    final String[] tokens = pointer.substring(1).split("/", -1);
+    for (int i = 0; i < tokens.length; i++) {
+      if (tokens[i].indexOf('~') >= 0) {
+        tokens[i] = tokens[i].replace("~1", "/").replace("~0", "~");
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * @return the node the first {@code length} tokens point to, or null when there is none
+   */
+  static JsonNode resolve(JsonNode document, String[] tokens, int length) {
+    JsonNode node = document;
+    for (int i = 0; i < length && node != null; i++) {
+      if (node.isObject()) {
+        node = node.get(tokens[i]);
+      } else if (node.isArray()) {
+        final int index = toIndex(tokens[i]);
+        node = index >= 0 && index < node.size() ? node.get(index) : null;
+      } else {
+        node = null;
+      }
+    }
+    return node;
+  }
+
+  /**
+   * @return the array index a reference token stands for, or -1 when it is not one
+   */
+  static int toIndex(String token) {
+    final int length = token.length();
+    if (length == 0 || length > 9 || (length > 1 && token.charAt(0) == '0')) {
+      return -1;
+    }
+    for (int i = 0; i < length; i++) {
+      if (token.charAt(i) < '0' || token.charAt(i) > '9') {
+        return -1;
+      }
+    }
+    return Integer.parseInt(token);
+  }
+
+  private enum OperationType {
+
+    ADD("add"),
+    REMOVE("remove"),
+    REPLACE("replace"),
+    MOVE("move"),
+    COPY("copy"),
+    TEST("test");
+
+    private final String name;
+
+    OperationType(String name) {
+      this.name = name;
+    }
+
+    static OperationType getOperationType(String name) {
+      for (OperationType type : values()) {
+        if (type.name.equals(name)) {
+          return type;
+        }
+      }
+
+      throw new AEPStreamingRuntimeException("Unsupported json patch operation.", name);
+    }
+  }
+
+  private static final class Operation {
+
+    private final OperationType type;
+    private final String pointer;
+    private final String[] path;
+    private final String[] from;
+    private final JsonNode value;
+
+    private Operation(OperationType type, String pointer, String[] path, String[] from, JsonNode value) {
+      this.type = type;
+      this.pointer = pointer;
+      this.path = path;
+      this.from = from;
+      this.value = value;
+    }
+
+    static Operation compile(JsonNode operation) {
+      final OperationType type = OperationType.getOperationType(getText(operation, "op"));
+      final String pointer = getText(operation, "path");
+      final String[] path = parsePointer(pointer);
+      String[] from = null;
+      JsonNode value = null;
+      switch (type) {
+        case MOVE:
+        case COPY:
+          from = parsePointer(getText(operation, "from"));
+          if (type == OperationType.MOVE && from.length < path.length && isPrefix(from, path)) {
+            throw new AEPStreamingRuntimeException("Json patch cannot move a value into one of its children.",
+              pointer);
+          }
+          break;
+        case ADD:
+        case REPLACE:
+        case TEST:
+          if (!operation.has("value")) {
+            throw new AEPStreamingRuntimeException("Json patch operation is missing its value.", pointer);
+          }
+          value = operation.get("value");
+          break;
+        default:
+          break;
+      }
+
+      return new Operation(type, pointer, path, from, value);
+    }
+
+    JsonNode apply(JsonNode document) {
+      switch (type) {
+        case ADD:
+          return add(document, path, copyOf(value));
+        case REMOVE:
+          remove(document, path);
+          return document;
+        case REPLACE:
+          return replace(document, copyOf(value));
+        case MOVE:
+          return add(document, path, remove(document, from));
+        case COPY:
+          return add(document, path, getSource(document).deepCopy());
+        case TEST:
+          if (!value.equals(resolve(document, path, path.length))) {
+            throw failure("Json patch test failed.");
+          }
+          return document;
+        default:
+          throw new IllegalStateException("Unknown json patch operation " + type);
+      }
+    }
+
+    private JsonNode add(JsonNode document, String[] tokens, JsonNode added) {
+      if (tokens.length == 0) {
+        return added;
+      }
+
+      final JsonNode parent = getParent(document, tokens);
+      final String token = tokens[tokens.length - 1];
+      if (parent.isObject()) {
+        ((ObjectNode) parent).set(token, added);
+      } else if ("-".equals(token)) {
+        ((ArrayNode) parent).add(added);
+      } else {
+        final int index = toIndex(token);
+        if (index < 0 || index > parent.size()) {
+          throw failure("Json patch array index is out of bounds.");
+        }
+        ((ArrayNode) parent).insert(index, added);
+      }
+      return document;
+    }
+
+    private JsonNode remove(JsonNode document, String[] tokens) {
+      if (tokens.length == 0) {
+        throw failure("Json patch cannot remove the whole document.");
+      }
+
+      final JsonNode parent = getParent(document, tokens);
+      final String token = tokens[tokens.length - 1];
+      if (parent.isObject()) {
+        if (!parent.has(token)) {
+          throw failure("Json patch target does not exist.");
+        }
+        return ((ObjectNode) parent).remove(token);
+      }
+
+      final int index = toIndex(token);
+      if (index < 0 || index >= parent.size()) {
+        throw failure("Json patch target does not exist.");
+      }
+      return ((ArrayNode) parent).remove(index);
+    }
+
+    private JsonNode replace(JsonNode document, JsonNode replacement) {
+      if (path.length == 0) {
+        return replacement;
+      }
+
+      final JsonNode parent = getParent(document, path);
+      final String token = path[path.length - 1];
+      if (parent.isObject()) {
+        if (!parent.has(token)) {
+          throw failure("Json patch target does not exist.");
+        }
+        ((ObjectNode) parent).set(token, replacement);
+      } else {
+        final int index = toIndex(token);
+        if (index < 0 || index >= parent.size()) {
+          throw failure("Json patch target does not exist.");
+        }
+        ((ArrayNode) parent).set(index, replacement);
+      }
+      return document;
+    }
+
+    private JsonNode getSource(JsonNode document) {
+      final JsonNode source = resolve(document, from, from.length);
+      if (source == null) {
+        throw failure("Json patch copy source does not exist.");
+      }
+      return source;
+    }
+
+    private JsonNode getParent(JsonNode document, String[] tokens) {
+      final JsonNode parent = resolve(document, tokens, tokens.length - 1);
+      if (parent == null || !parent.isContainerNode()) {
+        throw failure("Json patch target parent does not exist.");
+      }
+      return parent;
+    }
+
+    private AEPStreamingRuntimeException failure(String message) {
+      return new AEPStreamingRuntimeException(message, pointer);
+    }
+
+    // the compiled value is shared by every record, only immutable scalars can be inserted as they are
+    private static JsonNode copyOf(JsonNode node) {
+      return node.isContainerNode() ? node.deepCopy() : node;
+    }
+
+    private static boolean isPrefix(String[] prefix, String[] tokens) {
+      for (int i = 0; i < prefix.length; i++) {
+        if (!prefix[i].equals(tokens[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static String getText(JsonNode operation, String field) {
+      final JsonNode node = operation.get(field);
+      if (node == null || !node.isTextual()) {
+        throw new AEPStreamingRuntimeException("Json patch operation is missing its " + field + ".", operation);
+      }
+      return node.asText();
+    }
+  }
+
+}
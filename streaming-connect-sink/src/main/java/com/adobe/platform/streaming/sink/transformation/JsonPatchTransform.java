@@ -14,12 +14,11 @@ package com.adobe.platform.streaming.sink.transformation;
 
 import com.adobe.platform.streaming.AEPStreamingRuntimeException;
 import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.sink.batch.JsonValuePayload;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.flipkart.zjsonpatch.InvalidJsonPatchException;
-import com.flipkart.zjsonpatch.JsonPatch;
 
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.connect.connector.ConnectRecord;
@@ -32,12 +31,17 @@ import java.util.Map;
 import java.util.Objects;
 
 /**
+ * Applies a JSON Patch to record values. The patch is compiled once when the transformation is configured and
+ * changes a value tree the transformation owns in place: values are parsed or built into a new tree, and trees the
+ * record already holds are copied, so a failing patch leaves the record it hands on unchanged. The patched tree is
+ * emitted as a schemaless {@link JsonValuePayload}, so the transformations chained after it and the sink work on the
+ * tree instead of parsing the value again.
+ *
  * @author Adobe Inc.
  */
 public class JsonPatchTransform<R extends ConnectRecord<R>> implements Transformation<R> {
 
   private static final Logger LOG = LoggerFactory.getLogger(JsonPatchTransform.class);
-  private static final ObjectNodeConverter objectNodeConverter = new ObjectNodeConverter(JacksonFactory.OBJECT_MAPPER);
   private static final String JSON_PATCH_CONFIG = "operations";
   private static final String JSON_PATHS_DOC = "Json pointers to evaluate for filtering";
   private static final ConfigDef CONFIG_DEF = new ConfigDef().define(
@@ -47,7 +51,8 @@ public class JsonPatchTransform<R extends ConnectRecord<R>> implements Transform
     ConfigDef.Importance.HIGH,
     JSON_PATHS_DOC
   );
-  private JsonNode jsonPatch;
+  private final ObjectNodeConverter objectNodeConverter = new ObjectNodeConverter(JacksonFactory.OBJECT_MAPPER);
+  private JsonPatchPlan jsonPatchPlan;
 
   @Override
   public R apply(R record) {
@@ -60,15 +65,15 @@ public class JsonPatchTransform<R extends ConnectRecord<R>> implements Transform
       return record;
     }
     try {
-      final ObjectNode jsonValue = objectNodeConverter.convert(value);
-      final JsonNode transformedValue = JsonPatch.apply(jsonPatch, jsonValue);
-      Object out = JacksonFactory.OBJECT_MAPPER.writeValueAsString(transformedValue);
+      final ObjectNode jsonValue = objectNodeConverter.convert(record.valueSchema(), value);
+      final JsonNode transformedValue = jsonPatchPlan.apply(jsonValue);
       if (LOG.isDebugEnabled()) {
-        LOG.debug("Transformed record {}", jsonValue);
+        LOG.debug("Transformed record {}", transformedValue);
       }
       return record.newRecord(record.topic(), record.kafkaPartition(), record.keySchema(),
-                              record.key(), record.valueSchema(), out, System.currentTimeMillis());
-    } catch (InvalidJsonPatchException patchAppException) {
+                              record.key(), null, JsonValuePayload.of(transformedValue),
+                              System.currentTimeMillis());
+    } catch (AEPStreamingRuntimeException patchAppException) {
       LOG.error("Message validation failed.", patchAppException);
     } catch (Exception ex) {
       LOG.error("Record failed during transformation.", ex);
@@ -90,7 +95,8 @@ public class JsonPatchTransform<R extends ConnectRecord<R>> implements Transform
   public void configure(Map<String, ?> configs) {
     final SimpleConfig config = new SimpleConfig(CONFIG_DEF, configs);
     try {
-      jsonPatch = JacksonFactory.OBJECT_MAPPER.readTree(config.getString(JSON_PATCH_CONFIG));
+      final JsonNode jsonPatch = JacksonFactory.OBJECT_MAPPER.readTree(config.getString(JSON_PATCH_CONFIG));
+      jsonPatchPlan = JsonPatchPlan.compile(jsonPatch);
     } catch (JsonProcessingException e) {
       throw new AEPStreamingRuntimeException("Failed to read json patch config.", e);
     }
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.transformation;
+
+import com.adobe.platform.streaming.AEPStreamingRuntimeException;
+import com.adobe.platform.streaming.JacksonFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A record predicate over scalar values addressed by JSON Pointers. Clauses are joined with {@code &&}, and
+ * alternatives of clauses with {@code ||}, which binds less tightly. A clause is a pointer followed by
+ * {@code exists}, {@code missing}, or a comparison operator ({@code ==}, {@code !=}, {@code <}, {@code <=},
+ * {@code >}, {@code >=}) and a JSON scalar, all separated by whitespace, for example
+ * {@code /eventType == "commerce.purchases" && /value >= 10}.
+ * Numbers compare by value, strings compare lexicographically, and a container value only satisfies
+ * {@code exists} and {@code !=}.
+ *
+ * @author Adobe Inc.
+ */
+final class JsonPredicate {
+
+  static final Object ABSENT = new Object();
+  static final Object CONTAINER = new Object();
+  private static final Object NULL = new Object();
+
+  private final List<List<Condition>> alternatives;
+
+  private JsonPredicate(List<List<Condition>> alternatives) {
+    this.alternatives = alternatives;
+  }
+
+  static JsonPredicate parse(String expression) {
+    final Tokenizer tokenizer = new Tokenizer(expression);
+    final List<List<Condition>> alternatives = new ArrayList<>();
+    List<Condition> conditions = new ArrayList<>();
+    alternatives.add(conditions);
+    while (true) {
+      conditions.add(parseCondition(tokenizer));
+      final String separator = tokenizer.next();
+      if (separator == null) {
+        return new JsonPredicate(alternatives);
+      } else if ("||".equals(separator)) {
+        conditions = new ArrayList<>();
+        alternatives.add(conditions);
+      } else if (!"&&".equals(separator)) {
+        throw new AEPStreamingRuntimeException("Expected && or || in predicate.", expression);
+      }
+    }
+  }
+
+  /**
+   * @return the pointers the predicate reads, once per clause
+   */
+  List<String> getPointers() {
+    final List<String> pointers = new ArrayList<>();
+    alternatives.forEach(conditions -> conditions.forEach(condition -> pointers.add(condition.pointer)));
+    return pointers;
+  }
+
+  /**
+   * Binds the clauses, in the order of {@link #getPointers()}, to the slots their values are captured in.
+   */
+  void bind(int[] slots) {
+    int i = 0;
+    for (List<Condition> conditions : alternatives) {
+      for (Condition condition : conditions) {
+        condition.slot = slots[i++];
+      }
+    }
+  }
+
+  boolean test(Object[] values) {
+    for (List<Condition> conditions : alternatives) {
+      boolean matches = true;
+      for (int i = 0; i < conditions.size() && matches; i++) {
+        matches = conditions.get(i).test(values[conditions.get(i).slot]);
+      }
+      if (matches) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the value of the scalar the parser is at, or {@link #CONTAINER} when it is at the start of a container
+   */
+  static Object capture(JsonParser parser) throws IOException {
+    switch (parser.currentToken()) {
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDecimalValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return NULL;
+      default:
+        return CONTAINER;
+    }
+  }
+
+  private static Condition parseCondition(Tokenizer tokenizer) {
+    final String pointer = tokenizer.next();
+    if (pointer == null || !pointer.startsWith("/")) {
+      throw new AEPStreamingRuntimeException("Expected a json pointer in predicate.", tokenizer.expression);
+    }
+    JsonPatchPlan.parsePointer(pointer);
+
+    final Operator operator = Operator.getOperator(tokenizer.next(), tokenizer.expression);
+    if (operator == Operator.EXISTS || operator == Operator.MISSING) {
+      return new Condition(pointer, operator, null);
+    }
+
+    final String literal = tokenizer.next();
+    if (literal == null) {
+      throw new AEPStreamingRuntimeException("Expected a value in predicate.", tokenizer.expression);
+    }
+    try (JsonParser parser = JacksonFactory.JSON_FACTORY.createParser(literal)) {
+      final JsonToken token = parser.nextToken();
+      final Object value = token != null && token.isScalarValue() ? capture(parser) : null;
+      if (value == null || parser.nextToken() != null) {
+        throw new AEPStreamingRuntimeException("Predicate values must be json scalars.", literal);
+      }
+      return new Condition(pointer, operator, value);
+    } catch (IOException e) {
+      throw new AEPStreamingRuntimeException("Failed to read predicate value " + literal, e);
+    }
+  }
+
+  private enum Operator {
+
+    EQUAL("=="),
+    NOT_EQUAL("!="),
+    LESS("<"),
+    LESS_OR_EQUAL("<="),
+    GREATER(">"),
+    GREATER_OR_EQUAL(">="),
+    EXISTS("exists"),
+    MISSING("missing");
+
+    private final String name;
+
+    Operator(String name) {
+      this.name = name;
+    }
+
+    static Operator getOperator(String name, String expression) {
+      for (Operator operator : values()) {
+        if (operator.name.equals(name)) {
+          return operator;
+        }
+      }
+
+      throw new AEPStreamingRuntimeException("Unknown predicate operator " + name, expression);
+    }
+  }
+
+  private static final class Condition {
+
+    private final String pointer;
+    private final Operator operator;
+    private final Object literal;
+    private int slot;
+
+    private Condition(String pointer, Operator operator, Object literal) {
+      this.pointer = pointer;
+      this.operator = operator;
+      this.literal = literal;
+    }
+
+    boolean test(Object value) {
+      switch (operator) {
+        case EXISTS:
+          return value != ABSENT;
+        case MISSING:
+          return value == ABSENT;
+        case EQUAL:
+          return isEqual(value);
+        case NOT_EQUAL:
+          return !isEqual(value);
+        default:
+          final Integer comparison = compare(value);
+          if (comparison == null) {
+            return false;
+          } else if (operator == Operator.LESS) {
+            return comparison < 0;
+          } else if (operator == Operator.LESS_OR_EQUAL) {
+            return comparison <= 0;
+          } else if (operator == Operator.GREATER) {
+            return comparison > 0;
+          }
+          return comparison >= 0;
+      }
+    }
+
+    private boolean isEqual(Object value) {
+      final Integer comparison = compare(value);
+      return comparison != null ? comparison == 0 : Objects.equals(value, literal);
+    }
+
+    private Integer compare(Object value) {
+      if (value instanceof BigDecimal && literal instanceof BigDecimal) {
+        return ((BigDecimal) value).compareTo((BigDecimal) literal);
+      } else if (value instanceof String && literal instanceof String) {
+        return ((String) value).compareTo((String) literal);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Splits an expression into pointers, operators and values, keeping quoted strings whole.
+   */
+  private static final class Tokenizer {
+
+    private final String expression;
+    private int position;
+
+    private Tokenizer(String expression) {
+      this.expression = expression;
+    }
+
+    String next() {
+      while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+        position++;
+      }
+      if (position == expression.length()) {
+        return null;
+      }
+
+      final int start = position;
+      if (expression.charAt(position) == '"') {
+        position++;
+        while (position < expression.length() && expression.charAt(position) != '"') {
+          position += expression.charAt(position) == '\\' ? 2 : 1;
+        }
+        if (position >= expression.length()) {
+          throw new AEPStreamingRuntimeException("Unterminated string in predicate.", expression);
+        }
+        position++;
+      } else {
+        while (position < expression.length() && !Character.isWhitespace(expression.charAt(position))) {
+          position++;
+        }
+      }
+      return expression.substring(start, position);
+    }
+  }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.transformation;
+
+import com.adobe.platform.streaming.JacksonFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies a JSON value token by token from a parser to a generator, keeping only the subtrees under the included
+ * JSON Pointers, or everything when none is included, and leaving out the subtrees under the excluded ones. Subtrees
+ * that are neither kept nor read by the predicate are skipped without being copied, kept subtrees without anything
+ * excluded below them are copied whole, and objects and arrays left empty by the projection are left out. No tree
+ * is built. A projection is meant to be used by a single task thread.
+ *
+ * @author Adobe Inc.
+ */
+final class JsonProjection {
+
+  // a buffer grown by an unusually large value is not kept around
+  private static final int MAX_RETAINED_BUFFER_BYTES = 1024 * 1024;
+
+  private final PointerNode root = new PointerNode();
+  private final boolean includeAll;
+  private final JsonPredicate predicate;
+  private final int slots;
+  private ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+
+  /**
+   * @param predicate the predicate a value must satisfy to be kept, or null to keep every value
+   */
+  JsonProjection(List<String> include, List<String> exclude, JsonPredicate predicate) {
+    this.includeAll = include.isEmpty();
+    this.predicate = predicate;
+    include.forEach(pointer -> insert(pointer).include = true);
+    exclude.forEach(pointer -> insert(pointer).exclude = true);
+
+    int slotCount = 0;
+    if (predicate != null) {
+      final List<String> pointers = predicate.getPointers();
+      final int[] bound = new int[pointers.size()];
+      for (int i = 0; i < bound.length; i++) {
+        final PointerNode node = insert(pointers.get(i));
+        if (node.slot < 0) {
+          node.slot = slotCount++;
+        }
+        bound[i] = node.slot;
+      }
+      predicate.bind(bound);
+    }
+    this.slots = slotCount;
+    root.summarize();
+  }
+
+  /**
+   * @return the UTF-8 JSON of the projected value, or null when the predicate drops it
+   */
+  byte[] project(JsonParser parser) throws IOException {
+    buffer.reset();
+    final Cursor cursor;
+    try (JsonGenerator generator = JacksonFactory.JSON_FACTORY.createGenerator(buffer)) {
+      if (parser.nextToken() == null) {
+        throw new IOException("No JSON value to project");
+      }
+      final boolean array = parser.currentToken() == JsonToken.START_ARRAY;
+      cursor = new Cursor(parser, generator);
+      cursor.copy(null, root, includeAll, true);
+      if (parser.nextToken() != null) {
+        throw new IOException("Unexpected content after the JSON value");
+      }
+      if (!cursor.written) {
+        // the projection removed everything below the root
+        if (array) {
+          generator.writeStartArray();
+          generator.writeEndArray();
+        } else {
+          generator.writeStartObject();
+          generator.writeEndObject();
+        }
+      }
+    }
+
+    if (predicate != null && !predicate.test(cursor.values)) {
+      return null;
+    }
+
+    final byte[] json = buffer.toByteArray();
+    if (json.length > MAX_RETAINED_BUFFER_BYTES) {
+      buffer = new ByteArrayOutputStream(4096);
+    }
+    return json;
+  }
+
+  private PointerNode insert(String pointer) {
+    PointerNode node = root;
+    for (String token : JsonPatchPlan.parsePointer(pointer)) {
+      node = node.children.computeIfAbsent(token, ignored -> new PointerNode());
+    }
+    return node;
+  }
+
+  /**
+   * A JSON Pointer reference token of the projection, with what applies at and below it.
+   */
+  private static final class PointerNode {
+
+    private final Map<String, PointerNode> children = new HashMap<>();
+    private boolean include;
+    private boolean exclude;
+    private int slot = -1;
+    private boolean includeBelow;
+    private boolean excludeBelow;
+    private boolean slotBelow;
+
+    void summarize() {
+      for (PointerNode child : children.values()) {
+        child.summarize();
+        includeBelow |= child.include || child.includeBelow;
+        excludeBelow |= child.exclude || child.excludeBelow;
+        slotBelow |= child.slot >= 0 || child.slotBelow;
+      }
+    }
+
+    PointerNode getChild(String token) {
+      return children.get(token);
+    }
+  }
+
+  /**
+   * The state of copying one value.
+   */
+  private final class Cursor {
+
+    private final JsonParser parser;
+    private final JsonGenerator generator;
+    private final Object[] values;
+    // objects and arrays whose start is held back until something is written inside them
+    private final List<Object> pendingNames = new ArrayList<>();
+    private final List<Boolean> pendingObjects = new ArrayList<>();
+    private boolean written;
+
+    private Cursor(JsonParser parser, JsonGenerator generator) {
+      this.parser = parser;
+      this.generator = generator;
+      this.values = new Object[slots];
+      Arrays.fill(values, JsonPredicate.ABSENT);
+    }
+
+    /**
+     * Copies the value the parser is at, leaving the parser at its last token.
+     *
+     * @param name the field name of the value, or null when it is not an object field
+     * @param node the pointer node of the value, or null when no pointer reaches it
+     * @param covered whether an included pointer covers the parent of the value
+     * @param writing whether the parent of the value is written
+     */
+    void copy(String name, PointerNode node, boolean covered, boolean writing) throws IOException {
+      final JsonToken token = parser.currentToken();
+      if (node != null && node.slot >= 0) {
+        values[node.slot] = JsonPredicate.capture(parser);
+      }
+
+      final boolean included = covered || (node != null && node.include);
+      final boolean write = writing && (node == null || !node.exclude) &&
+        (included || (node != null && node.includeBelow));
+      if (!token.isStructStart()) {
+        if (write && included) {
+          startValue(name);
+          generator.copyCurrentEvent(parser);
+        }
+        return;
+      }
+
+      final boolean walk = node != null && (node.slotBelow || (write && (node.excludeBelow || !included)));
+      if (!walk) {
+        if (write) {
+          startValue(name);
+          generator.copyCurrentStructure(parser);
+        } else {
+          parser.skipChildren();
+        }
+        return;
+      }
+
+      final boolean object = token == JsonToken.START_OBJECT;
+      final int pending = pendingNames.size();
+      if (write) {
+        pendingNames.add(name);
+        pendingObjects.add(object);
+        if (included) {
+          flushPending();
+        }
+      }
+
+      int index = 0;
+      while (parser.nextToken() != (object ? JsonToken.END_OBJECT : JsonToken.END_ARRAY)) {
+        String childName = null;
+        final String childToken;
+        if (object) {
+          childName = parser.currentName();
+          childToken = childName;
+          parser.nextToken();
+        } else {
+          childToken = node.children.isEmpty() ? null : Integer.toString(index);
+          index++;
+        }
+        copy(childName, childToken == null ? null : node.getChild(childToken), included, write);
+      }
+
+      if (write) {
+        if (pendingNames.size() > pending) {
+          // nothing was written inside, the start was never written either
+          pendingNames.remove(pending);
+          pendingObjects.remove(pending);
+        } else if (object) {
+          generator.writeEndObject();
+        } else {
+          generator.writeEndArray();
+        }
+      }
+    }
+
+    private void startValue(String name) throws IOException {
+      flushPending();
+      if (name != null) {
+        generator.writeFieldName(name);
+      }
+      written = true;
+    }
+
+    private void flushPending() throws IOException {
+      for (int i = 0; i < pendingNames.size(); i++) {
+        if (pendingNames.get(i) != null) {
+          generator.writeFieldName((String) pendingNames.get(i));
+        }
+        if (pendingObjects.get(i)) {
+          generator.writeStartObject();
+        } else {
+          generator.writeStartArray();
+        }
+      }
+      if (!pendingNames.isEmpty()) {
+        written = true;
+      }
+      pendingNames.clear();
+      pendingObjects.clear();
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.transformation;
+
+import com.adobe.platform.streaming.AEPStreamingRuntimeException;
+import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.sink.batch.ConnectJsonWriter;
+import com.adobe.platform.streaming.sink.batch.JsonValuePayload;
+import com.adobe.platform.streaming.sink.batch.RawJsonPayload;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.connect.connector.ConnectRecord;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.transforms.Transformation;
+import org.apache.kafka.connect.transforms.util.SimpleConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps only part of each record value, and drops the records that do not satisfy a predicate. Fields are selected
+ * with JSON Pointers to include and to exclude, and the predicate is a {@link JsonPredicate} expression. The value is
+ * streamed from a parser to a generator, skipping the subtrees that are left out instead of building a tree, and the
+ * projected JSON is emitted as a {@link JsonValuePayload} for the sink to batch as it is.
+ *
+ * @author Adobe Inc.
+ */
+public class JsonProjectionTransform<R extends ConnectRecord<R>> implements Transformation<R> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JsonProjectionTransform.class);
+  private static final String INCLUDE_CONFIG = "include";
+  private static final String EXCLUDE_CONFIG = "exclude";
+  private static final String PREDICATE_CONFIG = "predicate";
+  private static final ConfigDef CONFIG_DEF = new ConfigDef()
+    .define(INCLUDE_CONFIG, ConfigDef.Type.LIST, Collections.emptyList(), ConfigDef.Importance.HIGH,
+      "Json pointers of the fields to keep, all fields are kept when empty")
+    .define(EXCLUDE_CONFIG, ConfigDef.Type.LIST, Collections.emptyList(), ConfigDef.Importance.HIGH,
+      "Json pointers of the fields to leave out")
+    .define(PREDICATE_CONFIG, ConfigDef.Type.STRING, null, ConfigDef.Importance.MEDIUM,
+      "Condition records must satisfy to be kept, such as /eventType == \"commerce.purchases\"");
+
+  private final ConnectJsonWriter structWriter = new ConnectJsonWriter();
+  private JsonProjection projection;
+
+  @Override
+  public R apply(R record) {
+    final Object value = record.value();
+    if (Objects.isNull(value)) {
+      return record;
+    }
+
+    try (JsonParser parser = createParser(record)) {
+      final byte[] projected = projection.project(parser);
+      if (projected == null) {
+        LOG.debug("Dropping record of topic {} that does not satisfy the predicate.", record.topic());
+        return null;
+      }
+
+      return record.newRecord(record.topic(), record.kafkaPartition(), record.keySchema(), record.key(), null,
+        JsonValuePayload.of(projected), record.timestamp());
+    } catch (Exception ex) {
+      LOG.error("Record failed during transformation.", ex);
+    }
+    return record;
+  }
+
+  @Override
+  public ConfigDef config() {
+    return CONFIG_DEF;
+  }
+
+  @Override
+  public void close() {
+
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs) {
+    final SimpleConfig config = new SimpleConfig(CONFIG_DEF, configs);
+    final String predicate = config.getString(PREDICATE_CONFIG);
+    projection = new JsonProjection(config.getList(INCLUDE_CONFIG), config.getList(EXCLUDE_CONFIG),
+      predicate == null || predicate.trim().isEmpty() ? null : JsonPredicate.parse(predicate));
+  }
+
+  private JsonParser createParser(R record) throws IOException {
+    final Object value = record.value();
+    if (value instanceof JsonValuePayload) {
+      return ((JsonValuePayload) value).createParser();
+    } else if (value instanceof byte[]) {
+      return JacksonFactory.JSON_FACTORY.createParser((byte[]) value);
+    } else if (value instanceof String) {
+      return JacksonFactory.JSON_FACTORY.createParser((String) value);
+    } else if (value instanceof RawJsonPayload) {
+      return JacksonFactory.JSON_FACTORY.createParser(((RawJsonPayload) value).getBytes());
+    } else if (value instanceof JsonNode) {
+      return ((JsonNode) value).traverse(JacksonFactory.OBJECT_MAPPER);
+    } else if (value instanceof Struct && record.valueSchema() != null) {
+      return JacksonFactory.JSON_FACTORY.createParser(structWriter.write(record.valueSchema(), value));
+    } else if (value instanceof Map || value instanceof Collection) {
+      return JacksonFactory.JSON_FACTORY.createParser(JacksonFactory.OBJECT_MAPPER.writeValueAsBytes(value));
+    }
+
+    throw new AEPStreamingRuntimeException("Unsupported type for projection: " + value.getClass());
+  }
+
+}
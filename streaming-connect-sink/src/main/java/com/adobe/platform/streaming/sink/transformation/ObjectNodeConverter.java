@@ -13,30 +13,66 @@
 package com.adobe.platform.streaming.sink.transformation;
 
 import com.adobe.platform.streaming.AEPStreamingRuntimeException;
+import com.adobe.platform.streaming.sink.batch.ConnectJsonPlanner;
+import com.adobe.platform.streaming.sink.batch.ConnectJsonSink;
+import com.adobe.platform.streaming.sink.batch.JsonValuePayload;
+import com.adobe.platform.streaming.sink.batch.RawJsonPayload;
 
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Objects;
 
 /**
+ * Converts record values to an {@link ObjectNode} a transformation can work on. Structs and maps carrying a schema
+ * are built into nodes directly, the way a JsonConverter with schemas disabled writes them, by the plans of a
+ * {@link ConnectJsonPlanner} compiled once per schema. Schemaless maps are walked without reflection. The node
+ * returned is owned by the caller, which may change it in place: trees the value already holds are copied, since the
+ * record a failing transformation hands on still refers to them, and a {@link JsonValuePayload} holding only bytes is
+ * parsed into a new tree. A converter is meant to be used by a single task
+ * thread.
+ *
  * @author Adobe Inc.
  */
 public class ObjectNodeConverter {
 
   private static final Logger LOG = LoggerFactory.getLogger(ObjectNodeConverter.class);
   private final ObjectMapper objectMapper;
+  private final JsonNodeFactory nodeFactory;
+  private final ConnectJsonPlanner planner = new ConnectJsonPlanner();
+  private final NodeSink nodeSink;
 
   public ObjectNodeConverter(ObjectMapper objectMapper) {
     this.objectMapper = objectMapper;
+    this.nodeFactory = objectMapper.getNodeFactory();
+    this.nodeSink = new NodeSink(nodeFactory);
   }
 
   public ObjectNode convert(Object from) {
+    return convert(null, from);
+  }
+
+  /**
+   * @param schema the schema of the value, or null when the value has none
+   */
+  public ObjectNode convert(Schema schema, Object from) {
     if (Objects.isNull(from)) {
       return null;
     }
@@ -46,10 +82,17 @@ public class ObjectNodeConverter {
         convertedVal = (ObjectNode) objectMapper.readTree(from.toString());
       } else if (from instanceof byte[]) {
         convertedVal = (ObjectNode) objectMapper.readTree((byte[]) from);
+      } else if (from instanceof RawJsonPayload) {
+        convertedVal = (ObjectNode) objectMapper.readTree(((RawJsonPayload) from).getBytes());
+      } else if (from instanceof Struct) {
+        convertedVal = (ObjectNode) nodeSink.build(planner.getPlan(((Struct) from).schema()), from);
       } else if (from instanceof Map) {
-        convertedVal = objectMapper.convertValue(from, ObjectNode.class);
+        convertedVal = toObjectNode(schema != null && schema.type() == Schema.Type.MAP ?
+          nodeSink.build(planner.getPlan(schema), from) : toNode(from));
       } else if (from instanceof ObjectNode) {
-        return (ObjectNode) from;
+        return ((ObjectNode) from).deepCopy();
+      } else if (from instanceof JsonValuePayload) {
+        return toObjectNode(((JsonValuePayload) from).toOwnedTree());
       } else {
         throw new AEPStreamingRuntimeException("Unsupported type for conversion to objectNode");
       }
@@ -59,4 +102,175 @@ public class ObjectNodeConverter {
     return convertedVal;
   }
 
+  private static ObjectNode toObjectNode(JsonNode node) {
+    if (!node.isObject()) {
+      throw new AEPStreamingRuntimeException("Unsupported type for conversion to objectNode");
+    }
+    return (ObjectNode) node;
+  }
+
+  /**
+   * Builds the node of a value without a schema from its Java type.
+   */
+  private JsonNode toNode(Object value) throws IOException {
+    if (value == null) {
+      return nodeFactory.nullNode();
+    } else if (value instanceof CharSequence) {
+      return nodeFactory.textNode(value.toString());
+    } else if (value instanceof Integer) {
+      return nodeFactory.numberNode((int) value);
+    } else if (value instanceof Long) {
+      return nodeFactory.numberNode((long) value);
+    } else if (value instanceof Double) {
+      return nodeFactory.numberNode((double) value);
+    } else if (value instanceof Boolean) {
+      return nodeFactory.booleanNode((boolean) value);
+    } else if (value instanceof Map) {
+      final ObjectNode node = nodeFactory.objectNode();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        node.set(String.valueOf(entry.getKey()), toNode(entry.getValue()));
+      }
+      return node;
+    } else if (value instanceof Collection) {
+      final ArrayNode node = nodeFactory.arrayNode();
+      for (Object element : (Collection<?>) value) {
+        node.add(toNode(element));
+      }
+      return node;
+    } else if (value instanceof Float) {
+      return nodeFactory.numberNode((float) value);
+    } else if (value instanceof Short) {
+      return nodeFactory.numberNode((short) value);
+    } else if (value instanceof Byte) {
+      return nodeFactory.numberNode((byte) value);
+    } else if (value instanceof BigDecimal) {
+      return nodeFactory.numberNode((BigDecimal) value);
+    } else if (value instanceof BigInteger) {
+      return nodeFactory.numberNode((BigInteger) value);
+    } else if (value instanceof byte[]) {
+      return nodeFactory.binaryNode((byte[]) value);
+    } else if (value instanceof Struct) {
+      return nodeSink.build(planner.getPlan(((Struct) value).schema()), value);
+    } else if (value instanceof JsonNode) {
+      return (JsonNode) value;
+    }
+
+    return objectMapper.valueToTree(value);
+  }
+
+  /**
+   * Builds the nodes a plan emits into a tree.
+   */
+  private static final class NodeSink implements ConnectJsonSink {
+
+    private final JsonNodeFactory nodeFactory;
+    private final Deque<ContainerNode<?>> parents = new ArrayDeque<>();
+    private String fieldName;
+    private JsonNode root;
+
+    NodeSink(JsonNodeFactory nodeFactory) {
+      this.nodeFactory = nodeFactory;
+    }
+
+    JsonNode build(ConnectJsonPlanner.Plan plan, Object value) throws IOException {
+      parents.clear();
+      try {
+        plan.write(this, value);
+        return root;
+      } finally {
+        root = null;
+      }
+    }
+
+    @Override
+    public void writeStartObject() {
+      final ObjectNode node = nodeFactory.objectNode();
+      add(node);
+      parents.push(node);
+    }
+
+    @Override
+    public void writeEndObject() {
+      parents.pop();
+    }
+
+    @Override
+    public void writeFieldName(SerializableString name) {
+      fieldName = name.getValue();
+    }
+
+    @Override
+    public void writeFieldName(String name) {
+      fieldName = name;
+    }
+
+    @Override
+    public void writeStartArray() {
+      final ArrayNode node = nodeFactory.arrayNode();
+      add(node);
+      parents.push(node);
+    }
+
+    @Override
+    public void writeEndArray() {
+      parents.pop();
+    }
+
+    @Override
+    public void writeNull() {
+      add(nodeFactory.nullNode());
+    }
+
+    @Override
+    public void writeBoolean(boolean value) {
+      add(nodeFactory.booleanNode(value));
+    }
+
+    @Override
+    public void writeNumber(short value) {
+      add(nodeFactory.numberNode(value));
+    }
+
+    @Override
+    public void writeNumber(int value) {
+      add(nodeFactory.numberNode(value));
+    }
+
+    @Override
+    public void writeNumber(long value) {
+      add(nodeFactory.numberNode(value));
+    }
+
+    @Override
+    public void writeNumber(float value) {
+      add(nodeFactory.numberNode(value));
+    }
+
+    @Override
+    public void writeNumber(double value) {
+      add(nodeFactory.numberNode(value));
+    }
+
+    @Override
+    public void writeString(String value) {
+      add(nodeFactory.textNode(value));
+    }
+
+    @Override
+    public void writeBinary(byte[] value) {
+      add(nodeFactory.binaryNode(value));
+    }
+
+    private void add(JsonNode node) {
+      final ContainerNode<?> parent = parents.peek();
+      if (parent == null) {
+        root = node;
+      } else if (parent.isObject()) {
+        ((ObjectNode) parent).set(fieldName, node);
+      } else {
+        ((ArrayNode) parent).add(node);
+      }
+    }
+  }
+
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.transformation;
+
+import com.adobe.platform.streaming.AEPStreamingRuntimeException;
+import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.sink.batch.ConnectJsonWriter;
+import com.adobe.platform.streaming.sink.batch.EnvelopePayload;
+import com.adobe.platform.streaming.sink.batch.JsonValuePayload;
+import com.adobe.platform.streaming.sink.batch.PayloadValidation;
+import com.adobe.platform.streaming.sink.batch.RawJsonPayload;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.connect.connector.ConnectRecord;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.transforms.Transformation;
+import org.apache.kafka.connect.transforms.util.SimpleConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Wraps record values into the AEP XDM envelope, a header naming the schema, organization, dataset and source, and
+ * the value as body. The envelope of every topic is rendered to bytes once when the transformation is configured,
+ * so only the body is written per record. The enveloped value is emitted for the sink to splice into the batch
+ * request as it is, which makes this the last transformation of the chain.
+ *
+ * @author Adobe Inc.
+ */
+public class XdmEnvelopeTransform<R extends ConnectRecord<R>> implements Transformation<R> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(XdmEnvelopeTransform.class);
+  private static final String SCHEMA_REF_ID_CONFIG = "schema.ref.id";
+  private static final String SCHEMA_REF_CONTENT_TYPE_CONFIG = "schema.ref.content.type";
+  private static final String IMS_ORG_ID_CONFIG = "ims.org.id";
+  private static final String DATASET_ID_CONFIG = "dataset.id";
+  private static final String SOURCE_NAME_CONFIG = "source.name";
+  private static final String BODY_FORMAT_CONFIG = "body.format";
+  private static final String TOPIC_MAPPINGS_CONFIG = "topic.mappings";
+  private static final String VALIDATION_CONFIG = "validation";
+  private static final String DEFAULT_CONTENT_TYPE = "application/vnd.adobe.xed-full+json;version=1";
+  private static final List<String> ENVELOPE_SETTINGS = Arrays.asList(SCHEMA_REF_ID_CONFIG,
+    SCHEMA_REF_CONTENT_TYPE_CONFIG, IMS_ORG_ID_CONFIG, DATASET_ID_CONFIG, SOURCE_NAME_CONFIG);
+  private static final ConfigDef CONFIG_DEF = new ConfigDef()
+    .define(SCHEMA_REF_ID_CONFIG, ConfigDef.Type.STRING, null, ConfigDef.Importance.HIGH,
+      "XDM schema id of the header schemaRef, required unless every topic has one in its mapping")
+    .define(SCHEMA_REF_CONTENT_TYPE_CONFIG, ConfigDef.Type.STRING, DEFAULT_CONTENT_TYPE, ConfigDef.Importance.LOW,
+      "Content type of the header schemaRef")
+    .define(IMS_ORG_ID_CONFIG, ConfigDef.Type.STRING, null, ConfigDef.Importance.MEDIUM,
+      "IMS organization id of the header")
+    .define(DATASET_ID_CONFIG, ConfigDef.Type.STRING, null, ConfigDef.Importance.MEDIUM,
+      "Dataset id of the header")
+    .define(SOURCE_NAME_CONFIG, ConfigDef.Type.STRING, null, ConfigDef.Importance.LOW,
+      "Source name of the header")
+    .define(BODY_FORMAT_CONFIG, ConfigDef.Type.STRING, BodyFormat.BODY.name, ConfigDef.Importance.MEDIUM,
+      "'body' when record values are the envelope body, 'entity' when they are its xdmEntity")
+    .define(TOPIC_MAPPINGS_CONFIG, ConfigDef.Type.STRING, "{}", ConfigDef.Importance.MEDIUM,
+      "Json object of topic names to header settings overriding the ones above for that topic")
+    .define(VALIDATION_CONFIG, ConfigDef.Type.STRING, PayloadValidation.FULL.getName(), ConfigDef.Importance.LOW,
+      "Check of String and byte array values before they are enveloped, one of full, structural or none");
+
+  private final ConnectJsonWriter structWriter = new ConnectJsonWriter();
+  private final Map<String, EnvelopeTemplate> topicTemplates = new HashMap<>();
+  private EnvelopeTemplate defaultTemplate;
+  private PayloadValidation validation;
+
+  @Override
+  public R apply(R record) {
+    final Object value = record.value();
+    if (Objects.isNull(value)) {
+      return record;
+    }
+
+    final EnvelopeTemplate template = topicTemplates.getOrDefault(record.topic(), defaultTemplate);
+    if (template == null) {
+      LOG.error("No XDM envelope is configured for topic {}.", record.topic());
+      return record;
+    }
+
+    try {
+      final byte[] body = getBody(record);
+      if (body == null) {
+        LOG.error("Record is not valid JSON and is left without an envelope.");
+        return record;
+      }
+
+      return record.newRecord(record.topic(), record.kafkaPartition(), record.keySchema(), record.key(), null,
+        new EnvelopePayload(template.prefix, body, template.suffix), record.timestamp());
+    } catch (Exception ex) {
+      LOG.error("Record failed during transformation.", ex);
+    }
+    return record;
+  }
+
+  @Override
+  public ConfigDef config() {
+    return CONFIG_DEF;
+  }
+
+  @Override
+  public void close() {
+
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs) {
+    final SimpleConfig config = new SimpleConfig(CONFIG_DEF, configs);
+    final BodyFormat bodyFormat = BodyFormat.getBodyFormat(config.getString(BODY_FORMAT_CONFIG));
+    validation = PayloadValidation.getPayloadValidation(config.getString(VALIDATION_CONFIG));
+
+    final Map<String, String> settings = new HashMap<>();
+    ENVELOPE_SETTINGS.forEach(setting -> settings.put(setting, config.getString(setting)));
+    defaultTemplate = settings.get(SCHEMA_REF_ID_CONFIG) == null ? null :
+      EnvelopeTemplate.render(settings, bodyFormat);
+
+    topicTemplates.clear();
+    for (Map.Entry<String, JsonNode> topic : readTopicMappings(config.getString(TOPIC_MAPPINGS_CONFIG)).properties()) {
+      final Map<String, String> topicSettings = new HashMap<>(settings);
+      for (Map.Entry<String, JsonNode> override : topic.getValue().properties()) {
+        if (!ENVELOPE_SETTINGS.contains(override.getKey())) {
+          throw new AEPStreamingRuntimeException("Unknown XDM envelope setting " + override.getKey() +
+            " in the mapping of topic " + topic.getKey());
+        }
+        topicSettings.put(override.getKey(), override.getValue().isNull() ? null : override.getValue().asText());
+      }
+
+      if (topicSettings.get(SCHEMA_REF_ID_CONFIG) == null) {
+        throw new AEPStreamingRuntimeException("No XDM schema id is configured for topic " + topic.getKey());
+      }
+      topicTemplates.put(topic.getKey(), EnvelopeTemplate.render(topicSettings, bodyFormat));
+    }
+
+    if (defaultTemplate == null && topicTemplates.isEmpty()) {
+      throw new AEPStreamingRuntimeException("XDM envelope requires a schema id, either for all topics or in the " +
+        "mapping of each topic.");
+    }
+  }
+
+  private byte[] getBody(R record) throws JsonProcessingException {
+    final Object value = record.value();
+    if (value instanceof JsonValuePayload) {
+      return ((JsonValuePayload) value).getBytes();
+    } else if (value instanceof byte[]) {
+      return getBytes(RawJsonPayload.validated((byte[]) value, validation));
+    } else if (value instanceof String) {
+      return getBytes(RawJsonPayload.validated((String) value, validation));
+    } else if (value instanceof RawJsonPayload) {
+      return ((RawJsonPayload) value).getBytes();
+    } else if (value instanceof JsonNode) {
+      return JacksonFactory.JSON_NODE_WRITER.writeValueAsBytes(value);
+    } else if (value instanceof Struct && record.valueSchema() != null) {
+      return structWriter.write(record.valueSchema(), value);
+    } else if (value instanceof Map || value instanceof Collection) {
+      return JacksonFactory.OBJECT_MAPPER.writeValueAsBytes(value);
+    }
+
+    throw new AEPStreamingRuntimeException("Unsupported type for the XDM envelope body: " + value.getClass());
+  }
+
+  private static byte[] getBytes(RawJsonPayload payload) {
+    return payload == null ? null : payload.getBytes();
+  }
+
+  private static JsonNode readTopicMappings(String topicMappings) {
+    final JsonNode mappings;
+    try {
+      mappings = JacksonFactory.OBJECT_MAPPER.readTree(topicMappings);
+    } catch (JsonProcessingException e) {
+      throw new AEPStreamingRuntimeException("Failed to read XDM envelope topic mappings.", e);
+    }
+
+    if (!mappings.isObject()) {
+      throw new AEPStreamingRuntimeException("XDM envelope topic mappings must be a json object.");
+    }
+    mappings.forEach(mapping -> {
+      if (!mapping.isObject()) {
+        throw new AEPStreamingRuntimeException("XDM envelope topic mappings must map topics to json objects.");
+      }
+    });
+    return mappings;
+  }
+
+  private enum BodyFormat {
+
+    BODY("body"),
+    ENTITY("entity");
+
+    private final String name;
+
+    BodyFormat(String name) {
+      this.name = name;
+    }
+
+    static BodyFormat getBodyFormat(String name) {
+      for (BodyFormat format : values()) {
+        if (format.name.equalsIgnoreCase(name)) {
+          return format;
+        }
+      }
+
+      throw new IllegalArgumentException("No XDM envelope body format found: " + name);
+    }
+  }
+
+  /**
+   * The envelope of one topic, as the bytes written before and after each record body.
+   */
+  private static final class EnvelopeTemplate {
+
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    private EnvelopeTemplate(byte[] prefix, byte[] suffix) {
+      this.prefix = prefix;
+      this.suffix = suffix;
+    }
+
+    static EnvelopeTemplate render(Map<String, String> settings, BodyFormat bodyFormat) {
+      final ObjectNode schemaRef = JsonNodeFactory.instance.objectNode()
+        .put("id", settings.get(SCHEMA_REF_ID_CONFIG))
+        .put("contentType", settings.get(SCHEMA_REF_CONTENT_TYPE_CONFIG));
+      final ObjectNode header = JsonNodeFactory.instance.objectNode();
+      header.set("schemaRef", schemaRef);
+      putIfPresent(header, "imsOrgId", settings.get(IMS_ORG_ID_CONFIG));
+      putIfPresent(header, "datasetId", settings.get(DATASET_ID_CONFIG));
+      if (settings.get(SOURCE_NAME_CONFIG) != null) {
+        header.putObject("source").put("name", settings.get(SOURCE_NAME_CONFIG));
+      }
+
+      final StringBuilder prefix = new StringBuilder("{\"header\":").append(header).append(",\"body\":");
+      String suffix = "}";
+      if (bodyFormat == BodyFormat.ENTITY) {
+        final ObjectNode xdmMeta = JsonNodeFactory.instance.objectNode();
+        xdmMeta.set("schemaRef", schemaRef);
+        prefix.append("{\"xdmMeta\":").append(xdmMeta).append(",\"xdmEntity\":");
+        suffix = "}}";
+      }
+
+      return new EnvelopeTemplate(prefix.toString().getBytes(StandardCharsets.UTF_8),
+        suffix.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void putIfPresent(ObjectNode node, String field, String value) {
+      if (value != null) {
+        node.put(field, value);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+
+package com.adobe.platform.streaming.sink.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registers the sink task MBeans picked up by the JMX Prometheus agent, one MBean per metric type and task.
+ *
+ * @author Adobe Inc.
+ */
+public class JmxUtils {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JmxUtils.class);
+  private static final String DOMAIN = "com.adobe.platform.streaming";
+
+  public static ObjectName register(Object mbean, String type, String connector, String task) {
+    try {
+      final ObjectName name = new ObjectName(String.format("%s:type=%s,connector=%s,task=%s", DOMAIN, type,
+        ObjectName.quote(Objects.toString(connector, "unknown")), ObjectName.quote(Objects.toString(task, "0"))));
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(mbean, name);
+      return name;
+    } catch (JMException exception) {
+      LOG.warn("Unable to register {} metrics of task {}", type, task, exception);
+      return null;
+    }
+  }
+
+  public static void unregister(ObjectName name) {
+    if (Objects.isNull(name)) {
+      return;
+    }
+
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    } catch (JMException exception) {
+      LOG.debug("Unable to unregister {}", name, exception);
+    }
+  }
+
+  private JmxUtils() {}
+
+}
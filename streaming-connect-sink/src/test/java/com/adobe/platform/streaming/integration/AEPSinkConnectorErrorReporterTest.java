@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.header.Headers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +32,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Map;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
@@ -129,6 +132,41 @@ public class AEPSinkConnectorErrorReporterTest extends AbstractConnectorTest {
       .withRequestBody(equalToJson(payloadReceivedMultiMessageXdmData(XDM_MULTI_MESSAGE_PAYLOAD_FILE))));
   }
 
+  @Test
+  public void kafkaErrorReporterTransientMessageFailureTest() throws HttpException, IOException,
+      InterruptedException {
+    getWiremockServer().resetRequests();
+    inletMultiStatusTransientResponse();
+    getConnect().kafka().createTopic(TOPIC_NAME, TOPIC_PARTITION);
+
+    Map<String, String> connectorConfig = connectorConfig(AEP_KAFKA_ERROR_CONNECTOR_CONFIG);
+    getConnect().kafka().createTopic(connectorConfig.get(DEAD_LETTER_TOPIC), TOPIC_PARTITION);
+
+    LOG.info("Starting connector cluster with connector : {}", CONNECTOR_NAME);
+    getConnect().configureConnector(CONNECTOR_NAME, connectorConfig);
+
+    String xdmData = xdmData(XDM_MULTI_MESSAGE_PAYLOAD_FILE);
+    ArrayNode xdmDataValues = (ArrayNode)JacksonFactory.OBJECT_MAPPER.readTree(xdmData);
+    JsonNode failedMessage = xdmDataValues.get(0);
+    getConnect().kafka().produce(TOPIC_NAME, failedMessage.toString());
+    getConnect().kafka().produce(TOPIC_NAME, xdmDataValues.get(1).toString());
+
+    waitForConnectorStart(CONNECTOR_NAME, 1, 8000);
+
+    // Verify the transiently failed message is posted again on its own instead of being sent to error topic
+    ObjectNode retriedPayload = JacksonFactory.OBJECT_MAPPER.createObjectNode();
+    retriedPayload.set("messages", JacksonFactory.OBJECT_MAPPER.createArrayNode().add(failedMessage));
+    getWiremockServer().verify(2, postRequestedFor(urlEqualTo(getRelativeUrl())));
+    getWiremockServer().verify(postRequestedFor(urlEqualTo(getRelativeUrl()))
+      .withRequestBody(equalToJson(JacksonFactory.OBJECT_MAPPER.writeValueAsString(retriedPayload))));
+
+    // Verify nothing was sent to error topic once the retried message was accepted
+    try (KafkaConsumer<byte[], byte[]> consumer = getConnect().kafka()
+      .createConsumerAndSubscribeTo(Collections.emptyMap(), connectorConfig.get(DEAD_LETTER_TOPIC))) {
+      Assertions.assertTrue(consumer.poll(Duration.ofMillis(8000)).isEmpty());
+    }
+  }
+
   @Test
   public void kafkaErrorReporterMultiMessageWithHeadersTest() throws HttpException, IOException, InterruptedException {
     inletMultiStatusSuccessfulResponse();
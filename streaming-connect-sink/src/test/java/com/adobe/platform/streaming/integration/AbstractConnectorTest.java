@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.type.MapLikeType;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 
 import org.apache.kafka.connect.util.clusters.EmbeddedConnectCluster;
 import org.junit.jupiter.api.AfterEach;
@@ -60,6 +61,11 @@ public abstract class AbstractConnectorTest {
 
   private static final String AEP_CONNECTOR_INLET_MULTI_STATUS_SUCCESSFUL_RESPONSE =
     "aep-connector-inlet-multi-message-response.json";
+
+  private static final String AEP_CONNECTOR_INLET_MULTI_STATUS_TRANSIENT_RESPONSE =
+    "aep-connector-inlet-multi-message-transient-response.json";
+  private static final String TRANSIENT_FAILURE_SCENARIO = "transient-failure";
+  private static final String TRANSIENT_FAILURE_RETRIED_STATE = "retried";
   protected static final int TOPIC_PARTITION = 1;
   protected static final int NUMBER_OF_TASKS = 1;
   protected static final String CONNECTOR_NAME = "aep-sink-connector";
@@ -145,6 +151,26 @@ public abstract class AbstractConnectorTest {
       .getResourceAsStream(AEP_CONNECTOR_INLET_MULTI_STATUS_SUCCESSFUL_RESPONSE)))));
   }
 
+  public void inletMultiStatusTransientResponse() throws IOException {
+    wiremockExtension.getWireMockServer()
+      .stubFor(WireMock
+      .post(WireMock.urlEqualTo(getRelativeUrl()))
+      .inScenario(TRANSIENT_FAILURE_SCENARIO)
+      .whenScenarioStateIs(Scenario.STARTED)
+      .willReturn(ResponseDefinitionBuilder.responseDefinition()
+      .withJsonBody(JacksonFactory.OBJECT_MAPPER.readTree(this.getClass().getClassLoader()
+      .getResourceAsStream(AEP_CONNECTOR_INLET_MULTI_STATUS_TRANSIENT_RESPONSE))))
+      .willSetStateTo(TRANSIENT_FAILURE_RETRIED_STATE));
+    wiremockExtension.getWireMockServer()
+      .stubFor(WireMock
+      .post(WireMock.urlEqualTo(getRelativeUrl()))
+      .inScenario(TRANSIENT_FAILURE_SCENARIO)
+      .whenScenarioStateIs(TRANSIENT_FAILURE_RETRIED_STATE)
+      .willReturn(ResponseDefinitionBuilder.responseDefinition()
+      .withJsonBody(JacksonFactory.OBJECT_MAPPER.readTree(this.getClass().getClassLoader()
+      .getResourceAsStream(AEP_CONNECTOR_INLET_SUCCESSFUL_RESPONSE)))));
+  }
+
   public void inletIMSAuthenticationSuccessfulResponse() throws JsonProcessingException {
     wiremockExtension.getWireMockServer()
       .stubFor(WireMock
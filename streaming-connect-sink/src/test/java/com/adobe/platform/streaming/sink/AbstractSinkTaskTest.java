@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.kafka.connect.errors.RetriableException;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.apache.kafka.connect.sink.ErrantRecordReporter;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+@Tag("unit")
+class AbstractSinkTaskTest {
+
+  private final RecordingSinkTask task = new RecordingSinkTask();
+
+  @AfterEach
+  void tearDown() {
+    task.stop();
+  }
+
+  @Test
+  void testRecordsLingerAcrossPuts() throws InterruptedException {
+    task.start(props("200"));
+
+    task.put(Collections.singletonList(record(0)));
+    task.put(Collections.singletonList(record(1)));
+    assertTrue(task.getPublished().isEmpty());
+
+    // publishing synchronously, the lingering batch is published by the first put after the linger time
+    Thread.sleep(250);
+    assertTrue(task.getPublished().isEmpty());
+    task.put(Collections.emptyList());
+
+    assertEquals(Collections.singletonList(Arrays.asList("{\"offset\":0}", "{\"offset\":1}")), task.getPublished());
+  }
+
+  @Test
+  void testLingerTimerPublishesAsynchronously() throws InterruptedException {
+    final Map<String, String> props = props("200");
+    props.put("aep.publish.async.enabled", "true");
+    task.start(props);
+
+    task.put(Collections.singletonList(record(0)));
+    task.put(Collections.singletonList(record(1)));
+    assertTrue(task.getPublished().isEmpty());
+
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (task.getPublished().isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(Collections.singletonList(Arrays.asList("{\"offset\":0}", "{\"offset\":1}")), task.getPublished());
+  }
+
+  @Test
+  void testFlushDrainsLingeringRecords() {
+    task.start(props("60000"));
+
+    task.put(Arrays.asList(record(0), record(1)));
+    assertTrue(task.getPublished().isEmpty());
+
+    task.flush(Collections.emptyMap());
+    assertEquals(1, task.getPublished().size());
+    assertEquals(2, task.getPublished().get(0).size());
+  }
+
+  @Test
+  void testEveryPutIsPublishedWithoutLinger() {
+    task.start(props("0"));
+
+    task.put(Collections.singletonList(record(0)));
+    task.put(Collections.singletonList(record(1)));
+
+    assertEquals(2, task.getPublished().size());
+  }
+
+  @Test
+  void testRecordsAreHandedBackWhilePublishingIsSuspended() {
+    task.start(props("0"));
+
+    task.setSuspensionMillis(1000);
+    assertThrows(RetriableException.class, () -> task.put(Collections.singletonList(record(0))));
+    assertTrue(task.getPublished().isEmpty());
+
+    task.setSuspensionMillis(0);
+    task.put(Collections.singletonList(record(0)));
+    assertEquals(1, task.getPublished().size());
+  }
+
+  @Test
+  void testHandedBackLingeringBatchRewindsOffsets() throws InterruptedException {
+    task.start(props("200"));
+
+    task.put(Collections.singletonList(record(0)));
+    Thread.sleep(250);
+
+    // the expired batch holds a record of an earlier put, so the next commit fails to have it redelivered
+    task.setRefused(true);
+    assertThrows(RetriableException.class, () -> task.put(Collections.singletonList(record(1))));
+    task.setRefused(false);
+    assertThrows(RetriableException.class, () -> task.preCommit(Collections.emptyMap()));
+
+    assertTrue(task.preCommit(Collections.emptyMap()).isEmpty());
+    assertTrue(task.getPublished().isEmpty());
+  }
+
+  private static Map<String, String> props(String lingerMillis) {
+    final Map<String, String> props = new HashMap<>();
+    props.put("aep.batch.linger.ms", lingerMillis);
+    props.put("aep.flush.interval.seconds", "60");
+    return props;
+  }
+
+  private static SinkRecord record(long offset) {
+    return new SinkRecord("test", 0, null, null, null, "{\"offset\":" + offset + "}", offset);
+  }
+
+  private static class RecordingSinkTask extends AbstractSinkTask<String> {
+
+    private final List<List<String>> published = Collections.synchronizedList(new ArrayList<>());
+    private volatile long suspensionMillis;
+    private volatile boolean refused;
+
+    RecordingSinkTask() {
+      jsonValueConverter = new JsonConverter();
+    }
+
+    @Override
+    public void init(Map<String, String> properties, ErrantRecordReporter errantRecordReporter) {
+    }
+
+    @Override
+    public String getDataToPublish(Pair<String, SinkRecord> sinkRecord) {
+      return sinkRecord.getKey();
+    }
+
+    @Override
+    public int getPayloadLength(String dataToPublish) {
+      return dataToPublish.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Override
+    public void publishData(List<String> eventsToPublish) {
+      if (refused) {
+        throw new RetriableException("refused");
+      }
+      published.add(new ArrayList<>(eventsToPublish));
+    }
+
+    @Override
+    protected long getPublishSuspensionMillis() {
+      return suspensionMillis;
+    }
+
+    void setSuspensionMillis(long suspensionMillis) {
+      this.suspensionMillis = suspensionMillis;
+    }
+
+    void setRefused(boolean refused) {
+      this.refused = refused;
+    }
+
+    List<List<String>> getPublished() {
+      return published;
+    }
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Adobe Inc.
+ */
+@Tag("unit")
+class AdaptiveBatchControllerTest {
+
+  private static final long LATENCY_TARGET_MILLIS = 500;
+
+  private final AdaptiveBatchController controller = AdaptiveBatchController.newBuilder()
+    .withBatchMessages(10, 100)
+    .withBatchIncreaseStep(5)
+    .withMaxInFlight(4)
+    .withLatencyTargetMillis(LATENCY_TARGET_MILLIS)
+    .withDecreaseFactor(0.5)
+    .build();
+
+  @Test
+  void testThrottlingCutsLimitsOncePerEpisode() {
+    controller.onResponse(429, 100, 1000);
+    controller.onResponse(503, 100, 1100);
+
+    assertEquals(50, controller.getBatchMaxMessages());
+    assertEquals(2, controller.getMaxInFlightBatches());
+    assertEquals(1, controller.getThrottledResponses());
+    assertEquals(1, controller.getServerErrorResponses());
+    assertEquals(1, controller.getDecreases());
+
+    controller.onResponse(429, 100, 1000 + LATENCY_TARGET_MILLIS);
+    assertEquals(25, controller.getBatchMaxMessages());
+    assertEquals(1, controller.getMaxInFlightBatches());
+  }
+
+  @Test
+  void testHealthyResponsesGrowLimitsAdditively() {
+    controller.onFailure(100, 1000);
+    assertEquals(50, controller.getBatchMaxMessages());
+    assertEquals(2, controller.getMaxInFlightBatches());
+
+    controller.onResponse(200, 100, 2000);
+    assertEquals(55, controller.getBatchMaxMessages());
+    assertEquals(2, controller.getMaxInFlightBatches());
+
+    controller.onResponse(200, 100, 2100);
+    assertEquals(60, controller.getBatchMaxMessages());
+    assertEquals(3, controller.getMaxInFlightBatches());
+
+    for (int i = 0; i < 50; i++) {
+      controller.onResponse(200, 100, 3000);
+    }
+    assertEquals(100, controller.getBatchMaxMessages());
+    assertEquals(4, controller.getMaxInFlightBatches());
+  }
+
+  @Test
+  void testSlowResponsesBackOff() {
+    for (int i = 0; i < 10; i++) {
+      controller.onResponse(200, 5000, 1000);
+    }
+
+    assertEquals(50, controller.getBatchMaxMessages());
+    assertEquals(0, controller.getThrottledResponses());
+    assertEquals(1, controller.getDecreases());
+  }
+
+  @Test
+  void testLimitsStayWithinBounds() {
+    for (int i = 0; i < 10; i++) {
+      controller.onResponse(429, 100, 1000 + i * LATENCY_TARGET_MILLIS);
+    }
+
+    assertEquals(10, controller.getBatchMaxMessages());
+    assertEquals(1, controller.getMaxInFlightBatches());
+  }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.adobe.platform.streaming.AEPStreamingException;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.errors.RetriableException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+@Tag("unit")
+class AsyncBatchDispatcherTest {
+
+  private static final String TOPIC = "test";
+  private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+  private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+  @Test
+  void testPartitionOrderIsPreserved() {
+    final List<Long> published = Collections.synchronizedList(new ArrayList<>());
+    final AsyncBatchDispatcher<Long> dispatcher = new AsyncBatchDispatcher<>(events -> {
+      // the first batch is the slowest one, a reordering dispatcher would publish it last
+      if (events.contains(0L)) {
+        sleep(200);
+      }
+      published.addAll(events);
+    }, 4, AsyncBatchDispatcher.FullPolicy.BLOCK);
+
+    for (long offset = 0; offset < 4; offset++) {
+      dispatcher.submit(batchOf(0, offset));
+    }
+    dispatcher.close(5000);
+
+    assertEquals(Arrays.asList(0L, 1L, 2L, 3L), published);
+  }
+
+  @Test
+  void testOnlyAcknowledgedOffsetsAreCommitted() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AsyncBatchDispatcher<Long> dispatcher = new AsyncBatchDispatcher<>(events -> {
+      if (events.contains(10L)) {
+        await(release);
+      }
+    }, 2, AsyncBatchDispatcher.FullPolicy.BLOCK);
+
+    dispatcher.submit(batchOf(0, 5));
+    dispatcher.submit(batchOf(1, 10));
+    dispatcher.awaitInFlight(100);
+
+    final Map<TopicPartition, OffsetAndMetadata> currentOffsets = new HashMap<>();
+    currentOffsets.put(PARTITION_0, new OffsetAndMetadata(6));
+    currentOffsets.put(PARTITION_1, new OffsetAndMetadata(11));
+
+    Map<TopicPartition, OffsetAndMetadata> committable = dispatcher.getAcknowledgedOffsets(currentOffsets);
+    assertEquals(6, committable.get(PARTITION_0).offset());
+    assertTrue(!committable.containsKey(PARTITION_1));
+
+    release.countDown();
+    dispatcher.awaitInFlight(5000);
+    committable = dispatcher.getAcknowledgedOffsets(currentOffsets);
+    assertEquals(11, committable.get(PARTITION_1).offset());
+    dispatcher.close(5000);
+  }
+
+  @Test
+  void testRecordsOutsideBatchesAreCommitted() {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AsyncBatchDispatcher<Long> dispatcher = new AsyncBatchDispatcher<>(events -> {
+      if (events.contains(30L)) {
+        await(release);
+      }
+    }, 2, AsyncBatchDispatcher.FullPolicy.BLOCK);
+
+    dispatcher.submit(batchOf(0, 5));
+    dispatcher.awaitInFlight(5000);
+
+    // records 6 to 19 of partition 0 and every record of partition 1 were dropped before reaching a batch
+    final Map<TopicPartition, OffsetAndMetadata> currentOffsets = new HashMap<>();
+    currentOffsets.put(PARTITION_0, new OffsetAndMetadata(20));
+    currentOffsets.put(PARTITION_1, new OffsetAndMetadata(11));
+
+    Map<TopicPartition, OffsetAndMetadata> committable = dispatcher.getAcknowledgedOffsets(currentOffsets);
+    assertEquals(20, committable.get(PARTITION_0).offset());
+    assertEquals(11, committable.get(PARTITION_1).offset());
+
+    // with a batch in flight, only the batches before it are acknowledged
+    dispatcher.submit(batchOf(0, 30));
+    currentOffsets.put(PARTITION_0, new OffsetAndMetadata(40));
+    committable = dispatcher.getAcknowledgedOffsets(currentOffsets);
+    assertEquals(6, committable.get(PARTITION_0).offset());
+
+    release.countDown();
+    dispatcher.awaitInFlight(5000);
+    committable = dispatcher.getAcknowledgedOffsets(currentOffsets);
+    assertEquals(40, committable.get(PARTITION_0).offset());
+    dispatcher.close(5000);
+  }
+
+  @Test
+  void testFailureIsSurfacedOnTaskThread() {
+    final AsyncBatchDispatcher<Long> dispatcher = new AsyncBatchDispatcher<>(events -> {
+      throw new AEPStreamingException("Failed to publish");
+    }, 1, AsyncBatchDispatcher.FullPolicy.BLOCK);
+
+    dispatcher.submit(batchOf(0, 1));
+    dispatcher.awaitInFlight(5000);
+
+    assertThrows(ConnectException.class, dispatcher::ensureCapacity);
+    assertThrows(ConnectException.class, () -> dispatcher.getAcknowledgedOffsets(Collections.emptyMap()));
+    dispatcher.close(5000);
+  }
+
+  @Test
+  void testRetryPolicyRejectsWhenFull() {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AsyncBatchDispatcher<Long> dispatcher = new AsyncBatchDispatcher<>(events -> await(release), 1,
+      AsyncBatchDispatcher.FullPolicy.RETRY);
+
+    dispatcher.submit(batchOf(0, 1));
+    assertThrows(RetriableException.class, dispatcher::ensureCapacity);
+
+    release.countDown();
+    dispatcher.close(5000);
+  }
+
+  @Test
+  void testLoweredInFlightLimitHoldsBackBatches() {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AsyncBatchDispatcher<Long> dispatcher = new AsyncBatchDispatcher<>(events -> await(release), 3,
+      AsyncBatchDispatcher.FullPolicy.RETRY);
+
+    dispatcher.setInFlightLimit(1);
+    dispatcher.submit(batchOf(0, 1));
+    assertThrows(RetriableException.class, dispatcher::ensureCapacity);
+
+    dispatcher.setInFlightLimit(2);
+    dispatcher.ensureCapacity();
+    assertEquals(2, dispatcher.getInFlightLimit());
+
+    release.countDown();
+    dispatcher.close(5000);
+  }
+
+  private static PublishBatch<Long> batchOf(int partition, long offset) {
+    final PublishBatch<Long> batch = new PublishBatch<>();
+    batch.add(offset, new SinkRecord(TOPIC, partition, null, null, null, null, offset), 1);
+    return batch;
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+@Tag("unit")
+class BatchBuilderTest {
+
+  private final BatchEnvelopeWriter envelopeWriter = new BatchEnvelopeWriter();
+
+  @Test
+  void testEncodedBytesMatchRequestBody() throws IOException {
+    final BatchBuilder<RawJsonPayload> builder = new BatchBuilder<>(1024, 10);
+    final List<RawJsonPayload> payloads = Arrays.asList(payload("{\"a\":1}"), payload("{\"name\":\"caf\\u00e9\"}"),
+      payload("[1,2,3]"));
+    for (RawJsonPayload payload : payloads) {
+      assertNull(builder.add(payload, record(0), payload.getEncodedLength()));
+    }
+
+    assertEquals(envelopeWriter.write(payloads).length, builder.getEncodedBytes());
+    assertEquals(3, builder.seal().size());
+    assertTrue(builder.isEmpty());
+  }
+
+  @Test
+  void testOverflowingEventStartsNextBatch() throws IOException {
+    final RawJsonPayload payload = payload("{\"value\":\"0123456789\"}");
+    final int maxBytes = BatchEnvelopeWriter.ENVELOPE_OVERHEAD + 3 * payload.getEncodedLength() +
+      2 * BatchEnvelopeWriter.SEPARATOR_LENGTH;
+    final BatchBuilder<RawJsonPayload> builder = new BatchBuilder<>(maxBytes, 100);
+
+    final List<PublishBatch<RawJsonPayload>> sealed = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      final PublishBatch<RawJsonPayload> batch = builder.add(payload, record(i), payload.getEncodedLength());
+      if (batch != null) {
+        sealed.add(batch);
+      }
+    }
+
+    assertEquals(2, sealed.size());
+    for (PublishBatch<RawJsonPayload> batch : sealed) {
+      assertEquals(3, batch.size());
+      assertEquals(maxBytes, envelopeWriter.write(batch.getEvents()).length);
+    }
+    assertEquals(1, builder.size());
+  }
+
+  @Test
+  void testMessageCountLimit() {
+    final RawJsonPayload payload = payload("{}");
+    final BatchBuilder<RawJsonPayload> builder = new BatchBuilder<>(1024, 2);
+
+    assertNull(builder.add(payload, record(0), payload.getEncodedLength()));
+    assertFalse(builder.isFull());
+    assertNull(builder.add(payload, record(1), payload.getEncodedLength()));
+    assertTrue(builder.isFull());
+
+    final PublishBatch<RawJsonPayload> sealed = builder.add(payload, record(2), payload.getEncodedLength());
+    assertNotNull(sealed);
+    assertEquals(2, sealed.size());
+    assertEquals(1, builder.size());
+  }
+
+  @Test
+  void testOversizedEvent() {
+    final BatchBuilder<RawJsonPayload> builder = new BatchBuilder<>(BatchEnvelopeWriter.ENVELOPE_OVERHEAD + 10, 10);
+
+    assertFalse(builder.isOversized(10));
+    assertTrue(builder.isOversized(11));
+  }
+
+  private static RawJsonPayload payload(String json) {
+    return RawJsonPayload.validated(json);
+  }
+
+  private static SinkRecord record(long offset) {
+    return new SinkRecord("test", 0, null, null, null, null, offset);
+  }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.http.HttpRequestBody;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Adobe Inc.
+ */
+@Tag("unit")
+class BatchEnvelopeWriterTest {
+
+  private final BatchEnvelopeWriter envelopeWriter = new BatchEnvelopeWriter();
+
+  @Test
+  void testPayloadsAreSplicedVerbatim() throws IOException {
+    final List<MessagePayload> payloads = Arrays.asList(
+      RawJsonPayload.validated("{\"header\":{\"schemaRef\":{\"id\":\"x\"}},\"body\":{\"name\":\"cafe\"}}"),
+      RawJsonPayload.validated("[1, 2, 3]"),
+      RawJsonPayload.validated("null"));
+
+    final byte[] body = envelopeWriter.write(payloads);
+
+    assertEquals("{\"messages\":[{\"header\":{\"schemaRef\":{\"id\":\"x\"}},\"body\":{\"name\":\"cafe\"}}," +
+      "[1, 2, 3],null]}", new String(body, StandardCharsets.UTF_8));
+    assertEquals(body.length, BatchEnvelopeWriter.getEncodedLength(payloads));
+  }
+
+  @Test
+  void testPayloadLargerThanGeneratorBuffer() throws IOException {
+    final String value = StringUtils.repeat('a', 64 * 1024);
+    final List<MessagePayload> payloads = Arrays.asList(
+      RawJsonPayload.validated("{\"value\":\"" + value + "\"}"),
+      RawJsonPayload.validated("{\"value\":\"b\"}"));
+
+    final byte[] body = envelopeWriter.write(payloads);
+    final JsonNode messages = JacksonFactory.OBJECT_MAPPER.readTree(body).get("messages");
+
+    assertEquals(2, messages.size());
+    assertEquals(value, messages.get(0).get("value").asText());
+    assertEquals(body.length, BatchEnvelopeWriter.getEncodedLength(payloads));
+  }
+
+  @Test
+  void testStreamingBodyIsWrittenAgainOnReplay() throws IOException {
+    final List<MessagePayload> payloads = Arrays.asList(
+      RawJsonPayload.validated("{\"body\":{\"id\":1}}"),
+      RawJsonPayload.validated("{\"body\":{\"id\":2}}"));
+    final HttpRequestBody body = envelopeWriter.newStreamingBody(payloads);
+
+    for (int attempt = 0; attempt < 2; attempt++) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      body.writeTo(out);
+      assertArrayEquals(envelopeWriter.write(payloads), out.toByteArray());
+    }
+    assertEquals(-1, body.getContentLength());
+  }
+
+  @Test
+  void testEmptyEnvelope() throws IOException {
+    final byte[] body = envelopeWriter.write(Collections.emptyList());
+
+    assertEquals("{\"messages\":[]}", new String(body, StandardCharsets.UTF_8));
+    assertEquals(body.length, BatchEnvelopeWriter.getEncodedLength(Collections.emptyList()));
+  }
+
+  @Test
+  void testMalformedPayloadsAreRejected() {
+    assertNull(RawJsonPayload.validated("{\"name\":"));
+    assertNull(RawJsonPayload.validated("{\"name\":1} {\"name\":2}"));
+    assertNull(RawJsonPayload.validated("not json"));
+    assertNull(RawJsonPayload.validated(""));
+    assertNotNull(RawJsonPayload.validated(" {\"name\":1}\n"));
+  }
+
+  @Test
+  void testStructuralValidation() {
+    assertNotNull(RawJsonPayload.validated(bytes("{\"a\":[1,{\"b\":\"}]\\\"\"}]}\r\n"), PayloadValidation.STRUCTURAL));
+    assertNotNull(RawJsonPayload.validated(bytes("\"scalar\""), PayloadValidation.STRUCTURAL));
+    assertNull(RawJsonPayload.validated(bytes("{\"a\":[1}"), PayloadValidation.STRUCTURAL));
+    assertNull(RawJsonPayload.validated(bytes("{\"a\":\"open}"), PayloadValidation.STRUCTURAL));
+    assertNull(RawJsonPayload.validated(bytes("{\"a\":1} {\"a\":2}"), PayloadValidation.STRUCTURAL));
+    assertNull(RawJsonPayload.validated(bytes("{\"a\":\"line\nbreak\"}"), PayloadValidation.STRUCTURAL));
+    assertNull(RawJsonPayload.validated(bytes("not json"), PayloadValidation.STRUCTURAL));
+    assertNull(RawJsonPayload.validated(bytes(""), PayloadValidation.NONE));
+
+    final String deep = StringUtils.repeat('[', 100) + StringUtils.repeat(']', 100);
+    assertNotNull(RawJsonPayload.validated(bytes(deep), PayloadValidation.STRUCTURAL));
+    assertNull(RawJsonPayload.validated(bytes(deep + "]"), PayloadValidation.STRUCTURAL));
+  }
+
+  @Test
+  void testPassthroughBytesAreSplicedAsTheyAre() throws IOException {
+    final byte[] value = bytes("{\"body\":{\"id\":1}}");
+    final RawJsonPayload payload = RawJsonPayload.validated(value, PayloadValidation.NONE);
+
+    assertEquals(value.length, payload.getEncodedLength());
+    assertEquals("{\"messages\":[{\"body\":{\"id\":1}}]}",
+      new String(envelopeWriter.write(Collections.singletonList(payload)), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testEnvelopesAreSplicedAroundBody() throws IOException {
+    final byte[] prefix = bytes("{\"header\":{\"schemaRef\":{\"id\":\"x\"}},\"body\":");
+    final byte[] suffix = bytes("}");
+    final List<MessagePayload> payloads = Arrays.asList(
+      new EnvelopePayload(prefix, bytes("{\"id\":1}"), suffix),
+      new EnvelopePayload(prefix, bytes("{\"id\":2}"), suffix));
+
+    final byte[] body = envelopeWriter.write(payloads);
+    assertEquals("{\"messages\":[{\"header\":{\"schemaRef\":{\"id\":\"x\"}},\"body\":{\"id\":1}}," +
+      "{\"header\":{\"schemaRef\":{\"id\":\"x\"}},\"body\":{\"id\":2}}]}", new String(body, StandardCharsets.UTF_8));
+    assertEquals(body.length, BatchEnvelopeWriter.getEncodedLength(payloads));
+  }
+
+  @Test
+  void testParsedValuesAreEncodedOnce() throws IOException {
+    final ObjectNode tree = JacksonFactory.OBJECT_MAPPER.createObjectNode().put("id", 1);
+    final JsonValuePayload parsed = JsonValuePayload.of(tree);
+    final List<MessagePayload> payloads = Arrays.asList(parsed, JsonValuePayload.of(bytes("{\"id\": 2}")));
+
+    final int length = BatchEnvelopeWriter.getEncodedLength(payloads);
+    final byte[] encoded = parsed.getBytes();
+    final byte[] body = envelopeWriter.write(payloads);
+
+    assertSame(encoded, parsed.getBytes());
+    assertEquals("{\"messages\":[{\"id\":1},{\"id\": 2}]}", new String(body, StandardCharsets.UTF_8));
+    assertEquals(body.length, length);
+
+    // a tree taken to be changed is a copy, the value and its encoding stay as they are
+    ((ObjectNode) parsed.toOwnedTree()).put("id", 3);
+    assertSame(tree, parsed.getTree());
+    assertSame(encoded, parsed.getBytes());
+    assertArrayEquals(bytes("{\"id\":1}"), parsed.getBytes());
+  }
+
+  private static byte[] bytes(String json) {
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+
+}
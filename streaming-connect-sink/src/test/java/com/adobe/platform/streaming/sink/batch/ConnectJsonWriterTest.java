@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.apache.kafka.connect.json.JsonConverterConfig;
+import org.apache.kafka.connect.storage.ConverterConfig;
+import org.apache.kafka.connect.storage.ConverterType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Adobe Inc.
+ */
+@Tag("unit")
+class ConnectJsonWriterTest {
+
+  private static final Schema IDENTITY_SCHEMA = SchemaBuilder.struct()
+    .name("Identity")
+    .field("id", Schema.STRING_SCHEMA)
+    .field("primary", Schema.BOOLEAN_SCHEMA)
+    .build();
+
+  private static final Schema EVENT_SCHEMA = SchemaBuilder.struct()
+    .name("ExperienceEvent")
+    .field("_id", Schema.STRING_SCHEMA)
+    .field("timestamp", Timestamp.SCHEMA)
+    .field("day", Date.SCHEMA)
+    .field("priceTotal", Decimal.schema(2))
+    .field("quantity", Schema.INT32_SCHEMA)
+    .field("views", Schema.INT64_SCHEMA)
+    .field("ratio", SchemaBuilder.float32().build())
+    .field("score", Schema.FLOAT64_SCHEMA)
+    .field("flags", SchemaBuilder.int8().build())
+    .field("level", SchemaBuilder.int16().build())
+    .field("digest", Schema.BYTES_SCHEMA)
+    .field("note", Schema.OPTIONAL_STRING_SCHEMA)
+    .field("channel", SchemaBuilder.string().defaultValue("web").build())
+    .field("tags", SchemaBuilder.array(Schema.STRING_SCHEMA).build())
+    .field("identityMap", SchemaBuilder.map(Schema.STRING_SCHEMA, SchemaBuilder.array(IDENTITY_SCHEMA).build())
+      .build())
+    .field("counters", SchemaBuilder.map(Schema.INT32_SCHEMA, Schema.INT64_SCHEMA).build())
+    .build();
+
+  private final ConnectJsonWriter writer = new ConnectJsonWriter();
+
+  @Test
+  void testStructIsWrittenLikeJsonConverter() {
+    final Map<String, Object> identityMap = new LinkedHashMap<>();
+    identityMap.put("ECID", Arrays.asList(new Struct(IDENTITY_SCHEMA).put("id", "5834017596").put("primary", true)));
+    identityMap.put("Email", Arrays.asList(new Struct(IDENTITY_SCHEMA).put("id", "jane.doe@example.com")
+      .put("primary", false)));
+    final Map<Integer, Long> counters = new LinkedHashMap<>();
+    counters.put(1, 10L);
+    counters.put(2, 20L);
+
+    final Struct event = new Struct(EVENT_SCHEMA)
+      .put("_id", "3c1d7a52 \"quoted\" \u00e9t\u00e9 \n") // escaped, non-ASCII and control characters
+      .put("timestamp", new java.util.Date(1792316487512L))
+      .put("day", new java.util.Date(1792281600000L))
+      .put("priceTotal", new BigDecimal("184.97"))
+      .put("quantity", 3)
+      .put("views", 9007199254740993L)
+      .put("ratio", 0.1f)
+      .put("score", 1.0E-7)
+      .put("flags", (byte) 7)
+      .put("level", (short) -2)
+      .put("digest", ByteBuffer.wrap("secret".getBytes(StandardCharsets.UTF_8)))
+      .put("note", null)
+      .put("tags", Arrays.asList("a", "b"))
+      .put("identityMap", identityMap)
+      .put("counters", counters);
+
+    assertEquals(convert(EVENT_SCHEMA, event), write(EVENT_SCHEMA, event));
+  }
+
+  @Test
+  void testPlanIsCompiledOncePerSchema() {
+    for (int i = 0; i < 3; i++) {
+      final Struct identity = new Struct(IDENTITY_SCHEMA).put("id", "id-" + i).put("primary", i == 0);
+      assertEquals(convert(IDENTITY_SCHEMA, identity), write(IDENTITY_SCHEMA, identity));
+    }
+
+    assertEquals(1, writer.getCachedPlans());
+  }
+
+  @Test
+  void testInvalidValuesAreRejected() {
+    final Struct missingRequired = new Struct(IDENTITY_SCHEMA).put("primary", true);
+    assertThrows(DataException.class, () -> writer.write(IDENTITY_SCHEMA, missingRequired));
+
+    final Schema otherSchema = SchemaBuilder.struct().name("Other").field("id", Schema.STRING_SCHEMA).build();
+    assertThrows(DataException.class, () -> writer.write(otherSchema,
+      new Struct(IDENTITY_SCHEMA).put("id", "x").put("primary", true)));
+
+    final Map<String, Object> wrongType = new HashMap<>();
+    wrongType.put("id", 42);
+    assertThrows(DataException.class, () -> writer.write(SchemaBuilder.map(Schema.STRING_SCHEMA,
+      Schema.STRING_SCHEMA).build(), wrongType));
+  }
+
+  private String write(Schema schema, Object value) {
+    return new String(writer.write(schema, value), StandardCharsets.UTF_8);
+  }
+
+  private static String convert(Schema schema, Object value) {
+    final JsonConverter jsonConverter = new JsonConverter();
+    final Map<String, Object> configs = new HashMap<>();
+    configs.put(JsonConverterConfig.SCHEMAS_ENABLE_CONFIG, false);
+    configs.put(ConverterConfig.TYPE_CONFIG, ConverterType.VALUE.getName());
+    jsonConverter.configure(configs);
+    return new String(jsonConverter.fromConnectData("test", schema, value), StandardCharsets.UTF_8);
+  }
+
+}
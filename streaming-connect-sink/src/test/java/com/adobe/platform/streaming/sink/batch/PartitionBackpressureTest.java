@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.sink.ErrantRecordReporter;
+import org.apache.kafka.connect.sink.SinkTaskContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+@Tag("unit")
+class PartitionBackpressureTest {
+
+  private static final TopicPartition PARTITION_0 = new TopicPartition("test", 0);
+  private static final TopicPartition PARTITION_1 = new TopicPartition("test", 1);
+
+  private final RecordingContext context = new RecordingContext();
+  private final PartitionBackpressure backpressure = new PartitionBackpressure(1000, 500, 100);
+
+  @Test
+  void testPausesAboveHighWaterMarkAndResumesBelowLowWaterMark() {
+    context.assignment.addAll(Arrays.asList(PARTITION_0, PARTITION_1));
+
+    backpressure.update(context, 999, false);
+    assertFalse(backpressure.isPaused());
+
+    backpressure.update(context, 1000, false);
+    assertTrue(backpressure.isPaused());
+    assertEquals(context.assignment, context.paused);
+    assertEquals(100, context.timeout);
+
+    backpressure.update(context, 600, false);
+    assertTrue(backpressure.isPaused());
+
+    backpressure.update(context, 500, false);
+    assertFalse(backpressure.isPaused());
+    assertTrue(context.paused.isEmpty());
+  }
+
+  @Test
+  void testSaturatedPublisherKeepsPartitionsPaused() {
+    context.assignment.add(PARTITION_0);
+
+    backpressure.update(context, 0, true);
+    assertTrue(backpressure.isPaused());
+
+    backpressure.update(context, 0, false);
+    assertFalse(backpressure.isPaused());
+  }
+
+  @Test
+  void testRevokedPartitionsAreForgotten() {
+    context.assignment.add(PARTITION_0);
+    backpressure.update(context, 2000, false);
+
+    context.assignment.clear();
+    backpressure.forget(Collections.singletonList(PARTITION_0));
+    assertFalse(backpressure.isPaused());
+  }
+
+  private static class RecordingContext implements SinkTaskContext {
+
+    private final Set<TopicPartition> assignment = new HashSet<>();
+    private final Set<TopicPartition> paused = new HashSet<>();
+    private long timeout;
+
+    @Override
+    public Map<String, String> configs() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public void offset(Map<TopicPartition, Long> offsets) {
+    }
+
+    @Override
+    public void offset(TopicPartition tp, long offset) {
+    }
+
+    @Override
+    public void timeout(long timeoutMs) {
+      timeout = timeoutMs;
+    }
+
+    @Override
+    public Set<TopicPartition> assignment() {
+      return assignment;
+    }
+
+    @Override
+    public void pause(TopicPartition... partitions) {
+      paused.addAll(Arrays.asList(partitions));
+    }
+
+    @Override
+    public void resume(TopicPartition... partitions) {
+      paused.removeAll(Arrays.asList(partitions));
+    }
+
+    @Override
+    public void requestCommit() {
+    }
+
+    @Override
+    public ErrantRecordReporter errantRecordReporter() {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.sink.batch;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Adobe Inc.
+ */
+@Tag("unit")
+class PublishRateLimiterTest {
+
+  @Test
+  void testUnlimitedWithoutShares() {
+    final PublishRateLimiter limiter = new PublishRateLimiter(0);
+    assertEquals(0, limiter.reserve(1_000_000, Long.MAX_VALUE / 2, 0));
+  }
+
+  @Test
+  void testBurstThenWaitForRefill() {
+    final PublishRateLimiter limiter = new PublishRateLimiter(0);
+    limiter.adjust(100, 0, 0);
+
+    assertEquals(0, limiter.reserve(100, 0, 0));
+    assertEquals(500, limiter.reserve(50, 0, 0));
+    // the overdrawn bucket is paid back first
+    assertEquals(0, limiter.reserve(50, 0, 1000));
+    assertEquals(0, limiter.reserve(50, 0, 1500));
+  }
+
+  @Test
+  void testSlowestBucketSetsTheWait() {
+    final PublishRateLimiter limiter = new PublishRateLimiter(0);
+    limiter.adjust(1000, 1000, 0);
+
+    assertEquals(2000, limiter.reserve(10, 3000, 0));
+  }
+
+  @Test
+  void testSharesAddUpAndAreReleased() {
+    final PublishRateLimiter limiter = PublishRateLimiter.forConnector("rate-limited-connector");
+    final PublishRateLimiter.Share first = limiter.register(50, 1000);
+    final PublishRateLimiter.Share second = limiter.register(50, 0);
+    assertEquals(100, limiter.getMessagesPerSecond());
+    assertEquals(1000, limiter.getBytesPerSecond());
+
+    first.release();
+    first.release();
+    assertEquals(50, limiter.getMessagesPerSecond());
+    assertEquals(0, limiter.getBytesPerSecond());
+
+    second.release();
+    assertEquals(0, limiter.getMessagesPerSecond());
+  }
+
+}
@@ -12,26 +12,37 @@
 
 package com.adobe.platform.streaming.unit;
 
+import com.adobe.platform.streaming.AEPStreamingRuntimeException;
 import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.sink.batch.JsonValuePayload;
 import com.adobe.platform.streaming.sink.transformation.JsonPatchTransform;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import mockit.Mocked;
 import org.apache.kafka.connect.connector.ConnectRecord;
 import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.header.ConnectHeaders;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.apache.kafka.connect.data.Schema.Type.STRING;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Adobe Inc.
@@ -90,4 +101,119 @@ public class JsonPatchTransformTest {
 
   }
 
+  @Test
+  public void testPatchedTreeIsEmittedWithoutSchema() {
+    final ConnectRecord transformedRecord = jsonPatchTransform.apply(record);
+
+    assertTrue(transformedRecord.value() instanceof JsonValuePayload);
+    assertNull(transformedRecord.valueSchema());
+  }
+
+  @Test
+  public void testOperationsAreApplied() throws JsonProcessingException {
+    final JsonPatchTransform transform = newTransform("[" +
+      "{\"op\":\"test\",\"path\":\"/payload/id\",\"value\":2388398}," +
+      "{\"op\":\"add\",\"path\":\"/tags\",\"value\":[\"a\"]}," +
+      "{\"op\":\"add\",\"path\":\"/tags/-\",\"value\":\"c\"}," +
+      "{\"op\":\"add\",\"path\":\"/tags/1\",\"value\":\"b\"}," +
+      "{\"op\":\"replace\",\"path\":\"/payload/id\",\"value\":1}," +
+      "{\"op\":\"copy\",\"from\":\"/payload/crmId\",\"path\":\"/crm~1id\"}," +
+      "{\"op\":\"move\",\"from\":\"/payload/crmId\",\"path\":\"/crmId\"}," +
+      "{\"op\":\"remove\",\"path\":\"/tags/0\"}]");
+    final ObjectNode value = (ObjectNode) JacksonFactory.OBJECT_MAPPER.readTree(recordObjectString);
+
+    final ConnectRecord transformedRecord = transform.apply(record.newRecord(record.topic(), record.kafkaPartition(),
+      record.keySchema(), record.key(), null, value, record.timestamp()));
+
+    assertEquals(JacksonFactory.OBJECT_MAPPER.readTree("{\"payload\":{\"id\":1},\"tags\":[\"b\",\"c\"]," +
+      "\"crm/id\":\"VM-121-SHARE\",\"crmId\":\"VM-121-SHARE\"}"),
+      ((JsonValuePayload) transformedRecord.value()).getTree());
+    assertEquals(JacksonFactory.OBJECT_MAPPER.readTree(recordObjectString), value);
+  }
+
+  @Test
+  public void testChainedPatchLeavesEarlierValueUnchanged() throws JsonProcessingException {
+    final ConnectRecord patched = jsonPatchTransform.apply(record);
+    final JsonNode tree = ((JsonValuePayload) patched.value()).getTree().deepCopy();
+
+    final ConnectRecord repatched = newTransform("[{\"op\":\"remove\",\"path\":\"/header\"}]").apply(patched);
+
+    assertEquals(tree, ((JsonValuePayload) patched.value()).getTree());
+    assertEquals(JacksonFactory.OBJECT_MAPPER.readTree(recordObjectString),
+      JacksonFactory.OBJECT_MAPPER.readTree(repatched.value().toString()));
+  }
+
+  @Test
+  public void testFailingChainedPatchLeavesEarlierValueUnchanged() throws IOException {
+    final ConnectRecord patched = jsonPatchTransform.apply(record);
+    final JsonValuePayload value = (JsonValuePayload) patched.value();
+    final byte[] encoded = value.getBytes();
+    final JsonNode tree = value.getTree();
+    final JsonNode expected = tree.deepCopy();
+
+    final ConnectRecord failed = newTransform("[" +
+      "{\"op\":\"remove\",\"path\":\"/header\"}," +
+      "{\"op\":\"test\",\"path\":\"/payload/id\",\"value\":1}]").apply(patched);
+
+    assertSame(patched, failed);
+    assertSame(tree, value.getTree());
+    assertEquals(expected, tree);
+    assertSame(encoded, value.getBytes());
+    assertEquals(expected, JacksonFactory.OBJECT_MAPPER.readTree(encoded));
+  }
+
+  @Test
+  public void testStructIsPatched() {
+    final Schema schema = SchemaBuilder.struct()
+      .field("crmId", Schema.STRING_SCHEMA)
+      .field("id", Schema.INT64_SCHEMA)
+      .build();
+    final Struct value = new Struct(schema).put("crmId", "VM-121-SHARE").put("id", 2388398L);
+
+    final ConnectRecord transformedRecord = jsonPatchTransform.apply(record.newRecord(record.topic(),
+      record.kafkaPartition(), record.keySchema(), record.key(), schema, value, record.timestamp()));
+
+    final JsonNode recordValueNode = ((JsonValuePayload) transformedRecord.value()).getTree();
+    assertEquals("merge", recordValueNode.at("/header/operations/data").asText());
+    assertEquals(2388398L, recordValueNode.get("id").asLong());
+    assertNull(transformedRecord.valueSchema());
+  }
+
+  @Test
+  public void testFailedPatchLeavesRecordUnchanged() {
+    final JsonPatchTransform transform = newTransform("[{\"op\":\"test\",\"path\":\"/payload/id\",\"value\":1}]");
+
+    assertSame(record, transform.apply(record));
+  }
+
+  @Test
+  public void testFailedPatchLeavesTreeUnchanged() throws JsonProcessingException {
+    final JsonPatchTransform transform = newTransform("[" +
+      "{\"op\":\"replace\",\"path\":\"/payload/id\",\"value\":1}," +
+      "{\"op\":\"remove\",\"path\":\"/payload/missing\"}]");
+    final JsonValuePayload value = JsonValuePayload.of(JacksonFactory.OBJECT_MAPPER.readTree(recordObjectString));
+    final ConnectRecord valueRecord = record.newRecord(record.topic(), record.kafkaPartition(), record.keySchema(),
+      record.key(), null, value, record.timestamp());
+
+    assertSame(valueRecord, transform.apply(valueRecord));
+    assertEquals(JacksonFactory.OBJECT_MAPPER.readTree(recordObjectString), value.getTree());
+  }
+
+  @Test
+  public void testInvalidPatchIsRejected() {
+    assertThrows(AEPStreamingRuntimeException.class, () -> newTransform("[{\"op\":\"merge\",\"path\":\"/a\"}]"));
+    assertThrows(AEPStreamingRuntimeException.class, () -> newTransform("[{\"op\":\"add\",\"path\":\"a\"}]"));
+    assertThrows(AEPStreamingRuntimeException.class,
+      () -> newTransform("[{\"op\":\"move\",\"from\":\"/a\",\"path\":\"/a/b\"}]"));
+  }
+
+  private static JsonPatchTransform newTransform(String operations) {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("operations", operations);
+
+    final JsonPatchTransform transform = new JsonPatchTransform();
+    transform.configure(configs);
+    return transform;
+  }
+
 }
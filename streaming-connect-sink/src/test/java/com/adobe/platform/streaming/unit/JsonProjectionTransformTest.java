@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.unit;
+
+import com.adobe.platform.streaming.AEPStreamingRuntimeException;
+import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.sink.batch.JsonValuePayload;
+import com.adobe.platform.streaming.sink.transformation.JsonProjectionTransform;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.apache.kafka.connect.connector.ConnectRecord;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+public class JsonProjectionTransformTest {
+
+  private static final String EVENT = "{\"_id\":\"1\",\"eventType\":\"commerce.purchases\"," +
+    "\"commerce\":{\"order\":{\"priceTotal\":10.5,\"currencyCode\":\"USD\"},\"checkouts\":{\"value\":1}}," +
+    "\"productListItems\":[{\"SKU\":\"a\",\"name\":\"prod1\"},{\"SKU\":\"b\",\"name\":\"prod2\"}]," +
+    "\"environment\":{\"browserDetails\":{\"userAgent\":\"Mozilla/5.0\"}}}";
+
+  @Test
+  public void testIncludedFieldsAreKept() throws JsonProcessingException {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("include", "/_id,/commerce/order/priceTotal,/productListItems/1,/web/webPageDetails");
+
+    final ConnectRecord transformed = newTransform(configs).apply(newRecord(EVENT));
+
+    assertTrue(transformed.value() instanceof JsonValuePayload);
+    assertNull(transformed.valueSchema());
+    assertEquals(readTree("{\"_id\":\"1\",\"commerce\":{\"order\":{\"priceTotal\":10.5}}," +
+      "\"productListItems\":[{\"SKU\":\"b\",\"name\":\"prod2\"}]}"), readTree(transformed));
+  }
+
+  @Test
+  public void testExcludedFieldsAreLeftOut() throws JsonProcessingException {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("include", "/commerce,/productListItems");
+    configs.put("exclude", "/commerce/checkouts,/productListItems/0/name,/environment");
+
+    final ConnectRecord transformed = newTransform(configs).apply(newRecord(EVENT.getBytes()));
+
+    assertEquals(readTree("{\"commerce\":{\"order\":{\"priceTotal\":10.5,\"currencyCode\":\"USD\"}}," +
+      "\"productListItems\":[{\"SKU\":\"a\"},{\"SKU\":\"b\",\"name\":\"prod2\"}]}"), readTree(transformed));
+  }
+
+  @Test
+  public void testPredicateDropsRecords() throws JsonProcessingException {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("exclude", "/environment,/eventType");
+    configs.put("predicate", "/eventType == \"commerce.purchases\" && /commerce/order/priceTotal >= 10");
+    final JsonProjectionTransform transform = newTransform(configs);
+
+    final ConnectRecord kept = transform.apply(newRecord(EVENT));
+    assertTrue(readTree(kept).at("/eventType").isMissingNode());
+    assertEquals(10.5, readTree(kept).at("/commerce/order/priceTotal").asDouble());
+
+    assertNull(transform.apply(newRecord("{\"eventType\":\"web.webpagedetails.pageViews\"}")));
+    assertNull(transform.apply(newRecord("{\"eventType\":\"commerce.purchases\"," +
+      "\"commerce\":{\"order\":{\"priceTotal\":9.99}}}")));
+  }
+
+  @Test
+  public void testPredicateAlternatives() {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("predicate", "/eventType == \"web.webpagedetails.pageViews\" || /productListItems/1/SKU != \"a\"" +
+      " && /web missing");
+    final JsonProjectionTransform transform = newTransform(configs);
+
+    assertTrue(transform.apply(newRecord(EVENT)).value() instanceof JsonValuePayload);
+    assertNull(transform.apply(newRecord("{\"productListItems\":[{\"SKU\":\"a\"},{\"SKU\":\"a\"}]}")));
+  }
+
+  @Test
+  public void testTreesAndStructsAreProjected() throws JsonProcessingException {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("include", "/_id");
+    final JsonProjectionTransform transform = newTransform(configs);
+
+    assertEquals(readTree("{\"_id\":\"1\"}"), readTree(transform.apply(newRecord(readTree(EVENT)))));
+
+    final Schema schema = SchemaBuilder.struct()
+      .field("_id", Schema.STRING_SCHEMA)
+      .field("eventType", Schema.STRING_SCHEMA)
+      .build();
+    final SinkRecord record = new SinkRecord("test-topic", 0, null, null, schema,
+      new Struct(schema).put("_id", "2").put("eventType", "commerce.purchases"), 0);
+    assertEquals(readTree("{\"_id\":\"2\"}"), readTree(transform.apply(record)));
+  }
+
+  @Test
+  public void testInvalidRecordIsLeftUnchanged() {
+    final SinkRecord record = newRecord("{\"_id\":");
+
+    assertSame(record, newTransform(new HashMap<>()).apply(record));
+  }
+
+  @Test
+  public void testInvalidPredicateIsRejected() {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("predicate", "/eventType = \"commerce.purchases\"");
+
+    assertThrows(AEPStreamingRuntimeException.class, () -> newTransform(configs));
+  }
+
+  private static JsonProjectionTransform newTransform(Map<String, String> configs) {
+    final JsonProjectionTransform transform = new JsonProjectionTransform();
+    transform.configure(configs);
+    return transform;
+  }
+
+  private static SinkRecord newRecord(Object value) {
+    return new SinkRecord("test-topic", 0, null, null, null, value, 0);
+  }
+
+  private static JsonNode readTree(String json) throws JsonProcessingException {
+    return JacksonFactory.OBJECT_MAPPER.readTree(json);
+  }
+
+  private static JsonNode readTree(ConnectRecord record) throws JsonProcessingException {
+    return readTree(record.value().toString());
+  }
+
+}
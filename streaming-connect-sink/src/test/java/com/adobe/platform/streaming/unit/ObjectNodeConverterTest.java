@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.unit;
+
+import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.sink.transformation.ObjectNodeConverter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.DataException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Adobe Inc.
+ */
+public class ObjectNodeConverterTest {
+
+  private static final Schema IDENTITY_SCHEMA = SchemaBuilder.struct()
+    .name("Identity")
+    .field("id", Schema.STRING_SCHEMA)
+    .field("primary", Schema.BOOLEAN_SCHEMA)
+    .build();
+
+  private static final Schema EVENT_SCHEMA = SchemaBuilder.struct()
+    .name("ExperienceEvent")
+    .field("_id", Schema.STRING_SCHEMA)
+    .field("timestamp", Timestamp.SCHEMA)
+    .field("priceTotal", Decimal.schema(2))
+    .field("quantity", Schema.INT32_SCHEMA)
+    .field("note", Schema.OPTIONAL_STRING_SCHEMA)
+    .field("channel", SchemaBuilder.string().defaultValue("web").build())
+    .field("identityMap", SchemaBuilder.map(Schema.STRING_SCHEMA, SchemaBuilder.array(IDENTITY_SCHEMA).build())
+      .build())
+    .field("counters", SchemaBuilder.map(Schema.INT32_SCHEMA, Schema.INT64_SCHEMA).build())
+    .build();
+
+  private final ObjectNodeConverter converter = new ObjectNodeConverter(JacksonFactory.OBJECT_MAPPER);
+
+  @Test
+  public void testStructIsConvertedLikeJsonConverter() throws JsonProcessingException {
+    final Struct event = new Struct(EVENT_SCHEMA)
+      .put("_id", "1553542044071")
+      .put("timestamp", new java.util.Date(1553542044000L))
+      .put("priceTotal", new BigDecimal("10.25"))
+      .put("quantity", 2)
+      .put("identityMap", Collections.singletonMap("ECID",
+        Arrays.asList(new Struct(IDENTITY_SCHEMA).put("id", "5834017596").put("primary", true))))
+      .put("counters", Collections.singletonMap(7, 42L));
+
+    // 1025 unscaled is 0x0401, written as base64
+    assertEquals(JacksonFactory.OBJECT_MAPPER.readTree("{\"_id\":\"1553542044071\",\"timestamp\":1553542044000," +
+      "\"priceTotal\":\"BAE=\",\"quantity\":2,\"note\":null,\"channel\":\"web\"," +
+      "\"identityMap\":{\"ECID\":[{\"id\":\"5834017596\",\"primary\":true}]},\"counters\":[[7,42]]}"),
+      JacksonFactory.OBJECT_MAPPER.readTree(converter.convert(EVENT_SCHEMA, event).toString()));
+  }
+
+  @Test
+  public void testSchemalessMapIsWalked() throws JsonProcessingException {
+    final Map<String, Object> value = new LinkedHashMap<>();
+    value.put("id", 2388398L);
+    value.put("tags", Arrays.asList("a", null, 1.5));
+    value.put("nested", Collections.singletonMap("enabled", true));
+
+    final ObjectNode node = converter.convert(value);
+
+    assertEquals(JacksonFactory.OBJECT_MAPPER.readTree(
+      "{\"id\":2388398,\"tags\":[\"a\",null,1.5],\"nested\":{\"enabled\":true}}"),
+      JacksonFactory.OBJECT_MAPPER.readTree(node.toString()));
+  }
+
+  @Test
+  public void testMissingRequiredFieldIsRejected() {
+    final Struct identity = new Struct(IDENTITY_SCHEMA).put("id", "5834017596");
+
+    final Map<String, Object> value = new HashMap<>();
+    value.put("identity", identity);
+
+    assertThrows(DataException.class, () -> converter.convert(IDENTITY_SCHEMA, identity));
+    assertThrows(DataException.class, () -> converter.convert(value));
+  }
+
+}
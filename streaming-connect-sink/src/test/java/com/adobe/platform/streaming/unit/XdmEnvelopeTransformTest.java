@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Adobe. All rights reserved.
+ * This file is licensed to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You may obtain a copy
+ * of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under
+ * the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+ * OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+
+package com.adobe.platform.streaming.unit;
+
+import com.adobe.platform.streaming.AEPStreamingRuntimeException;
+import com.adobe.platform.streaming.JacksonFactory;
+import com.adobe.platform.streaming.sink.batch.EnvelopePayload;
+import com.adobe.platform.streaming.sink.transformation.XdmEnvelopeTransform;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.apache.kafka.connect.connector.ConnectRecord;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Adobe Inc.
+ */
+public class XdmEnvelopeTransformTest {
+
+  private static final String BODY = "{\"xdmEntity\":{\"_id\":\"1553542044071\"}}";
+
+  @Test
+  public void testBodyIsWrappedInHeader() throws JsonProcessingException {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("schema.ref.id", "https://ns.adobe.com/org/schemas/1");
+    configs.put("ims.org.id", "0DD379AC5B117F6E0A494106@AdobeOrg");
+    configs.put("dataset.id", "2474b6c6c8bb6a1c72643ac8");
+    configs.put("source.name", "GettingStarted");
+
+    final ConnectRecord transformed = newTransform(configs).apply(newRecord("connect-test", BODY));
+
+    assertTrue(transformed.value() instanceof EnvelopePayload);
+    assertNull(transformed.valueSchema());
+    assertEquals(JacksonFactory.OBJECT_MAPPER.readTree("{\"header\":{\"schemaRef\":{" +
+      "\"id\":\"https://ns.adobe.com/org/schemas/1\"," +
+      "\"contentType\":\"application/vnd.adobe.xed-full+json;version=1\"}," +
+      "\"imsOrgId\":\"0DD379AC5B117F6E0A494106@AdobeOrg\",\"datasetId\":\"2474b6c6c8bb6a1c72643ac8\"," +
+      "\"source\":{\"name\":\"GettingStarted\"}},\"body\":" + BODY + "}"), readTree(transformed));
+  }
+
+  @Test
+  public void testTopicMappingsOverrideHeader() throws JsonProcessingException {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("schema.ref.id", "schema-1");
+    configs.put("body.format", "entity");
+    configs.put("topic.mappings", "{\"orders\":{\"schema.ref.id\":\"schema-2\",\"dataset.id\":\"orders\"}}");
+    final XdmEnvelopeTransform transform = newTransform(configs);
+
+    final JsonNode orders = readTree(transform.apply(newRecord("orders", "{\"_id\":\"1\"}")));
+    assertEquals("schema-2", orders.at("/header/schemaRef/id").asText());
+    assertEquals("orders", orders.at("/header/datasetId").asText());
+    assertEquals("schema-2", orders.at("/body/xdmMeta/schemaRef/id").asText());
+    assertEquals("1", orders.at("/body/xdmEntity/_id").asText());
+
+    final JsonNode other = readTree(transform.apply(newRecord("other", "{\"_id\":\"2\"}".getBytes(
+      StandardCharsets.UTF_8))));
+    assertEquals("schema-1", other.at("/header/schemaRef/id").asText());
+    assertTrue(other.at("/header/datasetId").isMissingNode());
+  }
+
+  @Test
+  public void testInvalidRecordIsLeftUnchanged() {
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("schema.ref.id", "schema-1");
+    final SinkRecord record = newRecord("connect-test", "{\"_id\":");
+
+    assertSame(record, newTransform(configs).apply(record));
+  }
+
+  @Test
+  public void testSchemaIdIsRequired() {
+    assertThrows(AEPStreamingRuntimeException.class, () -> newTransform(new HashMap<>()));
+
+    final Map<String, String> configs = new HashMap<>();
+    configs.put("topic.mappings", "{\"orders\":{\"dataset.id\":\"orders\"}}");
+    assertThrows(AEPStreamingRuntimeException.class, () -> newTransform(configs));
+  }
+
+  private static XdmEnvelopeTransform newTransform(Map<String, String> configs) {
+    final XdmEnvelopeTransform transform = new XdmEnvelopeTransform();
+    transform.configure(configs);
+    return transform;
+  }
+
+  private static SinkRecord newRecord(String topic, Object value) {
+    return new SinkRecord(topic, 0, null, null, null, value, 0);
+  }
+
+  private static JsonNode readTree(ConnectRecord record) throws JsonProcessingException {
+    return JacksonFactory.OBJECT_MAPPER.readTree(record.value().toString());
+  }
+
+}